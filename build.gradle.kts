@@ -21,21 +21,55 @@ dependencyManagement {
     }
 }
 
+// 테스트/벤치마크 공용 fixture (src/testFixtures/java)
+val testFixtures: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[testFixtures.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+sourceSets.test {
+    compileClasspath += testFixtures.output
+    runtimeClasspath += testFixtures.output
+}
+
+// JMH 벤치마크 (src/jmh/java)
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + testFixtures.output
+    runtimeClasspath += sourceSets.main.get().output + testFixtures.output
+}
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+
+// 부하 생성기 (src/loadtest/java)
+val loadtest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadtest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.webflux)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    "jmhImplementation"(libs.jmh.core)
+    "jmhAnnotationProcessor"(libs.jmh.generator.annprocess)
+    "loadtestImplementation"(libs.hdr.histogram)
 }
 
 // about source and compilation
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
-    toolVersion = "0.8.7"
+    toolVersion = "0.8.11"
 }
 
 // bundling tasks
@@ -48,5 +82,48 @@ tasks.getByName("jar") {
 // test tasks
 tasks.test {
     ignoreFailures = true
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+tasks.register<Test>("benchmark") {
+    description = "Runs tests tagged with 'benchmark'."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    maxHeapSize = "4g"
+    testLogging.showStandardStreams = true
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+}
+tasks.register<JavaExec>("jmh") {
+    description = "Runs JMH benchmarks in src/jmh for each thread count and writes the results as JSON."
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("io.hhplus.tdd.point.PointBenchmarkRunner")
+    maxHeapSize = "4g"
+    systemProperty("jmh.include", providers.gradleProperty("jmh.include").getOrElse("PointServiceBenchmark"))
+    systemProperty("jmh.threads", providers.gradleProperty("jmh.threads").getOrElse("1,4,16,64"))
+    systemProperty(
+        "jmh.result",
+        providers.gradleProperty("jmh.result")
+            .getOrElse(layout.buildDirectory.file("reports/jmh/results.json").get().asFile.path),
+    )
+}
+tasks.register<JavaExec>("loadTest") {
+    description = "Runs the open-loop load generator in src/loadtest against an embedded application."
+    group = "verification"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("io.hhplus.tdd.load.PointLoadGenerator")
+    maxHeapSize = "2g"
+    listOf("rps", "duration", "warmup", "mix", "users", "distribution", "amount", "max-in-flight", "base-url")
+        .forEach { name ->
+            providers.gradleProperty("load.$name").orNull?.let { systemProperty("load.$name", it) }
+        }
+    systemProperty(
+        "load.output",
+        providers.gradleProperty("load.output")
+            .getOrElse(layout.buildDirectory.dir("reports/loadtest").get().asFile.path),
+    )
 }
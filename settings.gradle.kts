@@ -5,6 +5,11 @@ pluginManagement {
     }
 }
 
+plugins {
+    // build.gradle.kts 의 Java toolchain(21)이 로컬에 없으면 내려받습니다.
+    id("org.gradle.toolchains.foojay-resolver-convention") version "0.7.0"
+}
+
 dependencyResolutionManagement {
     @Suppress("UnstableApiUsage")
     repositories {
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 벤치마크용 UserPointTable 대역
+ * - UserPointTable 과 같은 Map&lt;Long, UserPoint&gt; 구조를 쓰되 지연(sleep) 없이 동작하여
+ *   PointService 자체의 오버헤드만 측정할 수 있게 합니다.
+ */
+public class ZeroLatencyUserPointTable extends UserPointTable {
+
+    private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+    @Override
+    public UserPoint selectById(Long id) {
+        UserPoint userPoint = table.get(id);
+        return userPoint != null ? userPoint : UserPoint.empty(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+}
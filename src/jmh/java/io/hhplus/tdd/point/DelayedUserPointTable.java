@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ZeroLatencyUserPointTable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 잔액 쓰기에만 지연을 주는 테이블
+ */
+final class DelayedUserPointTable extends ZeroLatencyUserPointTable {
+    private final long writeLatencyNanos;
+
+    DelayedUserPointTable(int writeLatencyMicros) {
+        this.writeLatencyNanos = TimeUnit.MICROSECONDS.toNanos(writeLatencyMicros);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        if (writeLatencyNanos > 0) {
+            LockSupport.parkNanos(writeLatencyNanos);
+        }
+        return super.insertOrUpdate(id, amount);
+    }
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 벤치마크를 스레드 수마다 실행하고 전체 결과를 하나의 JSON 파일로 남깁니다.
+ * - jmh.include : 실행할 벤치마크 (정규식)
+ * - jmh.threads : 실행할 스레드 수 목록 (예: 1,4,16,64)
+ * - jmh.result : 결과 JSON 파일 경로. 커밋마다 남겨 두면 두 결과를 비교해 성능 회귀를 확인할 수 있습니다.
+ * 그 밖의 JMH 옵션은 프로그램 인자로 넘깁니다. (예: ./gradlew jmh --args="-wi 1 -i 3 -p distribution=zipf")
+ */
+public final class PointBenchmarkRunner {
+
+    private PointBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        String include = System.getProperty("jmh.include", "PointServiceBenchmark");
+        Path result = Path.of(System.getProperty("jmh.result", "build/reports/jmh/results.json"));
+        int[] threadCounts = Arrays.stream(System.getProperty("jmh.threads", "1,4,16,64").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        List<RunResult> results = new ArrayList<>();
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .include(include)
+                    .threads(threads)
+                    .build();
+            results.addAll(new Runner(options).run());
+        }
+
+        Path directory = result.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        ResultFormatFactory.getInstance(ResultFormatType.JSON, result.toString()).writeOut(results);
+        System.out.println("JMH 결과: " + result.toAbsolutePath());
+    }
+}
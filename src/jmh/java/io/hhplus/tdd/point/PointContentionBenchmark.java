@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 경합 수준별 엔진(lock, sharded, optimistic)의 충전 처리량
+ * - userCount 가 작을수록 같은 유저에 몰리는 요청이 많아집니다. (1 이면 모든 스레드가 한 유저에 경합)
+ * - writeLatencyMicros 만큼 잔액 쓰기를 지연시켜, 커밋이 오래 걸릴수록 optimistic 의 충돌이 늘어나는 정도를 봅니다.
+ * - 스레드 수는 PointBenchmarkRunner 가 바꿔가며 실행합니다.
+ *   (예: ./gradlew jmh -Pjmh.include=PointContentionBenchmark -Pjmh.threads=1,4,16)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PointContentionBenchmark {
+
+    @Param({"lock", "sharded", "optimistic"})
+    public String engine;
+
+    @Param({"1", "16", "100000"})
+    public int userCount;
+
+    @Param({"0", "50"})
+    public int writeLatencyMicros;
+
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PointProperties.Engine defaults = PointProperties.Engine.defaults();
+        PointProperties properties = new PointPropertiesBuilder().engine(new PointProperties.Engine(
+                PointProperties.Engine.Type.valueOf(engine.toUpperCase()), Runtime.getRuntime().availableProcessors(),
+                defaults.batchSize(), defaults.optimisticRetries(), defaults.optimisticMaxBackoff(),
+                Duration.ofMillis(100))).build();
+        pointService = new PointService(new DelayedUserPointTable(writeLatencyMicros),
+                new IndexedPointHistoryTable(0), properties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pointService.shutdown();
+    }
+
+    @Benchmark
+    public UserPoint charge() {
+        return pointService.chargePoint(ThreadLocalRandom.current().nextLong(1, userCount + 1L), 1);
+    }
+}
@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.PrimitiveUserPointTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.ZeroLatencyUserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 의 충전/사용/잔액 조회/내역 조회 처리량
+ * - 테이블은 지연 없는 대역(hash-map)이나 PrimitiveUserPointTable(primitive)을 사용하여 PointService 자체의 비용만 측정합니다.
+ * - 유저 분포는 uniform, zipf, hot 중에서 고르고, 스레드 수는 PointBenchmarkRunner 가 바꿔가며 실행합니다.
+ * - metrics 가 none 이면 측정 없이, simple 이면 SimpleMeterRegistry 로 측정하며 실행하여 측정 비용을 비교합니다.
+ * - engine 이 lock 이면 요청 스레드가 유저 락으로, sharded 이면 shard 전용 스레드가 충전/사용을 커밋합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PointServiceBenchmark {
+
+    private static final int SAMPLE_SIZE = 1 << 20;
+    private static final long INITIAL_BALANCE = 1_000_000_000_000L;
+    private static final int INITIAL_HISTORY_COUNT = 10;
+    private static final PointHistoryQuery HISTORY_QUERY = PointHistoryQuery.firstPage(20);
+
+    @Param({"uniform", "zipf", "hot"})
+    public String distribution;
+
+    @Param({"hash-map", "primitive"})
+    public String balanceStore;
+
+    @Param({"10000"})
+    public int userCount;
+
+    @Param({"none", "simple"})
+    public String metrics;
+
+    @Param({"lock", "sharded"})
+    public String engine;
+
+    private PointService pointService;
+    private long[] userIds;
+
+    /**
+     * 스레드마다 미리 뽑아 둔 userId 를 서로 다른 위치부터 차례로 사용합니다.
+     */
+    @State(Scope.Thread)
+    public static class UserCursor {
+        private int next = ThreadLocalRandom.current().nextInt(SAMPLE_SIZE);
+
+        long nextUserId(long[] userIds) {
+            next = (next + 1) & (SAMPLE_SIZE - 1);
+            return userIds[next];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserPointTable userPointTable = balanceStore.equals("primitive")
+                ? new PrimitiveUserPointTable(userCount, 0, 0)
+                : new ZeroLatencyUserPointTable();
+        PointProperties.Engine engineDefaults = PointProperties.Engine.defaults();
+        PointProperties properties = new PointPropertiesBuilder().engine(new PointProperties.Engine(
+                PointProperties.Engine.Type.valueOf(engine.toUpperCase()), Runtime.getRuntime().availableProcessors(),
+                engineDefaults.batchSize(), engineDefaults.optimisticRetries(), engineDefaults.optimisticMaxBackoff(),
+                engineDefaults.pessimisticWindow())).build();
+        pointService = metrics.equals("simple")
+                ? new PointService(userPointTable, new IndexedPointHistoryTable(0), properties,
+                        new SimpleMeterRegistry())
+                : new PointService(userPointTable, new IndexedPointHistoryTable(0), properties);
+        userIds = UserDistribution.of(distribution).sample(userCount, SAMPLE_SIZE, new SplittableRandom(42));
+        for (long userId = 1; userId <= userCount; userId++) {
+            pointService.chargePoint(userId, INITIAL_BALANCE);
+            for (int i = 1; i < INITIAL_HISTORY_COUNT; i++) {
+                pointService.chargePoint(userId, 1);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pointService.shutdown();
+    }
+
+    @Benchmark
+    public UserPoint charge(UserCursor cursor) {
+        return pointService.chargePoint(cursor.nextUserId(userIds), 1);
+    }
+
+    @Benchmark
+    public UserPoint use(UserCursor cursor) {
+        return pointService.usePoint(cursor.nextUserId(userIds), 1);
+    }
+
+    @Benchmark
+    public UserPoint balance(UserCursor cursor) {
+        return pointService.getUserPoint(cursor.nextUserId(userIds));
+    }
+
+    @Benchmark
+    public PointHistoryPage histories(UserCursor cursor) {
+        return pointService.getPointHistories(cursor.nextUserId(userIds), HISTORY_QUERY);
+    }
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 두 유저 락을 잡는 이체의 경합 수준별 처리량
+ * - accounts 가 disjoint 이면 스레드마다 자기만의 두 계정 사이에서만 이체해, 겹치지 않는 쌍끼리 처리량이 늘어나는지 봅니다.
+ * - accounts 가 숫자이면 모든 스레드가 그만큼의 계정에서 무작위로 고른 쌍끼리 이체합니다. (2 이면 모든 이체가 같은 두 계정에 경합)
+ * - writeLatencyMicros 만큼 잔액 쓰기를 지연시켜, 두 유저 락을 오래 잡을수록 경합이 커지는 정도를 봅니다.
+ * - 스레드 수는 PointBenchmarkRunner 가 바꿔가며 실행합니다.
+ *   (예: ./gradlew jmh -Pjmh.include=PointTransferBenchmark -Pjmh.threads=1,4,16)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PointTransferBenchmark {
+
+    private static final int SAMPLE_SIZE = 1 << 16;
+    private static final int MAX_THREADS = 256;
+    private static final long INITIAL_BALANCE = 1_000_000_000_000L;
+
+    @Param({"lock", "sharded", "optimistic"})
+    public String engine;
+
+    @Param({"disjoint", "2", "16", "10000"})
+    public String accounts;
+
+    @Param({"0", "50"})
+    public int writeLatencyMicros;
+
+    private PointService pointService;
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    /**
+     * 스레드마다 미리 뽑아 둔 (보내는 계정, 받는 계정) 쌍을 차례로 사용합니다.
+     */
+    @State(Scope.Thread)
+    public static class Pairs {
+        private final long[] from = new long[SAMPLE_SIZE];
+        private final long[] to = new long[SAMPLE_SIZE];
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(PointTransferBenchmark benchmark) {
+            int index = benchmark.threadIndex.getAndIncrement() % MAX_THREADS;
+            SplittableRandom random = new SplittableRandom(index);
+            for (int i = 0; i < SAMPLE_SIZE; i++) {
+                if (benchmark.accounts.equals("disjoint")) {
+                    // 스레드 전용 두 계정 사이를 번갈아 오가므로 잔액이 한쪽으로 쏠리지 않습니다.
+                    from[i] = 2L * index + 1 + (i & 1);
+                    to[i] = 2L * index + 2 - (i & 1);
+                } else {
+                    int accountCount = Integer.parseInt(benchmark.accounts);
+                    from[i] = 1 + random.nextInt(accountCount);
+                    to[i] = 1 + (from[i] + random.nextInt(accountCount - 1)) % accountCount;
+                }
+            }
+        }
+
+        private int next() {
+            next = (next + 1) & (SAMPLE_SIZE - 1);
+            return next;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PointProperties.Engine defaults = PointProperties.Engine.defaults();
+        PointProperties properties = new PointPropertiesBuilder().engine(new PointProperties.Engine(
+                PointProperties.Engine.Type.valueOf(engine.toUpperCase()), Runtime.getRuntime().availableProcessors(),
+                defaults.batchSize(), defaults.optimisticRetries(), defaults.optimisticMaxBackoff(),
+                Duration.ofMillis(100))).build();
+        pointService = new PointService(new DelayedUserPointTable(writeLatencyMicros),
+                new IndexedPointHistoryTable(0), properties);
+        int accountCount = accounts.equals("disjoint") ? 2 * MAX_THREADS : Integer.parseInt(accounts);
+        for (long userId = 1; userId <= accountCount; userId++) {
+            pointService.chargePoint(userId, INITIAL_BALANCE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pointService.shutdown();
+    }
+
+    @Benchmark
+    public PointTransferResult transfer(Pairs pairs) {
+        int i = pairs.next();
+        return pointService.transferPoint(pairs.from[i], pairs.to[i], 1);
+    }
+}
@@ -0,0 +1,65 @@
+package io.hhplus.tdd.point;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크 요청이 어느 유저에게 향할지 정하는 분포
+ * - UNIFORM : 모든 유저가 같은 확률
+ * - ZIPF : 순위 k 인 유저가 1/k 에 비례하는 확률 (소수의 유저에게 요청이 몰림)
+ * - HOT : 모든 요청이 한 유저에게 몰림
+ * 측정 중에 난수를 만들지 않도록 userId 를 미리 뽑아 둡니다.
+ */
+enum UserDistribution {
+    UNIFORM {
+        @Override
+        long[] sample(int userCount, int sampleSize, SplittableRandom random) {
+            long[] userIds = new long[sampleSize];
+            for (int i = 0; i < sampleSize; i++) {
+                userIds[i] = 1 + random.nextInt(userCount);
+            }
+            return userIds;
+        }
+    },
+    ZIPF {
+        @Override
+        long[] sample(int userCount, int sampleSize, SplittableRandom random) {
+            double[] cumulative = new double[userCount];
+            double sum = 0;
+            for (int rank = 1; rank <= userCount; rank++) {
+                sum += 1.0 / rank;
+                cumulative[rank - 1] = sum;
+            }
+            long[] userIds = new long[sampleSize];
+            for (int i = 0; i < sampleSize; i++) {
+                double target = random.nextDouble() * sum;
+                int low = 0;
+                int high = userCount - 1;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (cumulative[mid] < target) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                userIds[i] = 1 + low;
+            }
+            return userIds;
+        }
+    },
+    HOT {
+        @Override
+        long[] sample(int userCount, int sampleSize, SplittableRandom random) {
+            long[] userIds = new long[sampleSize];
+            Arrays.fill(userIds, 1L);
+            return userIds;
+        }
+    };
+
+    abstract long[] sample(int userCount, int sampleSize, SplittableRandom random);
+
+    static UserDistribution of(String name) {
+        return valueOf(name.toUpperCase());
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.load;
+
+import java.util.SplittableRandom;
+
+/**
+ * 부하 요청이 어느 유저에게 향할지 정하는 분포
+ * - UNIFORM : 모든 유저가 같은 확률
+ * - ZIPF : 순위 k 인 유저가 1/k 에 비례하는 확률 (소수의 유저에게 요청이 몰림)
+ * - HOT : 모든 요청이 한 유저에게 몰림
+ */
+enum KeyDistribution {
+    UNIFORM,
+    ZIPF,
+    HOT;
+
+    static KeyDistribution of(String name) {
+        return valueOf(name.toUpperCase().replace('-', '_'));
+    }
+
+    /**
+     * 1 ~ userCount 사이의 userId 를 분포에 따라 뽑습니다.
+     */
+    Sampler sampler(int userCount) {
+        return switch (this) {
+            case UNIFORM -> random -> 1 + random.nextInt(userCount);
+            case HOT -> random -> 1L;
+            case ZIPF -> zipf(userCount);
+        };
+    }
+
+    private static Sampler zipf(int userCount) {
+        double[] cumulative = new double[userCount];
+        double sum = 0;
+        for (int rank = 1; rank <= userCount; rank++) {
+            sum += 1.0 / rank;
+            cumulative[rank - 1] = sum;
+        }
+        double total = sum;
+        return random -> {
+            double target = random.nextDouble() * total;
+            int low = 0;
+            int high = userCount - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return 1 + low;
+        };
+    }
+
+    @FunctionalInterface
+    interface Sampler {
+        long next(SplittableRandom random);
+    }
+}
@@ -0,0 +1,166 @@
+package io.hhplus.tdd.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 종류별 지연 시간을 HdrHistogram 으로 기록하고, 구간별 처리량과 전체 백분위수를 출력합니다.
+ * - 지연 시간은 요청을 보내기로 예정된 시각부터 응답을 받은 시각까지입니다.
+ *   서버가 밀려 요청이 늦게 나가더라도 밀린 시간이 지연 시간에 포함됩니다. (coordinated omission 보정)
+ * - interval 마다 throughput.csv 에 한 줄씩 남기고, 끝나면 요청 종류별 latency-{operation}.hgrm 을 씁니다.
+ */
+class LatencyReport implements AutoCloseable {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final Map<LoadOperation, Channel> channels = new EnumMap<>(LoadOperation.class);
+    private final Path output;
+    private final Writer csv;
+    private volatile boolean recording;
+
+    LatencyReport(Path output) {
+        for (LoadOperation operation : LoadOperation.values()) {
+            channels.put(operation, new Channel());
+        }
+        this.output = output;
+        try {
+            Files.createDirectories(output);
+            this.csv = Files.newBufferedWriter(output.resolve("throughput.csv"));
+            csv.write("elapsed_seconds,operation,requests,errors,dropped,throughput_rps,p50_ms,p99_ms,p999_ms,max_ms\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException("결과 파일을 만들 수 없습니다: " + output, e);
+        }
+    }
+
+    /**
+     * 예열이 끝나면 호출하여 그 이후의 결과만 집계합니다.
+     */
+    void startRecording() {
+        for (Channel channel : channels.values()) {
+            channel.recorder.reset();
+            channel.errors.reset();
+            channel.dropped.reset();
+        }
+        recording = true;
+    }
+
+    void recordSuccess(LoadOperation operation, long latencyNanos) {
+        if (recording) {
+            channels.get(operation).recorder.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        }
+    }
+
+    void recordError(LoadOperation operation, long latencyNanos) {
+        if (recording) {
+            Channel channel = channels.get(operation);
+            channel.recorder.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+            channel.errors.increment();
+        }
+    }
+
+    void recordDropped(LoadOperation operation) {
+        if (recording) {
+            channels.get(operation).dropped.increment();
+        }
+    }
+
+    /**
+     * 직전 interval 의 결과를 throughput.csv 에 한 줄씩 쓰고 전체 결과에 더합니다.
+     */
+    void flushInterval(double elapsedSeconds, double intervalSeconds) {
+        try {
+            for (Map.Entry<LoadOperation, Channel> entry : channels.entrySet()) {
+                Channel channel = entry.getValue();
+                channel.interval = channel.recorder.getIntervalHistogram(channel.interval);
+                long errors = channel.errors.sumThenReset();
+                long dropped = channel.dropped.sumThenReset();
+                channel.total.add(channel.interval);
+                channel.totalErrors += errors;
+                channel.totalDropped += dropped;
+                Histogram histogram = channel.interval;
+                csv.write(String.format("%.1f,%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f%n",
+                        elapsedSeconds, entry.getKey().label(), histogram.getTotalCount(), errors, dropped,
+                        histogram.getTotalCount() / intervalSeconds,
+                        millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                        millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue())));
+            }
+            csv.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("throughput.csv 를 쓸 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 요청 종류별 전체 백분위수 표를 출력하고 latency-{operation}.hgrm 을 씁니다.
+     */
+    void printSummary(PrintStream out, double measuredSeconds) {
+        out.printf("%-10s %10s %8s %8s %12s", "operation", "requests", "errors", "dropped", "rps");
+        for (double percentile : PERCENTILES) {
+            out.printf(" %10s", "p" + format(percentile) + "(ms)");
+        }
+        out.printf(" %10s%n", "max(ms)");
+        for (Map.Entry<LoadOperation, Channel> entry : channels.entrySet()) {
+            Channel channel = entry.getValue();
+            Histogram total = channel.total;
+            if (total.getTotalCount() == 0 && channel.totalDropped == 0) {
+                continue;
+            }
+            out.printf("%-10s %10d %8d %8d %12.1f", entry.getKey().label(), total.getTotalCount(),
+                    channel.totalErrors, channel.totalDropped, total.getTotalCount() / measuredSeconds);
+            for (double percentile : PERCENTILES) {
+                out.printf(" %10.3f", millis(total.getValueAtPercentile(percentile)));
+            }
+            out.printf(" %10.3f%n", millis(total.getMaxValue()));
+            writeDistribution(entry.getKey(), total);
+        }
+        out.println("결과 파일: " + output.toAbsolutePath());
+    }
+
+    @Override
+    public void close() {
+        try {
+            csv.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("throughput.csv 를 닫을 수 없습니다.", e);
+        }
+    }
+
+    private void writeDistribution(LoadOperation operation, Histogram histogram) {
+        Path file = output.resolve("latency-" + operation.label() + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1_000_000.0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("지연 시간 분포를 쓸 수 없습니다: " + file, e);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String format(double percentile) {
+        return percentile == (long) percentile ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static final class Channel {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        private final Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private Histogram interval;
+        private long totalErrors;
+        private long totalDropped;
+    }
+}
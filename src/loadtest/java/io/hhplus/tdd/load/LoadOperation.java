@@ -0,0 +1,40 @@
+package io.hhplus.tdd.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+
+/**
+ * 부하 생성기가 보내는 PointController 요청 종류
+ */
+enum LoadOperation {
+    BALANCE,
+    HISTORIES,
+    CHARGE,
+    USE;
+
+    static LoadOperation of(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+
+    String label() {
+        return name().toLowerCase();
+    }
+
+    HttpRequest request(URI baseUri, long userId, long amount) {
+        return switch (this) {
+            case BALANCE -> HttpRequest.newBuilder(baseUri.resolve("/point/" + userId)).GET().build();
+            case HISTORIES -> HttpRequest.newBuilder(baseUri.resolve("/point/" + userId + "/histories?limit=20"))
+                    .GET()
+                    .build();
+            case CHARGE -> patch(baseUri.resolve("/point/" + userId + "/charge"), amount);
+            case USE -> patch(baseUri.resolve("/point/" + userId + "/use"), amount);
+        };
+    }
+
+    private static HttpRequest patch(URI uri, long amount) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(amount)))
+                .build();
+    }
+}
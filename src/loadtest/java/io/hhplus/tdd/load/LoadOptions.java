@@ -0,0 +1,83 @@
+package io.hhplus.tdd.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 부하 생성기 설정. 모두 시스템 프로퍼티(load.*)로 바꿀 수 있습니다.
+ * - load.rps : 초당 보낼 요청 수. 응답을 기다리지 않고 이 속도로 계속 보냅니다. (open-loop)
+ * - load.duration / load.warmup : 측정 시간과, 측정 전에 결과를 버리는 예열 시간 (예: 30s, 1m)
+ * - load.mix : 요청 종류별 비율 (예: balance:70,histories:10,charge:15,use:5)
+ * - load.users / load.distribution : userId 범위(1 ~ users)와 분포 (uniform, zipf, hot)
+ * - load.amount : 충전/사용 금액
+ * - load.max-in-flight : 동시에 응답을 기다리는 요청 수의 상한. 넘으면 보내지 않고 dropped 로 집계합니다.
+ * - load.base-url : 지정하면 내장 서버 대신 이미 떠 있는 서버로 보냅니다.
+ * - load.output : 결과 파일(throughput.csv, latency-*.hgrm)을 쓸 디렉터리
+ */
+record LoadOptions(
+        int rps,
+        Duration duration,
+        Duration warmup,
+        Map<LoadOperation, Integer> mix,
+        int users,
+        KeyDistribution distribution,
+        long amount,
+        int maxInFlight,
+        String baseUrl,
+        Path output
+) {
+
+    static LoadOptions fromSystemProperties() {
+        return new LoadOptions(
+                Integer.parseInt(property("rps", "200")),
+                duration(property("duration", "30s")),
+                duration(property("warmup", "5s")),
+                mix(property("mix", "balance:70,histories:10,charge:15,use:5")),
+                Integer.parseInt(property("users", "1000")),
+                KeyDistribution.of(property("distribution", "uniform")),
+                Long.parseLong(property("amount", "100")),
+                Integer.parseInt(property("max-in-flight", "10000")),
+                property("base-url", ""),
+                Path.of(property("output", "build/reports/loadtest"))
+        );
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("load." + name, defaultValue);
+    }
+
+    static Duration duration(String value) {
+        String text = value.trim().toLowerCase();
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        long amount = Long.parseLong(text.substring(0, text.length() - 1));
+        return switch (text.charAt(text.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("시간 형식이 올바르지 않습니다: " + value);
+        };
+    }
+
+    static Map<LoadOperation, Integer> mix(String value) {
+        Map<LoadOperation, Integer> mix = new EnumMap<>(LoadOperation.class);
+        for (String entry : value.split(",")) {
+            String[] pair = entry.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("요청 비율 형식이 올바르지 않습니다: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("요청 비율은 0 이상이어야 합니다: " + entry);
+            }
+            mix.merge(LoadOperation.of(pair[0]), weight, Integer::sum);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("요청 비율의 합은 0보다 커야 합니다: " + value);
+        }
+        return mix;
+    }
+}
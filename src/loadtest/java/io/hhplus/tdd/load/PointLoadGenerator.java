@@ -0,0 +1,144 @@
+package io.hhplus.tdd.load;
+
+import io.hhplus.tdd.TddApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * PointController 에 운영 트래픽과 비슷한 부하를 주고 지연 시간을 측정합니다.
+ * - 내장 TddApplication 을 임의 포트로 띄우고 그 서버로 요청합니다. (load.base-url 을 지정하면 그 서버로 요청)
+ * - open-loop : 요청을 1/rps 간격으로 예정하고 응답을 기다리지 않고 virtual thread 로 보냅니다.
+ *   서버가 느려져도 보내는 속도가 줄지 않으므로, 밀린 요청의 대기 시간까지 지연 시간에 포함됩니다.
+ * - 설정은 LoadOptions 를 참고합니다. (예: ./gradlew loadTest -Pload.rps=500 -Pload.distribution=zipf)
+ * 그 밖의 인자는 내장 서버의 Spring 설정으로 넘깁니다. (예: --args="--point.lock.mode=striped")
+ */
+public final class PointLoadGenerator {
+
+    private static final Duration REPORT_INTERVAL = Duration.ofSeconds(1);
+
+    private PointLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.fromSystemProperties();
+        ConfigurableApplicationContext context = null;
+        URI baseUri;
+        if (options.baseUrl().isBlank()) {
+            String[] applicationArgs = new String[args.length + 1];
+            applicationArgs[0] = "--server.port=0";
+            System.arraycopy(args, 0, applicationArgs, 1, args.length);
+            context = SpringApplication.run(TddApplication.class, applicationArgs);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUri = URI.create("http://localhost:" + port);
+        } else {
+            baseUri = URI.create(options.baseUrl());
+        }
+
+        System.out.printf("부하 시작: %s, %d rps, %s + 예열 %s, 유저 %d명 (%s), 비율 %s%n", baseUri, options.rps(),
+                options.duration(), options.warmup(), options.users(), options.distribution(), options.mix());
+        try (LatencyReport report = new LatencyReport(options.output())) {
+            run(options, baseUri, report);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static void run(LoadOptions options, URI baseUri, LatencyReport report) throws InterruptedException {
+        LoadOperation[] operations = weightedOperations(options.mix());
+        KeyDistribution.Sampler sampler = options.distribution().sampler(options.users());
+        SplittableRandom random = new SplittableRandom(42);
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rps();
+        long warmupNanos = options.warmup().toNanos();
+        long endNanos = warmupNanos + options.duration().toNanos();
+        long reportNanos = REPORT_INTERVAL.toNanos();
+
+        ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long start = System.nanoTime();
+        long nextReport = warmupNanos + reportNanos;
+        boolean recording = false;
+        for (long sequence = 0; ; sequence++) {
+            long scheduled = start + sequence * intervalNanos;
+            long elapsed = scheduled - start;
+            if (elapsed >= endNanos) {
+                break;
+            }
+            if (!recording && elapsed >= warmupNanos) {
+                report.startRecording();
+                recording = true;
+            }
+            if (elapsed >= nextReport) {
+                report.flushInterval((nextReport - warmupNanos) / 1e9, reportNanos / 1e9);
+                nextReport += reportNanos;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            LoadOperation operation = operations[random.nextInt(operations.length)];
+            long userId = sampler.next(random);
+            if (!inFlight.tryAcquire()) {
+                report.recordDropped(operation);
+                continue;
+            }
+            senders.execute(() -> {
+                try {
+                    HttpResponse<Void> response = client.send(
+                            operation.request(baseUri, userId, options.amount()),
+                            HttpResponse.BodyHandlers.discarding());
+                    long latency = System.nanoTime() - scheduled;
+                    if (response.statusCode() / 100 == 2) {
+                        report.recordSuccess(operation, latency);
+                    } else {
+                        report.recordError(operation, latency);
+                    }
+                } catch (Exception e) {
+                    report.recordError(operation, System.nanoTime() - scheduled);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        // 측정 시간 안에 예정된 요청의 응답까지 기다린 뒤 마지막 구간을 집계합니다.
+        inFlight.tryAcquire(options.maxInFlight(), 1, TimeUnit.MINUTES);
+        senders.shutdown();
+        client.close();
+        report.flushInterval(options.duration().toNanos() / 1e9, (endNanos - (nextReport - reportNanos)) / 1e9);
+        report.printSummary(System.out, options.duration().toNanos() / 1e9);
+    }
+
+    /**
+     * 비율만큼 요청 종류를 채운 배열. 요청마다 한 칸을 임의로 골라 비율을 맞춥니다.
+     */
+    private static LoadOperation[] weightedOperations(Map<LoadOperation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        LoadOperation[] operations = new LoadOperation[total];
+        int index = 0;
+        for (Map.Entry<LoadOperation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                operations[index++] = entry.getKey();
+            }
+        }
+        return operations;
+    }
+}
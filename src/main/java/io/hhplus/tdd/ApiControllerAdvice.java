@@ -1,12 +1,50 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.PointAdmissionRejectedException;
+import io.hhplus.tdd.point.PointDeadlineExceededException;
+import io.hhplus.tdd.point.PointHistoryBackpressureException;
+import io.hhplus.tdd.point.PointLockTimeoutException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+    @ExceptionHandler(value = IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException e) {
+        return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
+    }
+
+    @ExceptionHandler(value = PointHistoryBackpressureException.class)
+    public ResponseEntity<ErrorResponse> handlePointHistoryBackpressureException(PointHistoryBackpressureException e) {
+        return ResponseEntity.status(503).body(new ErrorResponse("503", e.getMessage()));
+    }
+
+    @ExceptionHandler(value = PointLockTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handlePointLockTimeoutException(PointLockTimeoutException e) {
+        return ResponseEntity.status(503).body(new ErrorResponse("503", e.getMessage()));
+    }
+
+    @ExceptionHandler(value = PointDeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handlePointDeadlineExceededException(PointDeadlineExceededException e) {
+        return ResponseEntity.status(504).body(new ErrorResponse("504", e.getMessage()));
+    }
+
+    /**
+     * 요청 한도를 넘은 요청은 429 와 함께 다시 시도해도 될 때까지의 초(올림)를 Retry-After 헤더로 알려줍니다.
+     */
+    @ExceptionHandler(value = PointAdmissionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handlePointAdmissionRejectedException(PointAdmissionRejectedException e) {
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponse("429", e.getMessage()));
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
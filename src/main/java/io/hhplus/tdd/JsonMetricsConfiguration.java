@@ -0,0 +1,114 @@
+package io.hhplus.tdd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 API 응답의 JSON 직렬화 시간을 선언된 응답 타입(type)별 point.http.serialization 타이머로 기록합니다.
+ * - point.metrics.enabled 가 false 이면 등록하지 않습니다.
+ * - Spring Boot 의 기본 Jackson converter 는 그대로 두고 그 앞에 추가하며, 선언된 타입이 이 애플리케이션의 타입인
+ *   응답만 맡습니다. actuator 처럼 다른 응답은 기본 converter 가 씁니다.
+ * - 직렬화는 메모리 버퍼에 하고 그 시간만 기록한 뒤 응답에 씁니다. 소켓 쓰기 시간은 포함하지 않습니다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "point.metrics.enabled", havingValue = "true", matchIfMissing = true)
+class JsonMetricsConfiguration implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    JsonMetricsConfiguration(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new TimedJackson2HttpMessageConverter(objectMapper, meterRegistry));
+    }
+
+    static class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+        private static final String APPLICATION_PACKAGE = "io.hhplus.tdd.";
+
+        private final MeterRegistry meterRegistry;
+        private final ConcurrentHashMap<Type, Timer> timers = new ConcurrentHashMap<>();
+
+        TimedJackson2HttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+            super(objectMapper);
+            this.meterRegistry = meterRegistry;
+        }
+
+        /**
+         * List&lt;PointHistory&gt; 처럼 선언된 타입에 이 애플리케이션의 타입이 들어 있는 응답만 씁니다.
+         */
+        @Override
+        public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+            return type != null && type.getTypeName().contains(APPLICATION_PACKAGE)
+                    && super.canWrite(type, clazz, mediaType);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            long start = System.nanoTime();
+            try {
+                super.writeInternal(object, type, new BufferedOutputMessage(outputMessage.getHeaders(), buffer));
+            } finally {
+                Type timerType = type != null ? type : object.getClass();
+                timers.computeIfAbsent(timerType, this::timer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            buffer.writeTo(outputMessage.getBody());
+        }
+
+        private Timer timer(Type type) {
+            return Timer.builder("point.http.serialization")
+                    .description("응답 JSON 직렬화 시간 (응답 쓰기 제외)")
+                    .tag("type", simpleName(type))
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        /**
+         * 패키지 이름을 뺀 타입 이름. (java.util.List&lt;io.hhplus.tdd.point.PointHistory&gt; → List&lt;PointHistory&gt;)
+         */
+        private static String simpleName(Type type) {
+            return type.getTypeName().replaceAll("[\\w$]+\\.", "");
+        }
+    }
+
+    private record BufferedOutputMessage(HttpHeaders headers, OutputStream body) implements HttpOutputMessage {
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
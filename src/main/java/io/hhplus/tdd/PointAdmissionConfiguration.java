@@ -0,0 +1,80 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointAdmission;
+import io.hhplus.tdd.point.PointService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+
+/**
+ * 유저 락을 잡는 잔액 조회/충전/사용 요청을 PointController 에 넘기기 전에 PointService.admit 으로 걸러냅니다.
+ * 한도를 넘은 요청은 Tomcat 스레드를 잡고 유저 락을 기다리지 않고, ApiControllerAdvice 에서 바로 429 로 끝납니다.
+ * /point/batch 는 유저가 여럿이라 여기서 걸러내지 않고, PointBatchService 가 건마다 그 유저로 admit 합니다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+class PointAdmissionConfiguration implements WebMvcConfigurer {
+
+    private final PointService pointService;
+
+    PointAdmissionConfiguration(PointService pointService) {
+        this.pointService = pointService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(pointService))
+                .addPathPatterns("/point/*", "/point/*/charge", "/point/*/use");
+    }
+
+    static class AdmissionInterceptor implements HandlerInterceptor {
+
+        private static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".permit";
+
+        private final PointService pointService;
+
+        AdmissionInterceptor(PointService pointService) {
+            this.pointService = pointService;
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            Long userId = userId(request);
+            if (userId != null) {
+                request.setAttribute(PERMIT_ATTRIBUTE, pointService.admit(userId));
+            }
+            return true;
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                    Exception ex) {
+            if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof PointAdmission.Permit permit) {
+                request.removeAttribute(PERMIT_ATTRIBUTE);
+                permit.close();
+            }
+        }
+
+        /**
+         * {id} 경로 변수가 없거나(/point/batch) 숫자가 아니면 null. 숫자가 아닌 id 는 컨트롤러가 400 으로 처리합니다.
+         */
+        private static Long userId(HttpServletRequest request) {
+            if (!(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables)
+                    || !(variables.get("id") instanceof String id)) {
+                return null;
+            }
+            try {
+                return Long.parseLong(id);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * WebFlux 로 실행할 때 Tomcat 대신 Netty 를 사용합니다.
+ * spring-boot-starter-web 이 함께 있으면 Tomcat 이 먼저 선택되므로 Netty 서버를 직접 등록합니다.
+ * Netty 는 CPU 수만큼의 event loop 스레드로 모든 연결을 처리합니다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+class ReactiveServerConfiguration {
+
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
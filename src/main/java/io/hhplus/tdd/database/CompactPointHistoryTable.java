@@ -0,0 +1,390 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * primitive 배열(struct-of-arrays) 기반 포인트 내역 테이블
+ * - IndexedPointHistoryTable 은 내역마다 PointHistory 객체를 만들어 유저별 ArrayList 에 보관하므로
+ *   내역 수만큼 객체가 생기고, 내역이 많아질수록 heap 과 GC 가 추적할 객체가 함께 늘어납니다.
+ * - 이 테이블은 모든 내역을 하나의 행(row) 공간에 쌓고, 열(userId, amount, updateMillis, type)별로
+ *   2^16 행 단위 chunk 배열에 나누어 저장합니다. id 는 행 번호 + 1 이므로 따로 저장하지 않습니다.
+ * - 유저별로는 행 번호(int)만 추가 순서대로 보관하고, PointHistory 는 조회 결과를 돌려줄 때만 만듭니다.
+ * - 추가는 락 없이 CAS 로 처리합니다. 행 번호는 AtomicLong 으로 발급하고, 유저별 목록에는
+ *   마지막 행보다 큰 행만 이어 붙여 유저별 id 순서를 유지합니다. (순서가 뒤집힌 행은 버리고 새 행을 받습니다)
+ * - point.history-store.type=compact 일 때 IndexedPointHistoryTable 대신 사용됩니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.history-store.type", havingValue = "compact")
+public class CompactPointHistoryTable implements PointHistoryStore {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MAX_CHUNKS = 1 << 16;
+    /**
+     * 유저별 목록에 행 번호 + 1 을 unsigned int 로 저장하므로 2^32 - 1 행까지 저장할 수 있습니다.
+     */
+    private static final long MAX_ROWS = (long) CHUNK_SIZE * MAX_CHUNKS - 1;
+    private static final long DEFAULT_INSERT_THROTTLE_MILLIS = 300L;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final VarHandle BYTES = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final AtomicReferenceArray<Chunk> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final AtomicLong nextRow = new AtomicLong();
+    private final ConcurrentHashMap<Long, UserRows> users = new ConcurrentHashMap<>();
+    private final long insertThrottleMillis;
+
+    public CompactPointHistoryTable() {
+        this(DEFAULT_INSERT_THROTTLE_MILLIS);
+    }
+
+    /**
+     * @param insertThrottleMillis insert 시 최대 지연 시간 (0 이면 지연 없음)
+     */
+    public CompactPointHistoryTable(long insertThrottleMillis) {
+        this.insertThrottleMillis = insertThrottleMillis;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        throttle(insertThrottleMillis);
+        return append(userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointHistory> insertAll(List<PointCommand> commands, long updateMillis) {
+        if (commands.isEmpty()) {
+            return List.of();
+        }
+        throttle(insertThrottleMillis);
+        List<PointHistory> inserted = new ArrayList<>(commands.size());
+        for (PointCommand command : commands) {
+            inserted.add(append(command.userId(), command.amount(), command.type(), updateMillis));
+        }
+        return inserted;
+    }
+
+    /**
+     * 행을 예약하고 id 를 발급합니다. 테이블에는 insertAll(List) 로 추가해야 조회됩니다.
+     */
+    @Override
+    public PointHistory allocate(long userId, long amount, TransactionType type, long updateMillis) {
+        return new PointHistory(reserveRow() + 1, userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public void insertAll(List<PointHistory> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+        throttle(insertThrottleMillis);
+        for (PointHistory pointHistory : histories) {
+            put(pointHistory);
+        }
+    }
+
+    /**
+     * 복구용 추가. 지연 없이 id 에 해당하는 행에 그대로 저장하고, 이후 발급할 id 가 복구한 id 보다 크도록 맞춥니다.
+     */
+    @Override
+    public void restore(List<PointHistory> histories) {
+        for (PointHistory pointHistory : histories) {
+            long id = pointHistory.id();
+            if (id <= 0 || id > MAX_ROWS) {
+                throw new IllegalStateException("복구할 수 없는 내역 id 입니다: " + id);
+            }
+            nextRow.accumulateAndGet(id, Math::max);
+            put(pointHistory);
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserRows userRows = users.get(userId);
+        if (userRows == null) {
+            return List.of();
+        }
+        int count = userRows.count();
+        List<PointHistory> histories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            histories.add(read(userRows.row(i)));
+        }
+        return histories;
+    }
+
+    /**
+     * afterId 보다 id 가 큰 내역 중 filter 를 만족하는 내역을 id 순서대로 최대 limit 건 반환합니다.
+     * 시작 위치는 이진 탐색으로 찾으므로 앞쪽 내역을 다시 읽지 않습니다.
+     */
+    @Override
+    public List<PointHistory> selectByUserId(long userId, long afterId, int limit, Predicate<PointHistory> filter) {
+        UserRows userRows = users.get(userId);
+        if (userRows == null || limit <= 0) {
+            return List.of();
+        }
+        int count = userRows.count();
+        List<PointHistory> selected = new ArrayList<>(Math.min(limit, 256));
+        for (int i = userRows.indexAfter(afterId, count); i < count && selected.size() < limit; i++) {
+            PointHistory pointHistory = read(userRows.row(i));
+            if (filter.test(pointHistory)) {
+                selected.add(pointHistory);
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public long lastId() {
+        return nextRow.get();
+    }
+
+    @Override
+    public List<Long> userIds() {
+        return List.copyOf(users.keySet());
+    }
+
+    /**
+     * 추가된 내역 수
+     */
+    public long size() {
+        long size = 0;
+        for (UserRows userRows : users.values()) {
+            size += userRows.count();
+        }
+        return size;
+    }
+
+    private PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+        UserRows userRows = userRows(userId);
+        while (true) {
+            long row = reserveRow();
+            Chunk chunk = chunk(row);
+            int offset = (int) (row & CHUNK_MASK);
+            chunk.write(offset, userId, amount, updateMillis);
+            int index = userRows.link(row);
+            if (index >= 0) {
+                chunk.publish(offset, type);
+                userRows.set(index, row);
+                return new PointHistory(row + 1, userId, amount, type, updateMillis);
+            }
+            // 같은 유저의 다른 insert 가 더 뒤의 행을 먼저 이어 붙였으므로 이 행은 비워 두고 새 행을 받습니다.
+        }
+    }
+
+    private void put(PointHistory pointHistory) {
+        long row = pointHistory.id() - 1;
+        Chunk chunk = chunk(row);
+        int offset = (int) (row & CHUNK_MASK);
+        chunk.write(offset, pointHistory.userId(), pointHistory.amount(), pointHistory.updateMillis());
+        UserRows userRows = userRows(pointHistory.userId());
+        int index = userRows.link(row);
+        if (index < 0) {
+            throw new IllegalStateException("같은 유저의 내역은 id 순서대로 추가해야 합니다: " + pointHistory.id());
+        }
+        chunk.publish(offset, pointHistory.type());
+        userRows.set(index, row);
+    }
+
+    private PointHistory read(long row) {
+        Chunk chunk = chunks.get((int) (row >>> CHUNK_BITS));
+        int offset = (int) (row & CHUNK_MASK);
+        return new PointHistory(row + 1, chunk.userIds[offset], chunk.amounts[offset],
+                TYPES[chunk.types[offset] - 1], chunk.updateMillis[offset]);
+    }
+
+    private long reserveRow() {
+        long row = nextRow.getAndIncrement();
+        if (row >= MAX_ROWS) {
+            throw new IllegalStateException("내역을 더 저장할 수 없습니다. (최대 " + MAX_ROWS + "건)");
+        }
+        return row;
+    }
+
+    private UserRows userRows(long userId) {
+        UserRows userRows = users.get(userId);
+        return userRows != null ? userRows : users.computeIfAbsent(userId, k -> new UserRows());
+    }
+
+    private Chunk chunk(long row) {
+        int index = (int) (row >>> CHUNK_BITS);
+        Chunk chunk = chunks.get(index);
+        if (chunk == null) {
+            chunks.compareAndSet(index, null, new Chunk());
+            chunk = chunks.get(index);
+        }
+        return chunk;
+    }
+
+    private void throttle(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep((long) (Math.random() * millis));
+        } catch (InterruptedException ignored) {
+
+        }
+    }
+
+    /**
+     * CHUNK_SIZE 행의 열 배열. types 는 TransactionType.ordinal() + 1 이며, 0 이면 아직 추가되지 않은 행입니다.
+     */
+    private static final class Chunk {
+        private final long[] userIds = new long[CHUNK_SIZE];
+        private final long[] amounts = new long[CHUNK_SIZE];
+        private final long[] updateMillis = new long[CHUNK_SIZE];
+        private final byte[] types = new byte[CHUNK_SIZE];
+
+        private void write(int offset, long userId, long amount, long updateMillis) {
+            userIds[offset] = userId;
+            amounts[offset] = amount;
+            this.updateMillis[offset] = updateMillis;
+        }
+
+        /**
+         * 나머지 열을 모두 쓴 뒤 type 을 release 로 써서, type 을 읽은 스레드가 완성된 행을 보도록 합니다.
+         */
+        private void publish(int offset, TransactionType type) {
+            BYTES.setRelease(types, offset, (byte) (type.ordinal() + 1));
+        }
+    }
+
+    /**
+     * 한 유저의 행 번호 목록
+     * - state 에 (목록 길이 << 32 | 마지막 행 번호 + 1) 을 함께 저장하고 CAS 로 한 칸씩 늘립니다.
+     *   마지막 행보다 큰 행만 이어 붙일 수 있으므로 목록은 항상 행 번호(= id) 순서입니다.
+     * - 목록은 4, 8, 16, ... 칸으로 두 배씩 커지는 구간 배열에 저장하여, 늘어날 때 기존 값을 복사하지 않습니다.
+     *   CAS 로 자리를 얻은 뒤 값을 쓰므로, 읽는 쪽은 아직 값이 없는 칸을 만나면 값이 쓰일 때까지 잠깐 기다립니다.
+     */
+    private static final class UserRows {
+        private static final int FIRST_LEVEL_SIZE = 4;
+        private static final int MAX_COUNT = 1 << 30;
+        private static final int LEVEL_COUNT = level(MAX_COUNT - 1) + 1;
+        private static final VarHandle STATE;
+        private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+        private static final VarHandle LEVELS = MethodHandles.arrayElementVarHandle(int[][].class);
+        private static final VarHandle MORE;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                STATE = lookup.findVarHandle(UserRows.class, "state", long.class);
+                MORE = lookup.findVarHandle(UserRows.class, "more", int[][].class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final int[] first = new int[FIRST_LEVEL_SIZE];
+        private volatile long state;
+        private volatile int[][] more;
+
+        private int count() {
+            return (int) (state >>> 32);
+        }
+
+        /**
+         * row 를 목록 끝에 이어 붙일 자리를 얻습니다.
+         *
+         * @return 얻은 자리, row 가 마지막 행보다 크지 않으면 -1
+         */
+        private int link(long row) {
+            while (true) {
+                long current = state;
+                long last = (current & 0xFFFF_FFFFL) - 1;
+                if (row <= last) {
+                    return -1;
+                }
+                int count = (int) (current >>> 32);
+                if (count == MAX_COUNT) {
+                    throw new IllegalStateException("한 유저의 내역을 더 저장할 수 없습니다.");
+                }
+                if (STATE.compareAndSet(this, current, ((long) (count + 1) << 32) | (row + 1))) {
+                    return count;
+                }
+            }
+        }
+
+        private void set(int index, long row) {
+            int level = level(index);
+            INTS.setRelease(levelArray(level, true), offset(index, level), (int) (row + 1));
+        }
+
+        private long row(int index) {
+            int level = level(index);
+            int offset = offset(index, level);
+            while (true) {
+                int[] array = levelArray(level, false);
+                if (array != null) {
+                    int value = (int) INTS.getAcquire(array, offset);
+                    if (value != 0) {
+                        return Integer.toUnsignedLong(value) - 1;
+                    }
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        /**
+         * id 가 afterId 보다 큰 첫 자리 (목록은 id 순서로 정렬되어 있음)
+         */
+        private int indexAfter(long afterId, int count) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (row(mid) + 1 <= afterId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int[] levelArray(int level, boolean create) {
+            if (level == 0) {
+                return first;
+            }
+            int[][] levels = more;
+            if (levels == null) {
+                if (!create) {
+                    return null;
+                }
+                MORE.compareAndSet(this, null, new int[LEVEL_COUNT][]);
+                levels = more;
+            }
+            int[] array = (int[]) LEVELS.getAcquire(levels, level);
+            if (array == null && create) {
+                LEVELS.compareAndSet(levels, level, null, new int[FIRST_LEVEL_SIZE << level]);
+                array = (int[]) LEVELS.getAcquire(levels, level);
+            }
+            return array;
+        }
+
+        /**
+         * index 가 속한 구간. 구간 k 는 FIRST_LEVEL_SIZE * (2^k - 1) 번째 자리부터 FIRST_LEVEL_SIZE * 2^k 칸입니다.
+         */
+        private static int level(int index) {
+            return 31 - Integer.numberOfLeadingZeros(index / FIRST_LEVEL_SIZE + 1);
+        }
+
+        private static int offset(int index, int level) {
+            return index - FIRST_LEVEL_SIZE * ((1 << level) - 1);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 유저별 인덱스를 유지하는 포인트 내역 테이블
+ * - PointHistoryTable 은 전체 내역을 하나의 ArrayList 에 쌓고 조회할 때마다 전체를 스캔하므로
+ *   조회 비용이 전체 유저의 내역 수에 비례합니다.
+ * - 이 테이블은 userId 별로 추가 순서가 보장된 목록을 따로 유지하여 조회 비용이 해당 유저의 내역 수에만 비례합니다.
+ * - id 발급과 추가는 유저 단위로 원자적으로 수행되어 동시에 insert 해도 안전합니다.
+ * - point.history-store.type 이 indexed(기본값)일 때 사용됩니다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.history-store.type", havingValue = "indexed", matchIfMissing = true)
+public class IndexedPointHistoryTable implements PointHistoryStore {
+
+    private static final long DEFAULT_INSERT_THROTTLE_MILLIS = 300L;
+
+    private final Map<Long, List<PointHistory>> table = new ConcurrentHashMap<>();
+    private final AtomicLong cursor = new AtomicLong(1);
+    private final long insertThrottleMillis;
+
+    public IndexedPointHistoryTable() {
+        this(DEFAULT_INSERT_THROTTLE_MILLIS);
+    }
+
+    /**
+     * @param insertThrottleMillis insert 시 최대 지연 시간 (0 이면 지연 없음)
+     */
+    public IndexedPointHistoryTable(long insertThrottleMillis) {
+        this.insertThrottleMillis = insertThrottleMillis;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        throttle(insertThrottleMillis);
+        return append(userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointHistory> insertAll(List<PointCommand> commands, long updateMillis) {
+        if (commands.isEmpty()) {
+            return List.of();
+        }
+        throttle(insertThrottleMillis);
+        List<PointHistory> inserted = new ArrayList<>(commands.size());
+        for (PointCommand command : commands) {
+            inserted.add(append(command.userId(), command.amount(), command.type(), updateMillis));
+        }
+        return inserted;
+    }
+
+    @Override
+    public PointHistory allocate(long userId, long amount, TransactionType type, long updateMillis) {
+        return new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public void insertAll(List<PointHistory> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+        throttle(insertThrottleMillis);
+        for (PointHistory pointHistory : histories) {
+            List<PointHistory> userHistories = table.computeIfAbsent(pointHistory.userId(), k -> new ArrayList<>());
+            synchronized (userHistories) {
+                userHistories.add(pointHistory);
+            }
+        }
+    }
+
+    @Override
+    public void restore(List<PointHistory> histories) {
+        long maxId = 0;
+        for (PointHistory pointHistory : histories) {
+            List<PointHistory> userHistories = table.computeIfAbsent(pointHistory.userId(), k -> new ArrayList<>());
+            synchronized (userHistories) {
+                userHistories.add(pointHistory);
+            }
+            maxId = Math.max(maxId, pointHistory.id());
+        }
+        long nextId = maxId + 1;
+        cursor.accumulateAndGet(nextId, Math::max);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        List<PointHistory> histories = table.get(userId);
+        if (histories == null) {
+            return List.of();
+        }
+        synchronized (histories) {
+            return List.copyOf(histories);
+        }
+    }
+
+    /**
+     * 시작 위치는 이진 탐색으로 찾으므로 앞쪽 내역을 다시 읽지 않습니다.
+     */
+    @Override
+    public List<PointHistory> selectByUserId(long userId, long afterId, int limit, Predicate<PointHistory> filter) {
+        List<PointHistory> histories = table.get(userId);
+        if (histories == null || limit <= 0) {
+            return List.of();
+        }
+        List<PointHistory> selected = new ArrayList<>(Math.min(limit, 256));
+        synchronized (histories) {
+            for (int i = indexAfter(histories, afterId); i < histories.size() && selected.size() < limit; i++) {
+                PointHistory pointHistory = histories.get(i);
+                if (filter.test(pointHistory)) {
+                    selected.add(pointHistory);
+                }
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public long lastId() {
+        return cursor.get() - 1;
+    }
+
+    @Override
+    public List<Long> userIds() {
+        return List.copyOf(table.keySet());
+    }
+
+    /**
+     * id 가 afterId 보다 큰 첫 내역의 위치 (유저별 목록은 id 순서로 정렬되어 있음)
+     */
+    private static int indexAfter(List<PointHistory> histories, long afterId) {
+        int low = 0;
+        int high = histories.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (histories.get(mid).id() <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+        List<PointHistory> histories = table.computeIfAbsent(userId, k -> new ArrayList<>());
+        synchronized (histories) {
+            PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+            histories.add(pointHistory);
+            return pointHistory;
+        }
+    }
+
+    private void throttle(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep((long) (Math.random() * millis));
+        } catch (InterruptedException ignored) {
+
+        }
+    }
+}
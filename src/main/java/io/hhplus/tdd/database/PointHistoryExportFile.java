@@ -0,0 +1,212 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * 포인트 내역 일괄 내보내기 파일 (고정 길이 binary)
+ * - 헤더 32 byte : [magic 4][version 4][cutoffHistoryId 8][rowCount 8][createdMillis 8]
+ * - 내역 33 byte : [id 8][userId 8][type 1 (TransactionType.ordinal)][amount 8][updateMillis 8], big-endian
+ * - 끝 4 byte : 내역 영역 전체의 crc32c
+ * 내역이 고정 길이이므로 i 번째 내역은 32 + 33 * i 에서 시작합니다.
+ * 임시 파일에 모두 쓰고 fsync 한 뒤 이름을 바꾸므로, 내보내기 파일은 항상 완전한 상태로만 보입니다.
+ */
+public final class PointHistoryExportFile {
+
+    public static final int HEADER_BYTES = 32;
+    public static final int RECORD_BYTES = 33;
+
+    private static final int MAGIC = 0x50544858;
+    private static final int VERSION = 1;
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    /**
+     * 파일 헤더. cutoffHistoryId 보다 id 가 큰 내역은 들어 있지 않습니다.
+     */
+    public record Header(long cutoffHistoryId, long rowCount, long createdMillis) {
+    }
+
+    private PointHistoryExportFile() {
+    }
+
+    /**
+     * 내역을 파일에 기록된 순서대로 전달하고 헤더를 반환합니다.
+     * 길이나 checksum 이 맞지 않으면 IllegalStateException 을 던집니다.
+     */
+    public static Header read(Path file, Consumer<PointHistory> histories) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw corrupted(file);
+            }
+            Header parsed = new Header(header.getLong(), header.getLong(), header.getLong());
+            long recordsEnd = HEADER_BYTES + parsed.rowCount() * RECORD_BYTES;
+            if (channel.size() != recordsEnd + 4) {
+                throw corrupted(file);
+            }
+            CRC32C checksum = new CRC32C();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES / RECORD_BYTES * RECORD_BYTES);
+            long position = HEADER_BYTES;
+            while (position < recordsEnd) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), recordsEnd - position));
+                readFully(channel, buffer, position);
+                checksum.update(buffer.array(), 0, buffer.limit());
+                position += buffer.limit();
+                while (buffer.hasRemaining()) {
+                    long id = buffer.getLong();
+                    long userId = buffer.getLong();
+                    int type = buffer.get();
+                    if (type < 0 || type >= TYPES.length) {
+                        throw corrupted(file);
+                    }
+                    histories.accept(new PointHistory(id, userId, buffer.getLong(), TYPES[type], buffer.getLong()));
+                }
+            }
+            ByteBuffer footer = ByteBuffer.allocate(4);
+            readFully(channel, footer, recordsEnd);
+            if (footer.getInt() != (int) checksum.getValue()) {
+                throw corrupted(file);
+            }
+            return parsed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("내보내기 파일을 읽을 수 없습니다: " + file, e);
+        }
+    }
+
+    /**
+     * target 에 cutoffHistoryId 까지의 내역을 쓰기 시작합니다. commit 해야 target 파일이 생깁니다.
+     */
+    public static Writer create(Path target, long cutoffHistoryId) {
+        try {
+            return new Writer(target, cutoffHistoryId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("내보내기 파일을 만들 수 없습니다: " + target, e);
+        }
+    }
+
+    public static final class Writer implements AutoCloseable {
+        private final Path target;
+        private final Path temporary;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        private final CRC32C checksum = new CRC32C();
+        private final long cutoffHistoryId;
+        private final long createdMillis = System.currentTimeMillis();
+        private long position = HEADER_BYTES;
+        private long rowCount;
+        private boolean committed;
+
+        private Writer(Path target, long cutoffHistoryId) throws IOException {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            this.target = target;
+            this.temporary = target.resolveSibling(target.getFileName() + ".tmp");
+            this.cutoffHistoryId = cutoffHistoryId;
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        public void history(PointHistory history) {
+            if (buffer.remaining() < RECORD_BYTES) {
+                flush();
+            }
+            buffer.putLong(history.id())
+                    .putLong(history.userId())
+                    .put((byte) history.type().ordinal())
+                    .putLong(history.amount())
+                    .putLong(history.updateMillis());
+            rowCount++;
+        }
+
+        public long rowCount() {
+            return rowCount;
+        }
+
+        /**
+         * 남은 내역과 checksum, 헤더를 쓰고 fsync 한 뒤 최종 이름으로 바꿉니다.
+         *
+         * @return 완성된 파일
+         */
+        public Path commit() {
+            flush();
+            try {
+                writeFully(ByteBuffer.allocate(4).putInt((int) checksum.getValue()).flip(), position);
+                writeFully(ByteBuffer.allocate(HEADER_BYTES)
+                        .putInt(MAGIC).putInt(VERSION)
+                        .putLong(cutoffHistoryId).putLong(rowCount).putLong(createdMillis)
+                        .flip(), 0);
+                channel.force(true);
+                channel.close();
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                PointWriteAheadLog.syncDirectory(target.toAbsolutePath().getParent());
+                committed = true;
+                return target;
+            } catch (IOException e) {
+                throw new UncheckedIOException("내보내기 파일을 쓸 수 없습니다: " + target, e);
+            }
+        }
+
+        /**
+         * commit 하지 않았다면 임시 파일을 지웁니다.
+         */
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            try {
+                channel.close();
+                Files.deleteIfExists(temporary);
+            } catch (IOException ignored) {
+
+            }
+        }
+
+        private void flush() {
+            buffer.flip();
+            checksum.update(buffer.array(), 0, buffer.limit());
+            try {
+                position += writeFully(buffer, position);
+            } catch (IOException e) {
+                throw new UncheckedIOException("내보내기 파일을 쓸 수 없습니다: " + target, e);
+            }
+            buffer.clear();
+        }
+
+        private int writeFully(ByteBuffer source, long at) throws IOException {
+            int written = 0;
+            while (source.hasRemaining()) {
+                written += channel.write(source, at + written);
+            }
+            return written;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer target, long position) throws IOException {
+        long at = position;
+        while (target.hasRemaining()) {
+            int read = channel.read(target, at);
+            if (read < 0) {
+                throw new IOException("파일이 예상보다 짧습니다.");
+            }
+            at += read;
+        }
+        target.flip();
+    }
+
+    private static IllegalStateException corrupted(Path file) {
+        return new IllegalStateException("내보내기 파일이 손상되었습니다: " + file);
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * PointService 가 사용하는 포인트 내역 저장소
+ * - point.history-store.type 에 따라 IndexedPointHistoryTable 또는 CompactPointHistoryTable 이 등록됩니다.
+ * - 같은 유저의 내역은 id 순서대로 저장되고 조회됩니다.
+ */
+public interface PointHistoryStore {
+
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * 여러 건의 내역을 한 번의 insert 비용으로 추가합니다.
+     * 같은 유저의 내역은 commands 순서대로 추가됩니다.
+     */
+    List<PointHistory> insertAll(List<PointCommand> commands, long updateMillis);
+
+    /**
+     * id 만 발급한 내역을 만듭니다. 테이블에는 insertAll(List) 로 추가해야 조회됩니다.
+     */
+    PointHistory allocate(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * allocate 로 id 를 발급한 내역들을 한 번의 insert 비용으로 추가합니다.
+     * 같은 유저의 내역은 id 순서대로 전달되어야 합니다.
+     */
+    void insertAll(List<PointHistory> histories);
+
+    /**
+     * 복구용 추가. 지연 없이 id 를 그대로 유지하여 추가하고, 이후 발급할 id 가 복구한 id 보다 크도록 맞춥니다.
+     * 같은 유저의 내역은 id 순서대로 전달되어야 합니다.
+     */
+    void restore(List<PointHistory> histories);
+
+    List<PointHistory> selectAllByUserId(long userId);
+
+    /**
+     * afterId 보다 id 가 큰 내역 중 filter 를 만족하는 내역을 id 순서대로 최대 limit 건 반환합니다.
+     */
+    List<PointHistory> selectByUserId(long userId, long afterId, int limit, Predicate<PointHistory> filter);
+
+    /**
+     * 지금까지 발급한 가장 큰 id (발급한 적이 없으면 0)
+     * 발급만 하고 아직 추가하지 않은 내역(allocate)의 id 도 포함합니다.
+     */
+    long lastId();
+
+    /**
+     * 내역이 있는 유저 id 목록 (호출 시점의 복사본)
+     */
+    List<Long> userIds();
+}
@@ -0,0 +1,299 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * WAL 의 특정 sequence 까지를 반영한 잔액 스냅샷 파일과 내역 segment 파일
+ * - 스냅샷(snapshot-{lastSequence}.bin)은 lastSequence 까지의 잔액만 담습니다.
+ *   lastSequence 는 내역의 watermark 이기도 해서, 그 sequence 까지의 내역은 모두 내역 segment 에 들어 있습니다.
+ * - 내역 segment(history-{lastSequence}.bin)는 직전 segment 다음부터 lastSequence 까지의 WAL 내역을 담고,
+ *   한 번 만들면 다시 쓰지 않습니다.
+ * - 두 파일 모두 [magic][version][lastSequence] 헤더 뒤에 잔액(tag 1)과 내역(tag 2) 항목을 이어 쓰고,
+ *   [tag 0][잔액 수][내역 수] 와 파일 전체의 crc32c 로 끝납니다.
+ * - 임시 파일에 모두 쓰고 fsync 한 뒤 이름을 바꾸므로, 파일은 항상 완전한 상태로만 보입니다.
+ */
+public final class PointSnapshotFile {
+
+    private static final int MAGIC = 0x50545353;
+    private static final int VERSION = 1;
+    private static final byte END = 0;
+    private static final byte BALANCE = 1;
+    private static final byte HISTORY = 2;
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final String PREFIX = "snapshot-";
+    private static final String HISTORY_PREFIX = "history-";
+    private static final String SUFFIX = ".bin";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private PointSnapshotFile() {
+    }
+
+    /**
+     * directory 에서 lastSequence 가 가장 큰 스냅샷 파일
+     */
+    public static Optional<Path> latest(Path directory) {
+        return Optional.ofNullable(list(directory, PREFIX).lastEntry()).map(Map.Entry::getValue);
+    }
+
+    /**
+     * directory 의 내역 segment 파일을 lastSequence 순서대로
+     */
+    public static NavigableMap<Long, Path> historySegments(Path directory) {
+        return list(directory, HISTORY_PREFIX);
+    }
+
+    public static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(name.indexOf('-') + 1, name.length() - SUFFIX.length()));
+    }
+
+    private static NavigableMap<Long, Path> list(Path directory, String prefix) {
+        NavigableMap<Long, Path> files = new TreeMap<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + SUFFIX)) {
+            for (Path file : stream) {
+                files.put(sequenceOf(file), file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 목록을 읽을 수 없습니다: " + directory, e);
+        }
+        return files;
+    }
+
+    /**
+     * 스냅샷의 잔액과 내역을 파일에 기록된 순서대로 전달합니다.
+     * checksum 은 끝까지 읽은 뒤 확인하므로, 손상된 파일이면 일부 항목을 전달한 뒤 IllegalStateException 을 던집니다.
+     *
+     * @return 스냅샷에 반영된 마지막 WAL sequence
+     */
+    public static long read(Path file, PrimitiveUserPointTable.BalanceConsumer balances,
+                            Consumer<PointHistory> histories) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Reader reader = new Reader(channel, channel.size() - 4);
+            ByteBuffer header = reader.require(16);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw corrupted(file);
+            }
+            long lastSequence = header.getLong();
+            long balanceCount = 0;
+            long historyCount = 0;
+            while (true) {
+                byte tag = reader.require(1).get();
+                if (tag == BALANCE) {
+                    ByteBuffer entry = reader.require(24);
+                    balances.accept(entry.getLong(), entry.getLong(), entry.getLong());
+                    balanceCount++;
+                } else if (tag == HISTORY) {
+                    ByteBuffer entry = reader.require(33);
+                    long id = entry.getLong();
+                    long userId = entry.getLong();
+                    int type = entry.get();
+                    if (type < 0 || type >= TYPES.length) {
+                        throw corrupted(file);
+                    }
+                    histories.accept(new PointHistory(id, userId, entry.getLong(), TYPES[type], entry.getLong()));
+                    historyCount++;
+                } else if (tag == END) {
+                    break;
+                } else {
+                    throw corrupted(file);
+                }
+            }
+            ByteBuffer footer = reader.require(16);
+            if (footer.getLong() != balanceCount || footer.getLong() != historyCount) {
+                throw corrupted(file);
+            }
+            ByteBuffer checksum = ByteBuffer.allocate(4);
+            channel.read(checksum, channel.size() - 4);
+            if (checksum.flip().getInt() != (int) reader.checksum.getValue()) {
+                throw corrupted(file);
+            }
+            return lastSequence;
+        } catch (EOFException e) {
+            throw corrupted(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 읽을 수 없습니다: " + file, e);
+        }
+    }
+
+    /**
+     * lastSequence 까지를 반영한 스냅샷을 씁니다. commit 해야 스냅샷 파일이 생깁니다.
+     */
+    public static Writer create(Path directory, long lastSequence) {
+        return create(directory, PREFIX, lastSequence);
+    }
+
+    /**
+     * 직전 segment 다음부터 lastSequence 까지의 내역을 담을 내역 segment 를 씁니다. commit 해야 파일이 생깁니다.
+     */
+    public static Writer createHistorySegment(Path directory, long lastSequence) {
+        return create(directory, HISTORY_PREFIX, lastSequence);
+    }
+
+    private static Writer create(Path directory, String prefix, long lastSequence) {
+        try {
+            return new Writer(directory, prefix, lastSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 만들 수 없습니다: " + directory, e);
+        }
+    }
+
+    public static final class Writer implements AutoCloseable {
+        private final Path directory;
+        private final Path temporary;
+        private final Path target;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        private final CRC32C checksum = new CRC32C();
+        private long balanceCount;
+        private long historyCount;
+        private boolean committed;
+
+        private Writer(Path directory, String prefix, long lastSequence) throws IOException {
+            Files.createDirectories(directory);
+            this.directory = directory;
+            this.target = directory.resolve(String.format("%s%020d%s", prefix, lastSequence, SUFFIX));
+            this.temporary = directory.resolve(target.getFileName() + ".tmp");
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(lastSequence);
+        }
+
+        public void balance(long userId, long point, long updateMillis) {
+            ensure(25).put(BALANCE).putLong(userId).putLong(point).putLong(updateMillis);
+            balanceCount++;
+        }
+
+        public void history(PointHistory history) {
+            ensure(34).put(HISTORY)
+                    .putLong(history.id())
+                    .putLong(history.userId())
+                    .put((byte) history.type().ordinal())
+                    .putLong(history.amount())
+                    .putLong(history.updateMillis());
+            historyCount++;
+        }
+
+        /**
+         * 파일을 마무리하고 fsync 한 뒤 최종 이름으로 바꿉니다.
+         *
+         * @return 완성된 스냅샷 파일
+         */
+        public Path commit() {
+            try {
+                ensure(17).put(END).putLong(balanceCount).putLong(historyCount);
+                flush();
+                buffer.putInt((int) checksum.getValue()).flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+                channel.close();
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                PointWriteAheadLog.syncDirectory(directory);
+                committed = true;
+                return target;
+            } catch (IOException e) {
+                throw new UncheckedIOException("스냅샷을 쓸 수 없습니다: " + target, e);
+            }
+        }
+
+        /**
+         * commit 하지 않았다면 임시 파일을 지웁니다.
+         */
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            try {
+                channel.close();
+                Files.deleteIfExists(temporary);
+            } catch (IOException ignored) {
+
+            }
+        }
+
+        private ByteBuffer ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("스냅샷을 쓸 수 없습니다: " + target, e);
+                }
+            }
+            return buffer;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            checksum.update(buffer.array(), 0, buffer.limit());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * limit 까지의 내용을 큰 단위로 읽으며 checksum 을 함께 계산합니다.
+     */
+    private static final class Reader {
+        private final FileChannel channel;
+        private final long limit;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        private final CRC32C checksum = new CRC32C();
+        private long position;
+
+        private Reader(FileChannel channel, long limit) {
+            this.channel = channel;
+            this.limit = limit;
+            buffer.flip();
+        }
+
+        private ByteBuffer require(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return buffer;
+            }
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                int length = (int) Math.min(buffer.remaining(), limit - position);
+                if (length <= 0) {
+                    throw new EOFException();
+                }
+                int read = channel.read(buffer.slice(buffer.position(), length), position);
+                if (read < 0) {
+                    throw new EOFException();
+                }
+                checksum.update(buffer.array(), buffer.position(), read);
+                buffer.position(buffer.position() + read);
+                position += read;
+            }
+            return buffer.flip();
+        }
+    }
+
+    private static IllegalStateException corrupted(Path file) {
+        return new IllegalStateException("스냅샷이 손상되었습니다: " + file);
+    }
+}
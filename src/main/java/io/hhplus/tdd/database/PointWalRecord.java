@@ -0,0 +1,27 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * WAL 에 기록되는 충전/사용 이벤트 한 건
+ * - balance : 이벤트를 적용한 뒤의 잔액. 복구할 때 이전 잔액을 몰라도 이 값으로 잔액을 맞출 수 있습니다.
+ */
+public record PointWalRecord(
+        long historyId,
+        long userId,
+        TransactionType type,
+        long amount,
+        long balance,
+        long updateMillis
+) {
+
+    public static PointWalRecord of(PointHistory history, long balance) {
+        return new PointWalRecord(history.id(), history.userId(), history.type(), history.amount(), balance,
+                history.updateMillis());
+    }
+
+    public PointHistory toHistory() {
+        return new PointHistory(historyId, userId, amount, type, updateMillis);
+    }
+}
@@ -0,0 +1,401 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32C;
+
+/**
+ * 충전/사용 이벤트를 파일에 순서대로 기록하는 append-only WAL (write-ahead log)
+ * - 레코드는 [crc32c(4)][sequence(8)][historyId, userId, type, amount, balance, updateMillis(41)] 의 고정 길이 53 byte 입니다.
+ * - 여러 스레드의 append 요청을 writer 스레드 하나가 모아 한 번에 쓰고 fsync 도 한 번만 합니다. (group fsync)
+ *   append 는 자신의 레코드가 디스크에 반영된 뒤에 반환됩니다.
+ * - 파일은 segmentSize 를 넘으면 새 segment 로 넘어가며, segment 이름은 첫 레코드의 sequence 입니다.
+ * - 다시 열 때 마지막 segment 의 끝에서 checksum 이 맞지 않는 레코드(쓰다가 중단된 레코드)는 잘라냅니다.
+ *   마지막 segment 가 아닌 곳에서 손상된 레코드를 만나면 IllegalStateException 을 던집니다.
+ */
+public class PointWriteAheadLog implements AutoCloseable {
+
+    /**
+     * replay 로 읽은 레코드를 sequence 순서대로 받습니다.
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long sequence, PointWalRecord record);
+    }
+
+    public record Stats(
+            long lastSequence,
+            long appendedRecords,
+            long syncCount,
+            int segmentCount
+    ) {
+    }
+
+    static final int RECORD_BYTES = 53;
+    private static final int PAYLOAD_BYTES = RECORD_BYTES - 4;
+    private static final int READ_BUFFER_RECORDS = 16_384;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private record PendingAppend(List<PointWalRecord> records, CompletableFuture<Long> result) {
+    }
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final ConcurrentSkipListMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+    private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+    private final LongAdder appendedRecords = new LongAdder();
+    private final LongAdder syncCount = new LongAdder();
+    private final CRC32C writeChecksum = new CRC32C();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile long lastSequence;
+    private volatile IOException failure;
+    private FileChannel channel;
+    private long channelSize;
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(RECORD_BYTES * 1024);
+
+    /**
+     * @param minimumSequence 이미 스냅샷에 반영된 마지막 sequence. 새 레코드는 이보다 큰 sequence 를 받습니다.
+     */
+    public PointWriteAheadLog(Path directory, long segmentBytes, boolean fsync, long minimumSequence) {
+        this.directory = directory;
+        this.segmentBytes = Math.max(RECORD_BYTES, segmentBytes);
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(directory);
+            loadSegments();
+            this.lastSequence = Math.max(minimumSequence, recoverTail());
+            openSegment(lastSequence + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 을 열 수 없습니다: " + directory, e);
+        }
+        this.writer = Thread.ofPlatform().daemon().name("point-wal-writer").start(this::writeLoop);
+    }
+
+    /**
+     * 레코드들을 연속된 sequence 로 기록하고, 디스크에 반영될 때까지 기다립니다.
+     *
+     * @return 마지막 레코드의 sequence
+     */
+    public long append(List<PointWalRecord> records) {
+        PendingAppend pending = new PendingAppend(records, new CompletableFuture<>());
+        if (!running) {
+            throw closed();
+        }
+        queue.add(pending);
+        // 종료와 경합한 경우, 아직 아무도 꺼내지 않았다면 직접 실패 처리합니다.
+        if (!running && queue.remove(pending)) {
+            throw closed();
+        }
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 디스크에 반영된 마지막 레코드의 sequence
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * afterSequence 보다 크고 upToSequence 이하인 레코드를 sequence 순서대로 읽습니다.
+     * 기록 중에도 호출할 수 있으며, 이미 디스크에 반영된 레코드까지만 읽습니다.
+     */
+    public void replay(long afterSequence, long upToSequence, RecordConsumer consumer) {
+        long end = Math.min(upToSequence, lastSequence);
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            long start = segment.getKey();
+            Long next = segments.higherKey(start);
+            if (next != null && next <= afterSequence + 1) {
+                continue;
+            }
+            if (start > end) {
+                break;
+            }
+            long segmentEnd = Math.min(end, next != null ? next - 1 : end);
+            try {
+                long readUntil = readSegment(segment.getValue(), start, afterSequence, segmentEnd, consumer);
+                if (readUntil <= segmentEnd) {
+                    throw new IllegalStateException("WAL 이 손상되었습니다: " + segment.getValue());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("WAL 을 읽을 수 없습니다: " + segment.getValue(), e);
+            }
+        }
+    }
+
+    /**
+     * sequence 이하의 레코드만 담고 있는 segment 를 삭제합니다. 기록 중인 마지막 segment 는 삭제하지 않습니다.
+     */
+    public void deleteSegmentsThrough(long sequence) {
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            Long next = segments.higherKey(segment.getKey());
+            if (next == null || next - 1 > sequence) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(segment.getValue());
+            } catch (IOException e) {
+                throw new UncheckedIOException("WAL segment 를 삭제할 수 없습니다: " + segment.getValue(), e);
+            }
+            segments.remove(segment.getKey());
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(lastSequence, appendedRecords.sum(), syncCount.sum(), segments.size());
+    }
+
+    /**
+     * 새 레코드를 더 받지 않고, 대기 중인 레코드를 모두 기록한 뒤 파일을 닫습니다.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingAppend pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(closed());
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAppend first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingAppend> batch) {
+        if (failure != null) {
+            batch.forEach(pending -> pending.result().completeExceptionally(writeFailed(failure)));
+            return;
+        }
+        int recordCount = 0;
+        for (PendingAppend pending : batch) {
+            recordCount += pending.records().size();
+        }
+        ByteBuffer buffer = writeBuffer(recordCount * RECORD_BYTES);
+        long sequence = lastSequence;
+        long[] lastSequences = new long[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            for (PointWalRecord record : batch.get(i).records()) {
+                encode(buffer, ++sequence, record);
+            }
+            lastSequences[i] = sequence;
+        }
+        buffer.flip();
+
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+            syncCount.increment();
+            appendedRecords.add(recordCount);
+            channelSize += (long) recordCount * RECORD_BYTES;
+            lastSequence = sequence;
+            if (channelSize >= segmentBytes) {
+                channel.close();
+                openSegment(sequence + 1);
+            }
+        } catch (IOException e) {
+            failure = e;
+            batch.forEach(pending -> pending.result().completeExceptionally(writeFailed(e)));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(lastSequences[i]);
+        }
+    }
+
+    private ByteBuffer writeBuffer(int bytes) {
+        if (writeBuffer.capacity() < bytes) {
+            writeBuffer = ByteBuffer.allocate(Integer.highestOneBit(bytes) << 1);
+        }
+        writeBuffer.clear();
+        return writeBuffer;
+    }
+
+    private void encode(ByteBuffer buffer, long sequence, PointWalRecord record) {
+        int start = buffer.position();
+        buffer.position(start + 4);
+        buffer.putLong(sequence)
+                .putLong(record.historyId())
+                .putLong(record.userId())
+                .put((byte) record.type().ordinal())
+                .putLong(record.amount())
+                .putLong(record.balance())
+                .putLong(record.updateMillis());
+        writeChecksum.reset();
+        writeChecksum.update(buffer.array(), buffer.arrayOffset() + start + 4, PAYLOAD_BYTES);
+        buffer.putInt(start, (int) writeChecksum.getValue());
+    }
+
+    /**
+     * segment 의 레코드를 sequence 순서대로 읽어 (afterSequence, upToSequence] 범위만 consumer 에 전달합니다.
+     *
+     * @return 다음에 읽어야 할 sequence. 손상된 레코드를 만나면 그 레코드의 sequence 에서 멈춥니다.
+     */
+    private static long readSegment(Path path, long start, long afterSequence, long upToSequence,
+                                    RecordConsumer consumer) throws IOException {
+        long sequence = Math.max(start, afterSequence + 1);
+        long position = (sequence - start) * RECORD_BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES * READ_BUFFER_RECORDS);
+        CRC32C checksum = new CRC32C();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (sequence <= upToSequence) {
+                buffer.clear();
+                if (channel.read(buffer, position) <= 0) {
+                    break;
+                }
+                buffer.flip();
+                int consumed = 0;
+                while (buffer.remaining() >= RECORD_BYTES && sequence <= upToSequence) {
+                    int recordStart = buffer.position();
+                    int expected = buffer.getInt();
+                    checksum.reset();
+                    checksum.update(buffer.array(), recordStart + 4, PAYLOAD_BYTES);
+                    if ((int) checksum.getValue() != expected || buffer.getLong() != sequence) {
+                        return sequence;
+                    }
+                    long historyId = buffer.getLong();
+                    long userId = buffer.getLong();
+                    int type = buffer.get();
+                    long amount = buffer.getLong();
+                    long balance = buffer.getLong();
+                    long updateMillis = buffer.getLong();
+                    if (type < 0 || type >= TYPES.length) {
+                        return sequence;
+                    }
+                    consumer.accept(sequence, new PointWalRecord(historyId, userId, TYPES[type], amount, balance, updateMillis));
+                    sequence++;
+                    consumed += RECORD_BYTES;
+                }
+                if (consumed == 0) {
+                    break;
+                }
+                position += consumed;
+            }
+        }
+        return sequence;
+    }
+
+    private void loadSegments() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long start = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(start, file);
+            }
+        }
+    }
+
+    /**
+     * 마지막 segment 끝의 손상된 레코드를 잘라내고 마지막으로 온전한 레코드의 sequence 를 반환합니다.
+     * 온전한 레코드가 하나도 없는 segment 는 삭제합니다.
+     */
+    private long recoverTail() throws IOException {
+        while (!segments.isEmpty()) {
+            Map.Entry<Long, Path> last = segments.lastEntry();
+            long start = last.getKey();
+            long next = readSegment(last.getValue(), start, start - 1, Long.MAX_VALUE, (sequence, record) -> {
+            });
+            if (next == start) {
+                Files.delete(last.getValue());
+                segments.remove(start);
+                continue;
+            }
+            long validBytes = (next - start) * RECORD_BYTES;
+            try (FileChannel file = FileChannel.open(last.getValue(), StandardOpenOption.WRITE)) {
+                if (file.size() > validBytes) {
+                    file.truncate(validBytes);
+                    file.force(true);
+                }
+            }
+            return next - 1;
+        }
+        return 0;
+    }
+
+    private void openSegment(long start) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, start, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        channelSize = channel.size();
+        segments.put(start, path);
+        if (fsync) {
+            syncDirectory(directory);
+        }
+    }
+
+    /**
+     * 새로 만든 파일이 디렉터리 항목까지 디스크에 반영되도록 디렉터리를 fsync 합니다. 지원하지 않는 환경에서는 무시합니다.
+     */
+    static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+
+        }
+    }
+
+    private static IllegalStateException closed() {
+        return new IllegalStateException("WAL 이 종료되었습니다.");
+    }
+
+    private static IllegalStateException writeFailed(IOException cause) {
+        return new IllegalStateException("WAL 기록에 실패했습니다.", cause);
+    }
+}
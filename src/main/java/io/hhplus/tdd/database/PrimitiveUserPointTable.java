@@ -0,0 +1,282 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * primitive 배열 기반 open addressing 잔액 테이블
+ * - UserPointTable 은 HashMap&lt;Long, UserPoint&gt; 에 저장하므로 유저마다 Long 키, Map.Entry, UserPoint 객체가 생기고
+ *   잔액을 변경할 때마다 새 UserPoint 를 만들어 저장합니다.
+ * - 이 테이블은 한 슬롯에 (id, point, updateMillis) 세 개의 long 을 연속으로 저장하여 유저당 객체를 만들지 않고,
+ *   잔액 변경은 배열 값만 덮어씁니다. (반환하는 UserPoint 는 호출자에게 돌려주기 위한 값일 뿐 저장하지 않습니다.)
+ * - userId 해시로 나눈 segment 마다 StampedLock 을 두어 조회는 낙관적 읽기로, 변경은 segment 단위 쓰기 락으로 처리합니다.
+ * - point.balance-store.type=primitive 일 때 UserPointTable 대신 사용됩니다.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "point.balance-store.type", havingValue = "primitive")
+public class PrimitiveUserPointTable extends UserPointTable {
+
+    /**
+     * 저장된 잔액을 객체 생성 없이 전달받습니다.
+     */
+    @FunctionalInterface
+    public interface BalanceConsumer {
+        void accept(long userId, long point, long updateMillis);
+    }
+
+    private static final int SEGMENT_COUNT = 64;
+    private static final int SLOT_WIDTH = 3;
+    private static final int DEFAULT_INITIAL_CAPACITY = 1 << 16;
+    private static final long DEFAULT_SELECT_THROTTLE_MILLIS = 200L;
+    private static final long DEFAULT_UPDATE_THROTTLE_MILLIS = 300L;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final long selectThrottleMillis;
+    private final long updateThrottleMillis;
+
+    public PrimitiveUserPointTable() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_SELECT_THROTTLE_MILLIS, DEFAULT_UPDATE_THROTTLE_MILLIS);
+    }
+
+    /**
+     * @param initialCapacity      전체 유저 수 예상치
+     * @param selectThrottleMillis 조회 시 최대 지연 시간 (0 이면 지연 없음)
+     * @param updateThrottleMillis 변경 시 최대 지연 시간 (0 이면 지연 없음)
+     */
+    public PrimitiveUserPointTable(int initialCapacity, long selectThrottleMillis, long updateThrottleMillis) {
+        int segmentCapacity = Math.max(16, Integer.highestOneBit(Math.max(1, initialCapacity / SEGMENT_COUNT)) << 1);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        this.selectThrottleMillis = selectThrottleMillis;
+        this.updateThrottleMillis = updateThrottleMillis;
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        throttle(selectThrottleMillis);
+        long hash = mix(id);
+        return segmentFor(hash).get(id, hash);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        throttle(updateThrottleMillis);
+        long updateMillis = System.currentTimeMillis();
+        long hash = mix(id);
+        segmentFor(hash).put(id, hash, amount, updateMillis);
+        return new UserPoint(id, amount, updateMillis);
+    }
+
+    /**
+     * updateMillis 를 지정해 저장합니다. WAL 에 먼저 기록한 시각과 테이블의 시각을 맞출 때 사용합니다.
+     */
+    public UserPoint insertOrUpdate(long id, long amount, long updateMillis) {
+        throttle(updateThrottleMillis);
+        long hash = mix(id);
+        segmentFor(hash).put(id, hash, amount, updateMillis);
+        return new UserPoint(id, amount, updateMillis);
+    }
+
+    /**
+     * 복구용 저장. 지연 없이 updateMillis 까지 그대로 저장합니다.
+     */
+    public void restore(long id, long point, long updateMillis) {
+        long hash = mix(id);
+        segmentFor(hash).put(id, hash, point, updateMillis);
+    }
+
+    /**
+     * 저장된 모든 잔액을 segment 단위로 순회합니다. 순서는 보장하지 않습니다.
+     */
+    public void forEach(BalanceConsumer consumer) {
+        for (Segment segment : segments) {
+            segment.forEach(consumer);
+        }
+    }
+
+    /**
+     * 저장된 유저 수
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 58)];
+    }
+
+    /**
+     * 연속된 userId 가 같은 segment 와 인접 슬롯에 몰리지 않도록 비트를 섞습니다. (SplitMix64)
+     */
+    private static long mix(long id) {
+        long z = id + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private void throttle(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep((long) (Math.random() * millis));
+        } catch (InterruptedException ignored) {
+
+        }
+    }
+
+    /**
+     * linear probing 해시 테이블 한 조각
+     * - slots[i * 3] = userId, slots[i * 3 + 1] = point, slots[i * 3 + 2] = updateMillis
+     * - 빈 슬롯은 used 비트로 구분하여 모든 long 값을 userId 로 사용할 수 있습니다.
+     * - 저장된 슬롯 수가 용량의 3/4 를 넘으면 두 배로 늘립니다. 삭제는 없으므로 tombstone 이 필요 없습니다.
+     */
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private long[] slots;
+        private long[] used;
+        private int size;
+
+        private Segment(int capacity) {
+            this.slots = new long[capacity * SLOT_WIDTH];
+            this.used = new long[Math.max(1, capacity >>> 6)];
+        }
+
+        private UserPoint get(long id, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                UserPoint found = find(id, hash);
+                if (lock.validate(stamp)) {
+                    return found;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(id, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * 낙관적 읽기 중에는 배열이 교체될 수 있으므로 배열 참조를 한 번만 읽고, 탐색 횟수를 용량으로 제한합니다.
+         */
+        private UserPoint find(long id, long hash) {
+            long[] slots = this.slots;
+            long[] used = this.used;
+            int capacity = slots.length / SLOT_WIDTH;
+            if (used.length * 64 < capacity) {
+                return UserPoint.empty(id);
+            }
+            int mask = capacity - 1;
+            int index = (int) hash & mask;
+            for (int probe = 0; probe < capacity; probe++) {
+                if (!isUsed(used, index)) {
+                    break;
+                }
+                int base = index * SLOT_WIDTH;
+                if (slots[base] == id) {
+                    return new UserPoint(id, slots[base + 1], slots[base + 2]);
+                }
+                index = (index + 1) & mask;
+            }
+            return UserPoint.empty(id);
+        }
+
+        private void put(long id, long hash, long point, long updateMillis) {
+            long stamp = lock.writeLock();
+            try {
+                if ((size + 1) * 4L > (slots.length / SLOT_WIDTH) * 3L) {
+                    resize();
+                }
+                if (store(slots, used, id, hash, point, updateMillis)) {
+                    size++;
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void forEach(BalanceConsumer consumer) {
+            long stamp = lock.readLock();
+            try {
+                int capacity = slots.length / SLOT_WIDTH;
+                for (int index = 0; index < capacity; index++) {
+                    if (isUsed(used, index)) {
+                        int base = index * SLOT_WIDTH;
+                        consumer.accept(slots[base], slots[base + 1], slots[base + 2]);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void resize() {
+            int capacity = slots.length / SLOT_WIDTH;
+            long[] oldSlots = slots;
+            long[] oldUsed = used;
+            long[] newSlots = new long[capacity * 2 * SLOT_WIDTH];
+            long[] newUsed = new long[Math.max(1, (capacity * 2) >>> 6)];
+            for (int index = 0; index < capacity; index++) {
+                if (isUsed(oldUsed, index)) {
+                    int base = index * SLOT_WIDTH;
+                    long id = oldSlots[base];
+                    store(newSlots, newUsed, id, mix(id), oldSlots[base + 1], oldSlots[base + 2]);
+                }
+            }
+            // 낙관적 읽기가 새 slots 와 이전 used 를 함께 보더라도 validate 에서 걸러지므로 순서는 상관없습니다.
+            slots = newSlots;
+            used = newUsed;
+        }
+
+        /**
+         * @return 새 슬롯을 사용했으면 true, 기존 슬롯을 덮어썼으면 false
+         */
+        private static boolean store(long[] slots, long[] used, long id, long hash, long point, long updateMillis) {
+            int mask = slots.length / SLOT_WIDTH - 1;
+            int index = (int) hash & mask;
+            while (true) {
+                int base = index * SLOT_WIDTH;
+                if (!isUsed(used, index)) {
+                    slots[base] = id;
+                    slots[base + 1] = point;
+                    slots[base + 2] = updateMillis;
+                    used[index >>> 6] |= 1L << index;
+                    return true;
+                }
+                if (slots[base] == id) {
+                    slots[base + 1] = point;
+                    slots[base + 2] = updateMillis;
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        private static boolean isUsed(long[] used, int index) {
+            return (used[index >>> 6] & (1L << index)) != 0;
+        }
+    }
+}
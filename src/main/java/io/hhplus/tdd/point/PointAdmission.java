@@ -0,0 +1,163 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 요청이 유저 락 앞에 쌓이기 전에 받을지 말지를 정합니다.
+ * - 유저마다 token bucket(GCRA)으로 초당 ratePerSecond 건, 한꺼번에 burst 건까지만 받습니다.
+ *   bucket 은 "다음 요청이 제때 도착했다면 도착했을 시각" 하나를 CAS 로 옮기므로 락을 잡지 않습니다.
+ * - 유저마다 처리 중이거나 유저 락을 기다리는 요청은 userQueueDepth 건, 전체는 maxInFlight 건까지만 받습니다.
+ * - 한도를 넘는 요청은 기다리게 하지 않고 바로 PointAdmissionRejectedException 으로 거절합니다.
+ * - 한도는 update 로 실행 중에 바꿀 수 있고, 바꾼 값은 다음 요청부터 적용됩니다.
+ * 처리 중인 요청이 없고 bucket 이 다 채워진 유저는 idleSweepInterval 마다 정리합니다.
+ * 정리와 동시에 같은 유저의 요청이 들어오면 그 요청은 정리된 bucket 에서 token 을 쓰므로, 유저당 한 건 정도 더 받을 수 있습니다.
+ */
+public class PointAdmission {
+
+    public record Limits(int ratePerSecond, int burst, int userQueueDepth, int maxInFlight) {
+    }
+
+    public record Stats(long admittedCount, long rateLimitedCount, long queueFullCount, long overloadedCount,
+                        int inFlight, int userCount) {
+    }
+
+    /**
+     * 받은 요청의 처리가 끝나면 close 해서 자리를 돌려줍니다.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class Bucket {
+        // 이 시각(nanoTime) 이전에는 burst 만큼 요청이 이미 찼음을 뜻합니다.
+        private final AtomicLong theoreticalArrival;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private Bucket(long now) {
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Duration retryAfter;
+    private final LongSupplier nanoClock;
+    private final ScheduledExecutorService sweeper;
+    private final LongAdder admittedCount = new LongAdder();
+    private final LongAdder rateLimitedCount = new LongAdder();
+    private final LongAdder queueFullCount = new LongAdder();
+    private final LongAdder overloadedCount = new LongAdder();
+    private volatile Limits limits;
+
+    PointAdmission(PointProperties.Admission properties) {
+        this(properties, System::nanoTime);
+        long sweepMillis = properties.idleSweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 정리 스레드 없이 주어진 시계로 동작하는 PointAdmission. (테스트용)
+     */
+    PointAdmission(PointProperties.Admission properties, LongSupplier nanoClock) {
+        this.retryAfter = properties.retryAfter();
+        this.nanoClock = nanoClock;
+        update(new Limits(properties.ratePerSecond(), properties.burst(), properties.userQueueDepth(),
+                properties.maxInFlight()));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(PointThreads.factory("point-admission-", false));
+    }
+
+    /**
+     * 한도 안이면 자리를 내주고, 넘으면 바로 거절합니다.
+     */
+    Permit admit(long userId) {
+        Limits current = this.limits;
+        if (inFlight.incrementAndGet() > current.maxInFlight()) {
+            inFlight.decrementAndGet();
+            overloadedCount.increment();
+            throw new PointAdmissionRejectedException("처리 중인 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", retryAfter);
+        }
+        long now = nanoClock.getAsLong();
+        Bucket bucket = buckets.computeIfAbsent(userId, id -> new Bucket(now));
+        if (bucket.inFlight.incrementAndGet() > current.userQueueDepth()) {
+            release(bucket);
+            queueFullCount.increment();
+            throw new PointAdmissionRejectedException("같은 유저의 요청이 너무 많이 밀려 있습니다. 잠시 후 다시 시도해주세요.",
+                    retryAfter);
+        }
+        long waitNanos = takeToken(bucket, current, now);
+        if (waitNanos > 0) {
+            release(bucket);
+            rateLimitedCount.increment();
+            throw new PointAdmissionRejectedException("요청이 너무 잦습니다. 잠시 후 다시 시도해주세요.",
+                    Duration.ofNanos(waitNanos));
+        }
+        admittedCount.increment();
+        return () -> release(bucket);
+    }
+
+    /**
+     * 한도를 바꿉니다. 이미 받은 요청에는 영향을 주지 않습니다.
+     */
+    void update(Limits limits) {
+        if (limits.ratePerSecond() < 1 || limits.burst() < 1 || limits.userQueueDepth() < 1
+                || limits.maxInFlight() < 1) {
+            throw new IllegalArgumentException("요청 한도는 모두 1 이상이어야 합니다.");
+        }
+        this.limits = limits;
+    }
+
+    Limits limits() {
+        return limits;
+    }
+
+    Stats stats() {
+        return new Stats(admittedCount.sum(), rateLimitedCount.sum(), queueFullCount.sum(), overloadedCount.sum(),
+                inFlight.get(), buckets.size());
+    }
+
+    /**
+     * 처리 중인 요청이 없고 bucket 이 다 채워진 유저를 지웁니다.
+     */
+    void sweep() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket ->
+                bucket.inFlight.get() == 0 && bucket.theoreticalArrival.get() - now <= 0);
+    }
+
+    void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * token 하나를 씁니다. 남은 token 이 없으면 쓰지 않고, 다음 token 이 생길 때까지 남은 시간(ns)을 반환합니다.
+     */
+    private static long takeToken(Bucket bucket, Limits limits, long now) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / limits.ratePerSecond();
+        long burstNanos = intervalNanos * limits.burst();
+        while (true) {
+            long arrival = bucket.theoreticalArrival.get();
+            long next = (arrival - now < 0 ? now : arrival) + intervalNanos;
+            long overNanos = next - now - burstNanos;
+            if (overNanos > 0) {
+                return overNanos;
+            }
+            if (bucket.theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private void release(Bucket bucket) {
+        bucket.inFlight.decrementAndGet();
+        inFlight.decrementAndGet();
+    }
+}
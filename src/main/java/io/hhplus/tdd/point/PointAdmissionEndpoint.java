@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/pointadmission 으로 요청 한도와 받은/거절한 요청 수를 조회하고, 한도를 실행 중에 바꿉니다.
+ * 쓰기(POST)에서 빠진 값은 지금 한도를 그대로 둡니다. (예: {"ratePerSecond": 50, "burst": 10})
+ * 인증 없이 한도를 바꿀 수 있으므로 기본 설정에서는 웹으로 노출하지 않습니다.
+ * 노출하려면 management.endpoints.web.exposure.include 에 pointadmission 을 추가하고,
+ * management.server.port / management.server.address 로 actuator 를 내부망 전용 포트에 띄우거나
+ * Spring Security 로 /actuator/pointadmission 의 POST 를 운영자 권한으로 제한해야 합니다.
+ */
+@Component
+@Endpoint(id = "pointadmission")
+public class PointAdmissionEndpoint {
+
+    public record Admission(PointAdmission.Limits limits, PointAdmission.Stats stats) {
+    }
+
+    private final PointService pointService;
+
+    public PointAdmissionEndpoint(PointService pointService) {
+        this.pointService = pointService;
+    }
+
+    @ReadOperation
+    public Admission admission() {
+        PointAdmission.Limits limits = pointService.getAdmissionLimits();
+        return limits == null ? null : new Admission(limits, pointService.getAdmissionStats());
+    }
+
+    @WriteOperation
+    public Admission update(@Nullable Integer ratePerSecond, @Nullable Integer burst,
+                            @Nullable Integer userQueueDepth, @Nullable Integer maxInFlight) {
+        PointAdmission.Limits current = pointService.getAdmissionLimits();
+        if (current == null) {
+            return null;
+        }
+        pointService.updateAdmissionLimits(new PointAdmission.Limits(
+                ratePerSecond == null ? current.ratePerSecond() : ratePerSecond,
+                burst == null ? current.burst() : burst,
+                userQueueDepth == null ? current.userQueueDepth() : userQueueDepth,
+                maxInFlight == null ? current.maxInFlight() : maxInFlight));
+        return admission();
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+
+/**
+ * 유저별 요청 속도나 동시 처리 수 한도를 넘어 요청을 받지 않을 때 발생합니다.
+ * retryAfter 는 다시 시도해도 될 때까지 남은 시간입니다.
+ */
+public class PointAdmissionRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PointAdmissionRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/point")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PointBatchController {
+
+    private final PointBatchService pointBatchService;
+
+    public PointBatchController(PointBatchService pointBatchService) {
+        this.pointBatchService = pointBatchService;
+    }
+
+    /**
+     * 여러 유저의 포인트를 한 번에 충전/사용합니다.
+     * 요청 순서대로 건별 처리 결과(성공 시 잔액, 실패 시 사유)를 반환합니다.
+     */
+    @PostMapping("batch")
+    public List<PointBatchItemResult> batch(
+            @RequestBody List<PointCommand> commands
+    ) {
+        return pointBatchService.execute(commands);
+    }
+}
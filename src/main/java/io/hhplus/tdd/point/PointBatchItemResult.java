@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorResponse;
+
+/**
+ * 일괄 충전/사용 요청 중 한 건의 처리 결과
+ * - 성공하면 userPoint 에 처리 후 잔액이, 실패하면 error 에 실패 사유가 담깁니다.
+ */
+public record PointBatchItemResult(
+        int index,
+        long userId,
+        TransactionType type,
+        long amount,
+        UserPoint userPoint,
+        ErrorResponse error
+) {
+
+    static PointBatchItemResult success(int index, PointCommand command, UserPoint userPoint) {
+        return new PointBatchItemResult(index, command.userId(), command.type(), command.amount(), userPoint, null);
+    }
+
+    static PointBatchItemResult failure(int index, PointCommand command, ErrorResponse error) {
+        return new PointBatchItemResult(index, command.userId(), command.type(), command.amount(), null, error);
+    }
+}
@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 여러 유저의 충전/사용 요청을 한 번에 처리합니다.
+ * - 서로 다른 유저의 요청은 최대 parallelism 개까지 병렬로 처리합니다.
+ * - 같은 유저의 요청은 요청 목록의 순서대로 하나씩 처리합니다.
+ * - 한 건이 실패해도 나머지 요청은 계속 처리하고, 요청 순서대로 건별 결과를 반환합니다.
+ * - 요청 한도(PointAdmission)는 건마다 그 유저 기준으로 적용하고, 넘은 건은 429 건별 결과로 반환합니다.
+ */
+@Service
+public class PointBatchService {
+
+    private final PointService pointService;
+    private final int maxSize;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    public PointBatchService(PointService pointService, PointProperties properties) {
+        this.pointService = pointService;
+        this.maxSize = properties.batch().maxSize();
+        this.parallelism = Math.max(1, properties.batch().parallelism());
+        this.executor = properties.virtualThreads()
+                ? Executors.newThreadPerTaskExecutor(PointThreads.factory("point-batch-", true))
+                : Executors.newCachedThreadPool(PointThreads.factory("point-batch-", false));
+    }
+
+    public List<PointBatchItemResult> execute(List<PointCommand> commands) {
+        if (commands.isEmpty()) {
+            throw new IllegalArgumentException("요청 목록이 비어 있습니다.");
+        }
+        if (commands.size() > maxSize) {
+            throw new IllegalArgumentException(String.format("한 번에 최대 %d건까지 요청할 수 있습니다.", maxSize));
+        }
+
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            indexesByUser.computeIfAbsent(commands.get(i).userId(), k -> new ArrayList<>()).add(i);
+        }
+
+        PointBatchItemResult[] results = new PointBatchItemResult[commands.size()];
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<?>> futures = new ArrayList<>(indexesByUser.size());
+        for (List<Integer> indexes : indexesByUser.values()) {
+            permits.acquireUninterruptibly();
+            futures.add(executor.submit(() -> {
+                try {
+                    for (int index : indexes) {
+                        results[index] = executeOne(index, commands.get(index));
+                    }
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        awaitAll(futures);
+        return Arrays.asList(results);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private PointBatchItemResult executeOne(int index, PointCommand command) {
+        try (PointAdmission.Permit permit = pointService.admit(command.userId())) {
+            UserPoint userPoint = command.type() == TransactionType.CHARGE
+                    ? pointService.chargePoint(command.userId(), command.amount())
+                    : pointService.usePoint(command.userId(), command.amount());
+            return PointBatchItemResult.success(index, command, userPoint);
+        } catch (IllegalArgumentException e) {
+            return PointBatchItemResult.failure(index, command, new ErrorResponse("400", e.getMessage()));
+        } catch (PointAdmissionRejectedException e) {
+            return PointBatchItemResult.failure(index, command, new ErrorResponse("429", e.getMessage()));
+        } catch (PointHistoryBackpressureException | PointLockTimeoutException e) {
+            return PointBatchItemResult.failure(index, command, new ErrorResponse("503", e.getMessage()));
+        } catch (RuntimeException e) {
+            return PointBatchItemResult.failure(index, command, new ErrorResponse("500", "에러가 발생했습니다."));
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("일괄 처리가 중단되었습니다.", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("일괄 처리 중 오류가 발생했습니다.", e.getCause());
+            }
+        }
+    }
+}
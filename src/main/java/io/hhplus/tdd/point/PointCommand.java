@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 충전/사용 요청 한 건
+ */
+public record PointCommand(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+
+    /**
+     * 잔액에 반영될 변화량 (충전은 +, 사용은 -)
+     */
+    public long delta() {
+        return type == TransactionType.CHARGE ? amount : -amount;
+    }
+}
@@ -1,56 +1,177 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/point")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON = "application/x-ndjson";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final PointService pointService;
+    private final PointProperties.History historyProperties;
+    private final PointProperties.Deadline deadlineProperties;
+    private final ObjectMapper objectMapper;
+
+    public PointController(PointService pointService, PointProperties properties, ObjectMapper objectMapper) {
+        this.pointService = pointService;
+        this.historyProperties = properties.history();
+        this.deadlineProperties = properties.deadline();
+        this.objectMapper = objectMapper;
+    }
+
     /**
-     * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
+     * 특정 유저의 포인트를 조회합니다.
      */
     @GetMapping("{id}")
     public UserPoint point(
             @PathVariable long id
     ) {
-        return new UserPoint(0, 0, 0);
+        return pointService.getUserPoint(id);
     }
 
     /**
-     * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * 특정 유저의 at(updateMillis) 시점 포인트를 조회합니다.
+     * at 이전의 가장 가까운 잔액 체크포인트부터 그 뒤의 내역만 다시 더해 계산합니다.
      */
-    @GetMapping("{id}/histories")
-    public List<PointHistory> history(
+    @GetMapping("{id}/balance")
+    public UserPoint balance(
+            @PathVariable long id,
+            @RequestParam long at
+    ) {
+        return pointService.getUserPointAt(id, at);
+    }
+
+    /**
+     * 특정 유저의 포인트 합계와 일별/시간별 충전/사용 구간을 조회합니다.
+     * 커밋할 때마다 갱신해 둔 집계를 반환하므로 내역 수와 관계없이 일정한 시간에 응답합니다.
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
             @PathVariable long id
     ) {
-        return List.of();
+        return pointService.getPointSummary(id);
     }
 
     /**
-     * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * 특정 유저의 포인트 충전/이용 내역을 조회합니다.
+     * - after 이후의 내역을 limit 건까지 반환하고, 다음 페이지가 있으면 X-Next-Cursor 헤더로 다음 after 값을 알려줍니다.
+     * - type, from, to(updateMillis, to 는 미포함) 로 거래 종류와 시간 범위를 거를 수 있습니다.
+     */
+    @GetMapping("{id}/histories")
+    public ResponseEntity<List<PointHistory>> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        int pageSize = limit == null ? historyProperties.defaultLimit() : Math.min(limit, historyProperties.maxLimit());
+        PointHistoryPage page = pointService.getPointHistories(id, new PointHistoryQuery(
+                after == null ? 0 : after, pageSize, type, from, to));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.histories());
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 한 줄에 한 건씩(NDJSON) 스트리밍합니다.
+     * 전체 목록을 만들지 않고 streamChunkSize 건씩 읽어 바로 씁니다.
+     */
+    @GetMapping(value = "{id}/histories/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> historyStream(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        PointHistoryQuery query = new PointHistoryQuery(
+                after == null ? 0 : after, historyProperties.streamChunkSize(), type, from, to);
+        StreamingResponseBody body = out ->
+                pointService.streamPointHistories(id, query, chunk -> writeNdjson(out, chunk));
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    /**
+     * 특정 유저의 포인트를 충전합니다.
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청은 다시 실행하지 않고 처음 결과를 반환합니다.
+     * X-Request-Timeout 헤더(ms, 없으면 설정한 기본값) 안에 처리를 시작하지 못하면 충전하지 않고 504 를 반환합니다.
      */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) Long timeoutMillis
     ) {
-        return new UserPoint(0, 0, 0);
+        long deadlineNanos = PointDeadlines.after(deadlineProperties.timeout(timeoutMillis));
+        return pointService.chargePoint(id, amount, idempotencyKey, deadlineNanos);
     }
 
     /**
-     * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * 특정 유저의 포인트를 사용합니다.
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청은 다시 실행하지 않고 처음 결과를 반환합니다.
+     * X-Request-Timeout 헤더(ms, 없으면 설정한 기본값) 안에 처리를 시작하지 못하면 사용하지 않고 504 를 반환합니다.
      */
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) Long timeoutMillis
     ) {
-        return new UserPoint(0, 0, 0);
+        long deadlineNanos = PointDeadlines.after(deadlineProperties.timeout(timeoutMillis));
+        return pointService.usePoint(id, amount, idempotencyKey, deadlineNanos);
+    }
+
+    /**
+     * fromUserId 의 포인트를 toUserId 로 이체합니다. 두 유저의 잔액과 내역이 함께 커밋되고, 한쪽만 반영되는 일은 없습니다.
+     * 두 유저 모두 요청 한도(PointService.admit) 안이어야 하고, X-Request-Timeout 은 충전/사용과 같이 적용됩니다.
+     */
+    @PostMapping("transfer")
+    public PointTransferResult transfer(
+            @RequestBody PointTransferCommand command,
+            @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) Long timeoutMillis
+    ) {
+        long deadlineNanos = PointDeadlines.after(deadlineProperties.timeout(timeoutMillis));
+        try (PointAdmission.Permit from = pointService.admit(command.fromUserId());
+             PointAdmission.Permit to = pointService.admit(command.toUserId())) {
+            return pointService.transferPoint(command.fromUserId(), command.toUserId(), command.amount(),
+                    deadlineNanos);
+        }
+    }
+
+    private void writeNdjson(OutputStream out, List<PointHistory> chunk) {
+        try {
+            for (PointHistory pointHistory : chunk) {
+                out.write(objectMapper.writeValueAsBytes(pointHistory));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 요청의 처리 기한이 지나 테이블을 건드리지 않고 버렸을 때 발생합니다.
+ */
+public class PointDeadlineExceededException extends RuntimeException {
+
+    public PointDeadlineExceededException() {
+        super("요청 처리 기한이 지났습니다. 다시 시도해주세요.");
+    }
+}
@@ -0,0 +1,75 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 충전/사용 요청의 처리 기한(System.nanoTime 기준)을 확인하고, 기한이 지나 버린 요청 수를 집계합니다.
+ * - 기한은 요청을 받은 시각 + timeout 이고, NONE 이면 기한이 없습니다.
+ * - PointService 에 들어올 때 한 번, 유저 대기열의 맨 앞에 와서 테이블을 읽기 직전에 한 번 더 확인합니다.
+ *   (유저 락을 얻은 뒤, group commit/shard 에서는 배치로 꺼낸 뒤)
+ *   유저 락은 기한까지만 기다리고, 기다리다 기한이 지나면 대기열에서 지난 요청(queue)으로 셉니다.
+ * - 들어오자마자 이미 지난 요청(arrival)과 대기열에서 기다리다 지난 요청(queue)을 나눠 세고,
+ *   기한을 넘긴 시간의 최댓값을 남겨 timeout 을 정하는 데 쓸 수 있게 합니다.
+ */
+public class PointDeadlines {
+
+    public static final long NONE = Long.MIN_VALUE;
+
+    public record Stats(long expiredOnArrivalCount, long expiredInQueueCount, long maxOverdueNanos) {
+    }
+
+    private final LongAdder expiredOnArrivalCount = new LongAdder();
+    private final LongAdder expiredInQueueCount = new LongAdder();
+    private final LongAccumulator maxOverdueNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 지금부터 timeout 뒤의 기한. timeout 이 0 이하이면 기한을 두지 않습니다.
+     */
+    public static long after(Duration timeout) {
+        return timeout.isNegative() || timeout.isZero() ? NONE : System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * PointService 에 들어온 요청의 기한이 이미 지났으면 PointDeadlineExceededException 을 던집니다.
+     */
+    void checkArrival(long deadlineNanos) {
+        if (expired(deadlineNanos, expiredOnArrivalCount)) {
+            throw new PointDeadlineExceededException();
+        }
+    }
+
+    /**
+     * 대기열 맨 앞에 온 요청의 기한이 지났으면 PointDeadlineExceededException 을 던집니다.
+     */
+    void checkQueued(long deadlineNanos) {
+        if (expiredInQueue(deadlineNanos)) {
+            throw new PointDeadlineExceededException();
+        }
+    }
+
+    /**
+     * 대기열 맨 앞에 온 요청의 기한이 지났는지 확인하고, 지났으면 집계합니다.
+     */
+    boolean expiredInQueue(long deadlineNanos) {
+        return expired(deadlineNanos, expiredInQueueCount);
+    }
+
+    Stats stats() {
+        return new Stats(expiredOnArrivalCount.sum(), expiredInQueueCount.sum(), maxOverdueNanos.get());
+    }
+
+    private boolean expired(long deadlineNanos, LongAdder count) {
+        if (deadlineNanos == NONE) {
+            return false;
+        }
+        long overdue = System.nanoTime() - deadlineNanos;
+        if (overdue < 0) {
+            return false;
+        }
+        count.increment();
+        maxOverdueNanos.accumulate(overdue);
+        return true;
+    }
+}
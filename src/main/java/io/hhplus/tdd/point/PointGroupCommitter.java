@@ -0,0 +1,186 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 유저에 대한 충전/사용 요청을 모아 한 번에 커밋합니다. (group commit)
+ * - 유저별 대기열에 요청을 쌓고, 첫 요청 이후 maxLinger 가 지나거나 batchSize 만큼 모이면 배치로 커밋합니다.
+ * - 한 유저의 배치는 한 번에 하나씩 도착 순서대로 커밋되고, 커밋 중에 들어온 요청은 다음 배치로 이어서 처리됩니다.
+ * - 커밋 중 예외(Error 포함)가 나면 해당 배치의 요청만 그 예외로 실패시키고 다음 배치를 이어서 커밋합니다.
+ *   대기열이 빌 때까지 꺼내므로 유저 항목이 COMMITTING 상태로 남지 않습니다.
+ * - 종료 후처럼 linger 예약이나 커밋 실행이 거절되면 유저 항목을 지우고 쌓인 요청을 그 예외로 실패시킵니다.
+ *   SCHEDULED 상태로 남은 항목 뒤에 다음 요청이 영원히 기다리지 않게 합니다.
+ */
+class PointGroupCommitter {
+
+    /**
+     * 한 유저의 배치를 실제로 커밋하는 로직
+     * 각 요청의 result 를 완료(또는 예외 완료)시켜야 합니다.
+     */
+    interface BatchCommitter {
+        void commit(long userId, List<PendingCommand> batch);
+    }
+
+    /**
+     * deadlineNanos 는 요청의 처리 기한입니다. (PointDeadlines.NONE 이면 기한 없음)
+     */
+    record PendingCommand(PointCommand command, long deadlineNanos, CompletableFuture<UserPoint> result) {
+    }
+
+    private enum State {SCHEDULED, COMMITTING}
+
+    private static final class UserQueue {
+        private final Queue<PendingCommand> pending = new ArrayDeque<>();
+        private State state = State.SCHEDULED;
+    }
+
+    private final int batchSize;
+    private final long maxLingerNanos;
+    private final BatchCommitter committer;
+    private final ConcurrentHashMap<Long, UserQueue> queues = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService lingerScheduler;
+    private final ExecutorService commitExecutor;
+
+    PointGroupCommitter(PointProperties.GroupCommit properties, boolean virtualThreads, BatchCommitter committer) {
+        this.batchSize = Math.max(1, properties.batchSize());
+        this.maxLingerNanos = properties.maxLinger().toNanos();
+        this.committer = committer;
+        this.lingerScheduler = Executors.newSingleThreadScheduledExecutor(
+                PointThreads.factory("point-group-commit-linger-", false));
+        this.commitExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(PointThreads.factory("point-group-commit-", true))
+                : Executors.newCachedThreadPool(PointThreads.factory("point-group-commit-", false));
+    }
+
+    /**
+     * 요청을 대기열에 넣고 해당 요청이 포함된 배치가 커밋될 때까지 기다립니다.
+     */
+    UserPoint submit(PointCommand command, long deadlineNanos) {
+        PendingCommand pending = new PendingCommand(command, deadlineNanos, new CompletableFuture<>());
+        boolean[] trigger = new boolean[2]; // [0] : linger 예약, [1] : 즉시 커밋
+        queues.compute(command.userId(), (id, queue) -> {
+            if (queue == null) {
+                queue = new UserQueue();
+                trigger[0] = true;
+            }
+            queue.pending.add(pending);
+            trigger[1] = queue.state == State.SCHEDULED && queue.pending.size() >= batchSize;
+            return queue;
+        });
+
+        try {
+            if (trigger[1]) {
+                commitExecutor.execute(() -> startCommit(command.userId()));
+            } else if (trigger[0]) {
+                lingerScheduler.schedule(() -> executeCommit(command.userId()), maxLingerNanos, TimeUnit.NANOSECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            abandon(command.userId(), e);
+        }
+        return await(pending.result());
+    }
+
+    void shutdown() {
+        lingerScheduler.shutdown();
+        awaitTermination(lingerScheduler);
+        commitExecutor.shutdown();
+        awaitTermination(commitExecutor);
+    }
+
+    private void executeCommit(long userId) {
+        try {
+            commitExecutor.execute(() -> startCommit(userId));
+        } catch (RejectedExecutionException e) {
+            abandon(userId, e);
+        }
+    }
+
+    /**
+     * 아직 커밋이 시작되지 않은(SCHEDULED) 유저 항목을 지우고, 쌓인 요청을 cause 로 실패시킵니다.
+     * 커밋 중인 항목은 커밋 스레드가 대기열을 끝까지 꺼내므로 건드리지 않습니다.
+     */
+    private void abandon(long userId, RejectedExecutionException cause) {
+        List<PendingCommand> abandoned = new ArrayList<>();
+        queues.computeIfPresent(userId, (id, queue) -> {
+            if (queue.state != State.SCHEDULED) {
+                return queue;
+            }
+            abandoned.addAll(queue.pending);
+            return null;
+        });
+        abandoned.forEach(pending -> pending.result().completeExceptionally(cause));
+    }
+
+    private void startCommit(long userId) {
+        boolean[] started = new boolean[1];
+        queues.computeIfPresent(userId, (id, queue) -> {
+            if (queue.state == State.SCHEDULED) {
+                queue.state = State.COMMITTING;
+                started[0] = true;
+            }
+            return queue;
+        });
+        if (!started[0]) {
+            return;
+        }
+
+        List<PendingCommand> batch;
+        while (!(batch = takeBatch(userId)).isEmpty()) {
+            try {
+                committer.commit(userId, batch);
+            } catch (Throwable e) {
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+        }
+    }
+
+    /**
+     * 대기열에서 최대 batchSize 만큼 꺼냅니다. 대기열이 비어 있으면 유저 항목을 제거합니다.
+     */
+    private List<PendingCommand> takeBatch(long userId) {
+        List<PendingCommand> batch = new ArrayList<>(batchSize);
+        queues.computeIfPresent(userId, (id, queue) -> {
+            while (batch.size() < batchSize && !queue.pending.isEmpty()) {
+                batch.add(queue.pending.poll());
+            }
+            return batch.isEmpty() ? null : queue;
+        });
+        return batch;
+    }
+
+    private static UserPoint await(CompletableFuture<UserPoint> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 내역 기록 대기열이 가득 차 더 이상 충전/사용 요청을 받을 수 없을 때 발생합니다.
+ */
+public class PointHistoryBackpressureException extends RuntimeException {
+
+    public PointHistoryBackpressureException() {
+        super("포인트 내역 처리 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 일괄 내보내기 작업의 상태
+ * - cutoffHistoryId : 내보내기를 시작할 때까지 발급된 가장 큰 내역 id. 파일에는 이 id 이하의 내역만 들어 있습니다.
+ * - rowCount, fileBytes : 파일에 쓴 내역 수와 파일 크기 (COMPLETED 일 때만)
+ * - completedMillis : 끝난 시각 (RUNNING 이면 0)
+ */
+public record PointHistoryExport(
+        String exportId,
+        Status status,
+        long cutoffHistoryId,
+        long rowCount,
+        long fileBytes,
+        long startedMillis,
+        long completedMillis
+) {
+
+    public enum Status {RUNNING, COMPLETED, FAILED}
+
+    PointHistoryExport completed(long rowCount, long fileBytes, long completedMillis) {
+        return new PointHistoryExport(exportId, Status.COMPLETED, cutoffHistoryId, rowCount, fileBytes, startedMillis,
+                completedMillis);
+    }
+
+    PointHistoryExport failed(long completedMillis) {
+        return new PointHistoryExport(exportId, Status.FAILED, cutoffHistoryId, 0, 0, startedMillis, completedMillis);
+    }
+}
@@ -0,0 +1,89 @@
+package io.hhplus.tdd.point;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@RestController
+@RequestMapping("/point/histories/exports")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PointHistoryExportController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final PointHistoryExportService exportService;
+
+    public PointHistoryExportController(PointHistoryExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * 모든 유저의 포인트 내역 내보내기를 시작합니다. 진행 중인 내보내기가 있으면 그 작업을 반환합니다.
+     */
+    @PostMapping
+    public ResponseEntity<PointHistoryExport> start() {
+        return ResponseEntity.accepted().body(exportService.start());
+    }
+
+    /**
+     * 내보내기 상태를 조회합니다.
+     */
+    @GetMapping("{exportId}")
+    public PointHistoryExport export(
+            @PathVariable String exportId
+    ) {
+        return exportService.get(exportId);
+    }
+
+    /**
+     * 완료된 내보내기 파일을 내려받습니다.
+     * Tomcat 이 sendfile 을 지원하면 파일 내용을 Tomcat 에 넘겨 FileChannel.transferTo 로 소켓에 바로 보내고(zero-copy),
+     * 아니면 응답 스트림으로 transferTo 합니다.
+     */
+    @GetMapping("{exportId}/file")
+    public void file(
+            @PathVariable String exportId,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Path file = exportService.file(exportId);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setContentLengthLong(size);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString());
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+            response.flushBuffer();
+        }
+    }
+}
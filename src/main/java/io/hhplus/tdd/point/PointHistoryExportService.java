@@ -0,0 +1,187 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryExportFile;
+import io.hhplus.tdd.database.PointHistoryStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 모든 유저의 포인트 내역을 PointHistoryExportFile 형식의 파일 하나로 내보냅니다.
+ * - 내보내기는 전용 스레드 하나에서 한 번에 하나씩 실행하고, 시작하면 바로 RUNNING 상태를 반환합니다.
+ * - 유저마다 내역을 chunkSize 건씩 cursor 로 읽어 바로 파일 버퍼에 쓰므로, 전체 내역을 메모리에 올리지 않습니다.
+ *   읽는 동안 잠깐 유저 내역 목록만 잡고 유저 락은 잡지 않으므로, 충전/사용은 내보내기를 기다리지 않습니다.
+ * - 일관성 : 시작할 때 발급된 가장 큰 내역 id 를 cutoffHistoryId 로 정하고, 이 id 이하의 내역만 씁니다.
+ *   시작하기 전에 응답한 충전/사용의 내역은 모두 들어 있고, 시작한 뒤에 커밋된 내역은 들어 있지 않습니다.
+ *   시작하는 순간 커밋 중이던 요청의 내역은 id 가 cutoffHistoryId 이하이더라도 빠질 수 있습니다.
+ * - 파일 안에서 내역은 유저별로 모여 있고, 유저 안에서는 id 순서입니다. (유저 순서는 정해져 있지 않음)
+ * - 완료된 내보내기는 파일과 함께, 실패한 내보내기는 최근 retainedFiles 건까지만 상태를 남깁니다.
+ */
+@Service
+public class PointHistoryExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryExportService.class);
+
+    private static final String PREFIX = "history-export-";
+    private static final String SUFFIX = ".bin";
+
+    private final PointService pointService;
+    private final PointHistoryStore pointHistoryTable;
+    private final Path directory;
+    private final int chunkSize;
+    private final int retainedFiles;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, PointHistoryExport> exports = new ConcurrentHashMap<>();
+    private PointHistoryExport running;
+
+    public PointHistoryExportService(PointService pointService, PointHistoryStore pointHistoryTable,
+                                     PointProperties properties) {
+        this.pointService = pointService;
+        this.pointHistoryTable = pointHistoryTable;
+        this.directory = Path.of(properties.export().directory());
+        this.chunkSize = Math.max(1, properties.export().chunkSize());
+        this.retainedFiles = Math.max(1, properties.export().retainedFiles());
+        this.executor = Executors.newSingleThreadExecutor(PointThreads.factory("point-history-export-", false));
+    }
+
+    /**
+     * 내보내기를 시작합니다. 이미 진행 중인 내보내기가 있으면 새로 시작하지 않고 그 작업을 반환합니다.
+     */
+    public synchronized PointHistoryExport start() {
+        if (running != null) {
+            return running;
+        }
+        long cutoffHistoryId = pointHistoryTable.lastId();
+        long startedMillis = System.currentTimeMillis();
+        PointHistoryExport export = new PointHistoryExport(startedMillis + "-" + cutoffHistoryId,
+                PointHistoryExport.Status.RUNNING, cutoffHistoryId, 0, 0, startedMillis, 0);
+        exports.put(export.exportId(), export);
+        running = export;
+        executor.execute(() -> run(export));
+        return export;
+    }
+
+    public PointHistoryExport get(String exportId) {
+        PointHistoryExport export = exports.get(exportId);
+        if (export == null) {
+            throw new IllegalArgumentException("내보내기를 찾을 수 없습니다: " + exportId);
+        }
+        return export;
+    }
+
+    /**
+     * 완료된 내보내기의 파일
+     */
+    public Path file(String exportId) {
+        if (get(exportId).status() != PointHistoryExport.Status.COMPLETED) {
+            throw new IllegalArgumentException("아직 완료되지 않은 내보내기입니다: " + exportId);
+        }
+        return fileOf(exportId);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(PointHistoryExport export) {
+        Path target = fileOf(export.exportId());
+        PointHistoryExport finished = null;
+        try (PointHistoryExportFile.Writer writer = PointHistoryExportFile.create(target, export.cutoffHistoryId())) {
+            for (long userId : pointHistoryTable.userIds()) {
+                write(userId, export.cutoffHistoryId(), writer);
+            }
+            writer.commit();
+            finished = export.completed(writer.rowCount(), Files.size(target), System.currentTimeMillis());
+        } catch (IOException | RuntimeException e) {
+            log.error("포인트 내역 내보내기에 실패했습니다: {}", export.exportId(), e);
+        } finally {
+            finish(finished != null ? finished : export.failed(System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * 끝난 상태를 남기면서 running 을 비웁니다. 끝난 상태를 본 뒤 start 하면 새 내보내기가 시작됩니다.
+     */
+    private synchronized void finish(PointHistoryExport finished) {
+        exports.put(finished.exportId(), finished);
+        running = null;
+        if (finished.status() != PointHistoryExport.Status.COMPLETED) {
+            deleteExpiredFailures();
+            return;
+        }
+        try {
+            deleteExpiredFiles();
+        } catch (IOException e) {
+            log.warn("이전 포인트 내역 내보내기 파일을 지우지 못했습니다.", e);
+        }
+    }
+
+    /**
+     * 유저의 내역을 chunkSize 건씩 읽어 cutoffHistoryId 를 넘기 전까지 씁니다.
+     * write-behind 로 아직 insert 되지 않은 내역도 PointService 조회에 합쳐져 있으므로 함께 씁니다.
+     */
+    private void write(long userId, long cutoffHistoryId, PointHistoryExportFile.Writer writer) {
+        long cursor = 0;
+        while (true) {
+            PointHistoryPage page = pointService.getPointHistories(userId,
+                    new PointHistoryQuery(cursor, chunkSize, null, null, null));
+            for (PointHistory history : page.histories()) {
+                if (history.id() > cutoffHistoryId) {
+                    return;
+                }
+                writer.history(history);
+            }
+            if (!page.hasNext()) {
+                return;
+            }
+            cursor = page.nextCursor();
+        }
+    }
+
+    /**
+     * retainedFiles 개를 넘는 오래된 내보내기 파일을 지웁니다. 파일 이름이 시작 시각 순서입니다.
+     */
+    private void deleteExpiredFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        for (Path file : files.subList(0, Math.max(0, files.size() - retainedFiles))) {
+            Files.deleteIfExists(file);
+            String name = file.getFileName().toString();
+            exports.remove(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        }
+    }
+
+    /**
+     * 파일이 없어 deleteExpiredFiles 로 지워지지 않는 실패한 내보내기를, 시작 시각 순서로 retainedFiles 건만 남기고 지웁니다.
+     */
+    private void deleteExpiredFailures() {
+        List<PointHistoryExport> failures = exports.values().stream()
+                .filter(export -> export.status() == PointHistoryExport.Status.FAILED)
+                .sorted(Comparator.comparingLong(PointHistoryExport::startedMillis)
+                        .thenComparing(PointHistoryExport::exportId))
+                .toList();
+        for (PointHistoryExport export : failures.subList(0, Math.max(0, failures.size() - retainedFiles))) {
+            exports.remove(export.exportId());
+        }
+    }
+
+    private Path fileOf(String exportId) {
+        return directory.resolve(PREFIX + exportId + SUFFIX);
+    }
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * cursor 기반 포인트 내역 페이지
+ * - hasNext 이면 nextCursor() 를 다음 조회의 after 로 사용합니다.
+ */
+public record PointHistoryPage(
+        List<PointHistory> histories,
+        boolean hasNext
+) {
+
+    public Long nextCursor() {
+        return hasNext ? histories.get(histories.size() - 1).id() : null;
+    }
+}
@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point;
+
+import java.util.function.Predicate;
+
+/**
+ * 포인트 내역 조회 조건
+ * - afterId : 이 id 이후의 내역부터 조회 (cursor, 0 이면 처음부터)
+ * - limit : 최대 조회 건수
+ * - type : 거래 종류 (null 이면 전체)
+ * - fromMillis, toMillis : updateMillis 범위 [fromMillis, toMillis) (null 이면 제한 없음)
+ */
+public record PointHistoryQuery(
+        long afterId,
+        int limit,
+        TransactionType type,
+        Long fromMillis,
+        Long toMillis
+) implements Predicate<PointHistory> {
+
+    public PointHistoryQuery {
+        if (afterId < 0) {
+            throw new IllegalArgumentException("cursor 는 0 이상이어야 합니다.");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("조회 건수는 0보다 커야 합니다.");
+        }
+    }
+
+    public static PointHistoryQuery firstPage(int limit) {
+        return new PointHistoryQuery(0, limit, null, null, null);
+    }
+
+    /**
+     * 같은 조건으로 afterId 이후의 다음 페이지를 조회합니다.
+     */
+    public PointHistoryQuery after(long afterId) {
+        return new PointHistoryQuery(afterId, limit, type, fromMillis, toMillis);
+    }
+
+    public PointHistoryQuery withLimit(int limit) {
+        return new PointHistoryQuery(afterId, limit, type, fromMillis, toMillis);
+    }
+
+    @Override
+    public boolean test(PointHistory pointHistory) {
+        return (type == null || pointHistory.type() == type)
+                && (fromMillis == null || pointHistory.updateMillis() >= fromMillis)
+                && (toMillis == null || pointHistory.updateMillis() < toMillis);
+    }
+}
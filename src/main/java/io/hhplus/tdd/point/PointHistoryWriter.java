@@ -0,0 +1,232 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 내역을 비동기로 기록합니다. (write-behind)
+ * - 잔액을 커밋한 뒤 내역은 대기열에만 넣고 바로 응답하며, 백그라운드 스레드가 모아서 한 번에 insert 합니다.
+ * - 대기열 자리는 잔액을 커밋하기 전에 reserve 로 미리 확보합니다.
+ *   대기열이 가득 차 offerTimeout 안에 자리를 얻지 못하면 커밋하지 않고 PointHistoryBackpressureException 을 던집니다.
+ * - 아직 insert 되지 않은 내역도 조회 결과에 합쳐 보여줍니다. (read-your-writes)
+ * - insert 가 실패하면 WAL 처럼 그 자리에서 멈춥니다. (fail-stop)
+ *   일부만 들어갔을 수 있는 배치를 다시 넣으면 순서가 어긋나거나 중복되므로 재시도하지 않습니다.
+ *   기록하지 못한 내역은 잔액이 이미 커밋된 것이므로 버리지 않고 대기 목록에 남겨 계속 조회되게 하고,
+ *   이후의 reserve 는 대기열 자리를 기다리지 않고 바로 IllegalStateException 으로 실패합니다.
+ */
+class PointHistoryWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryWriter.class);
+
+    private final PointHistoryStore pointHistoryTable;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final BlockingQueue<PointHistory> queue;
+    private final Semaphore slots;
+    private final ConcurrentHashMap<Long, ArrayDeque<PointHistory>> pendingByUser = new ConcurrentHashMap<>();
+    private final Thread drainer;
+    private final PointMetrics metrics;
+    private volatile boolean running = true;
+    private volatile Throwable failure;
+
+    PointHistoryWriter(PointHistoryStore pointHistoryTable, PointProperties.HistoryWriteBehind properties,
+                       boolean virtualThreads, PointMetrics metrics) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.metrics = metrics;
+        this.batchSize = Math.max(1, properties.batchSize());
+        this.offerTimeoutNanos = properties.offerTimeout().toNanos();
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.slots = new Semaphore(properties.queueCapacity());
+        this.drainer = PointThreads.factory("point-history-writer-", virtualThreads).newThread(this::drainLoop);
+        this.drainer.start();
+    }
+
+    /**
+     * 내역 한 건을 넣을 대기열 자리를 확보합니다.
+     * 확보한 자리는 append 로 사용하거나 release 로 돌려주어야 합니다.
+     */
+    void reserve() {
+        if (failure != null) {
+            throw stopped();
+        }
+        boolean acquired;
+        try {
+            acquired = running && slots.tryAcquire(offerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new PointHistoryBackpressureException();
+        }
+    }
+
+    void release() {
+        slots.release();
+    }
+
+    /**
+     * reserve 로 확보한 자리에 내역을 넣습니다. 같은 유저의 내역은 유저 락 안에서 호출해야 순서가 유지됩니다.
+     */
+    PointHistory append(PointCommand command, long updateMillis) {
+        return append(pointHistoryTable.allocate(command.userId(), command.amount(), command.type(), updateMillis));
+    }
+
+    /**
+     * allocate 로 id 를 발급한 내역을 reserve 로 확보한 자리에 넣습니다.
+     */
+    PointHistory append(PointHistory history) {
+        pendingByUser.compute(history.userId(), (id, pending) -> {
+            if (pending == null) {
+                pending = new ArrayDeque<>();
+            }
+            pending.add(history);
+            return pending;
+        });
+        queue.add(history);
+        return history;
+    }
+
+    /**
+     * insert 된 내역에 아직 대기 중인 내역을 합쳐 반환합니다.
+     */
+    List<PointHistory> selectAllByUserId(long userId) {
+        // 대기 중인 내역은 insert 된 뒤에야 대기 목록에서 빠지므로, 대기 목록을 먼저 읽어야 누락이 없습니다.
+        List<PointHistory> pending = pendingOf(userId);
+        List<PointHistory> flushed = pointHistoryTable.selectAllByUserId(userId);
+        if (pending.isEmpty()) {
+            return flushed;
+        }
+        long lastFlushedId = flushed.isEmpty() ? 0 : flushed.get(flushed.size() - 1).id();
+        List<PointHistory> merged = new ArrayList<>(flushed.size() + pending.size());
+        merged.addAll(flushed);
+        for (PointHistory history : pending) {
+            if (history.id() > lastFlushedId) {
+                merged.add(history);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * insert 된 내역과 대기 중인 내역을 합쳐 query 조건에 맞는 내역을 id 순서대로 최대 limit 건 반환합니다.
+     */
+    List<PointHistory> selectByUserId(long userId, PointHistoryQuery query) {
+        List<PointHistory> pending = pendingOf(userId);
+        List<PointHistory> flushed = pointHistoryTable.selectByUserId(userId, query.afterId(), query.limit(), query);
+        if (pending.isEmpty() || flushed.size() >= query.limit()) {
+            return flushed;
+        }
+        // limit 을 채우지 못했다면 테이블에 남은 내역이 없으므로, 대기 중인 내역 중 아직 보지 않은 id 로 채웁니다.
+        long lastSeenId = flushed.isEmpty() ? query.afterId() : Math.max(query.afterId(), flushed.get(flushed.size() - 1).id());
+        List<PointHistory> merged = new ArrayList<>(flushed);
+        for (PointHistory history : pending) {
+            if (merged.size() >= query.limit()) {
+                break;
+            }
+            if (history.id() > lastSeenId && query.test(history)) {
+                merged.add(history);
+            }
+        }
+        return merged;
+    }
+
+    int pendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * 새 내역을 더 받지 않고 대기 중인 내역을 모두 insert 한 뒤 종료합니다.
+     */
+    void shutdown() {
+        running = false;
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushRemaining();
+    }
+
+    private void drainLoop() {
+        List<PointHistory> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PointHistory first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flushOrStop(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<PointHistory> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flushOrStop(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * 배치를 insert 합니다. 실패하면 기록을 멈추고, 멈춘 뒤의 배치는 insert 하지 않고 대기 목록에만 남깁니다.
+     */
+    private void flushOrStop(List<PointHistory> batch) {
+        if (failure != null) {
+            log.error("포인트 내역 기록이 중단되어 내역 {}건(id {}~{})을 기록하지 못했습니다.",
+                    batch.size(), batch.get(0).id(), batch.get(batch.size() - 1).id());
+            return;
+        }
+        try {
+            flush(batch);
+        } catch (Throwable e) {
+            failure = e;
+            log.error("포인트 내역 기록에 실패해 write-behind 를 중단합니다. 내역 {}건(id {}~{})을 기록하지 못했습니다.",
+                    batch.size(), batch.get(0).id(), batch.get(batch.size() - 1).id(), e);
+        }
+    }
+
+    private void flush(List<PointHistory> batch) {
+        long start = System.nanoTime();
+        pointHistoryTable.insertAll(batch);
+        metrics.recordHistoryInsert(System.nanoTime() - start);
+        for (PointHistory history : batch) {
+            pendingByUser.computeIfPresent(history.userId(), (id, pending) -> {
+                pending.remove(history);
+                return pending.isEmpty() ? null : pending;
+            });
+        }
+        slots.release(batch.size());
+    }
+
+    private IllegalStateException stopped() {
+        return new IllegalStateException("포인트 내역 기록이 중단되어 충전/사용을 처리할 수 없습니다.", failure);
+    }
+
+    private List<PointHistory> pendingOf(long userId) {
+        List<List<PointHistory>> snapshot = new ArrayList<>(1);
+        pendingByUser.computeIfPresent(userId, (id, pending) -> {
+            snapshot.add(List.copyOf(pending));
+            return pending;
+        });
+        return snapshot.isEmpty() ? List.of() : snapshot.get(0);
+    }
+}
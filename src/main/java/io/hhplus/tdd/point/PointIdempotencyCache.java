@@ -0,0 +1,154 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별 충전/사용 결과를 기억해, 같은 키로 재시도한 요청에는 유저 락과 테이블을 거치지 않고 처음 결과를 돌려줍니다.
+ * - 키는 유저별로 구분합니다. 같은 키로 다른 요청(종류, 금액)을 보내면 거부합니다.
+ * - 처음 요청이 아직 실행 중이면 다시 실행하지 않고 그 결과를 기다립니다.
+ *   기다리는 요청의 처리 기한이 먼저 지나면 PointDeadlineExceededException 으로 실패합니다. (처음 요청은 계속 실행)
+ * - 실패한 요청(Error 포함)은 기다리던 요청에만 같은 예외를 전달하고 기억하지 않으므로, 이후의 재시도는 다시 실행됩니다.
+ * - 모든 요청의 보관 시간이 같으므로 등록 순서가 곧 만료 순서입니다.
+ *   등록 순서대로 큐에 넣고, 등록할 때마다 ttl 이 지났거나 maxSize 를 넘는 요청을 큐 앞에서부터 제거합니다.
+ *   제거는 한 스레드만 하고, 다른 스레드가 제거 중이면 기다리지 않고 건너뜁니다.
+ */
+public class PointIdempotencyCache {
+
+    public record Stats(long replayCount, long evictionCount, long size) {
+    }
+
+    private record Key(long userId, String idempotencyKey) {
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final PointCommand command;
+        private final long createdNanos;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+        private Entry(Key key, PointCommand command, long createdNanos) {
+            this.key = key;
+            this.command = command;
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder replayCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final ReentrantLock evictLock = new ReentrantLock();
+
+    PointIdempotencyCache(PointProperties.Idempotency properties) {
+        this.maxSize = properties.maxSize();
+        this.ttlNanos = properties.ttl().toNanos();
+    }
+
+    /**
+     * 처음 보는 키이면 action 을 실행하고 결과를 기억합니다.
+     * 이미 본 키이면 action 을 실행하지 않고 처음 실행의 결과(실행 중이면 끝날 때까지 기다린 결과)를 반환합니다.
+     * 처음 실행을 기다리는 시간은 deadlineNanos 까지입니다. (PointDeadlines.NONE 이면 끝날 때까지)
+     */
+    UserPoint execute(String idempotencyKey, PointCommand command, long deadlineNanos, Supplier<UserPoint> action) {
+        if (idempotencyKey.isBlank()) {
+            throw new IllegalArgumentException("Idempotency-Key 가 비어 있습니다.");
+        }
+        long now = System.nanoTime();
+        Key key = new Key(command.userId(), idempotencyKey);
+        Entry created = new Entry(key, command, now);
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, created);
+            if (existing == null) {
+                break;
+            }
+            if (now - existing.createdNanos >= ttlNanos) {
+                entries.remove(key, existing);
+                continue;
+            }
+            return replay(existing, command, deadlineNanos);
+        }
+
+        order.add(created);
+        queued.incrementAndGet();
+        evict(now);
+        try {
+            UserPoint result = action.get();
+            created.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, created);
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    Stats stats() {
+        return new Stats(replayCount.sum(), evictionCount.sum(), entries.size());
+    }
+
+    private UserPoint replay(Entry existing, PointCommand command, long deadlineNanos) {
+        if (!existing.command.equals(command)) {
+            throw new IllegalArgumentException("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+        }
+        replayCount.increment();
+        if (deadlineNanos == PointDeadlines.NONE) {
+            try {
+                return existing.result.join();
+            } catch (CompletionException e) {
+                throw unwrap(e.getCause(), e);
+            }
+        }
+        try {
+            return existing.result.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new PointDeadlineExceededException();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointDeadlineExceededException();
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause, Exception wrapper) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(cause != null ? cause : wrapper);
+    }
+
+    private void evict(long now) {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            Entry head;
+            while ((head = order.peek()) != null
+                    && (queued.get() > maxSize || now - head.createdNanos >= ttlNanos)) {
+                order.poll();
+                queued.decrementAndGet();
+                if (entries.remove(head.key, head)) {
+                    evictionCount.increment();
+                }
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointSnapshotFile;
+import io.hhplus.tdd.database.PointWalRecord;
+import io.hhplus.tdd.database.PointWriteAheadLog;
+import io.hhplus.tdd.database.PrimitiveUserPointTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 잔액/내역 변경을 WAL 로 영속화하고, 시작할 때 스냅샷과 WAL 로 테이블을 복구합니다.
+ * - 커밋할 내용을 테이블보다 WAL 에 먼저 기록하고, 디스크에 반영된 뒤에만 테이블을 변경합니다.
+ * - snapshotInterval 마다 직전 스냅샷 이후의 WAL 내역을 새 내역 segment 로 봉인하고,
+ *   직전 스냅샷의 잔액에 그 WAL 을 합쳐 잔액만 담은 새 스냅샷을 만든 뒤, 스냅샷에 반영된 WAL segment 는 삭제합니다.
+ *   이미 봉인한 내역은 다시 읽거나 쓰지 않으므로 스냅샷 비용은 유저 수와 새 WAL 건수에 비례하고 쌓인 내역 수와는 무관합니다.
+ *   스냅샷은 테이블이 아니라 파일만 읽어 만들므로 커밋을 막지 않습니다.
+ * - 시작할 때는 가장 최근 스냅샷의 잔액과 그 watermark 까지의 내역 segment 를 읽고, 그 이후의 WAL 만 다시 적용합니다.
+ *   복구한 내역은 restoredHistory 에도 전달해 요약처럼 내역에서 파생된 상태를 다시 만들 수 있게 합니다.
+ * - 잔액 테이블은 PrimitiveUserPointTable(point.balance-store.type=primitive)이어야 합니다.
+ *   UserPointTable 은 저장할 때마다 지연이 있고 updateMillis 를 저장 시각으로 바꾸므로,
+ *   복구한 잔액의 updateMillis 를 잃지 않도록 시작할 때 바로 실패합니다.
+ */
+class PointJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(PointJournal.class);
+    private static final int RESTORE_BATCH_SIZE = 10_000;
+
+    private final Path directory;
+    private final PointWriteAheadLog wal;
+    private final ScheduledExecutorService snapshotScheduler;
+    private Path snapshot;
+    private long snapshotSequence;
+
+    PointJournal(PointProperties.Wal properties, UserPointTable userPointTable,
+                 PointHistoryStore pointHistoryTable, Consumer<PointHistory> restoredHistory) {
+        requirePrimitive(userPointTable);
+        this.directory = Path.of(properties.directory());
+        this.snapshot = PointSnapshotFile.latest(directory).orElse(null);
+
+        Restorer restorer = new Restorer((PrimitiveUserPointTable) userPointTable, pointHistoryTable, restoredHistory);
+        this.snapshotSequence = snapshot == null ? 0
+                : PointSnapshotFile.read(snapshot, restorer::balance, restorer::history);
+        restoreHistorySegments(restorer);
+        this.wal = new PointWriteAheadLog(directory, properties.segmentSize().toBytes(), properties.fsync(),
+                snapshotSequence);
+        wal.replay(snapshotSequence, Long.MAX_VALUE, (sequence, record) -> restorer.record(record));
+        restorer.finish();
+
+        this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(
+                PointThreads.factory("point-wal-snapshot-", false));
+        long intervalMillis = properties.snapshotInterval().toMillis();
+        if (intervalMillis > 0) {
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 한 번의 커밋 내용(이체는 두 유저의 내역)을 한 번의 append 로 WAL 에 기록합니다.
+     * balances 는 내역마다 적용한 뒤의 그 유저의 잔액입니다.
+     * 관련된 유저의 락을 잡은 상태에서 호출해야 같은 유저의 기록 순서가 커밋 순서와 같습니다.
+     */
+    void append(List<PointHistory> histories, List<Long> balances) {
+        List<PointWalRecord> records = new ArrayList<>(histories.size());
+        for (int i = 0; i < histories.size(); i++) {
+            records.add(PointWalRecord.of(histories.get(i), balances.get(i)));
+        }
+        wal.append(records);
+    }
+
+    /**
+     * 직전 스냅샷 이후의 WAL 내역을 새 내역 segment 로 봉인하고, 직전 스냅샷의 잔액에 그 WAL 을 합쳐 새 스냅샷을 만듭니다.
+     * 그 뒤 반영된 WAL segment 와 직전 스냅샷을 삭제합니다. 이전 내역 segment 는 건드리지 않습니다.
+     */
+    synchronized void snapshot() {
+        long target = wal.lastSequence();
+        if (target == snapshotSequence) {
+            return;
+        }
+        Path previous = snapshot;
+        PrimitiveUserPointTable balances = new PrimitiveUserPointTable(16, 0, 0);
+        if (previous != null) {
+            PointSnapshotFile.read(previous, balances::restore, history -> {
+            });
+        }
+        try (PointSnapshotFile.Writer segment = PointSnapshotFile.createHistorySegment(directory, target)) {
+            wal.replay(snapshotSequence, target, (sequence, record) -> {
+                balances.restore(record.userId(), record.balance(), record.updateMillis());
+                segment.history(record.toHistory());
+            });
+            segment.commit();
+        }
+        try (PointSnapshotFile.Writer writer = PointSnapshotFile.create(directory, target)) {
+            balances.forEach(writer::balance);
+            snapshot = writer.commit();
+        }
+        snapshotSequence = target;
+        wal.deleteSegmentsThrough(target);
+        if (previous != null) {
+            delete(previous);
+        }
+    }
+
+    PointWriteAheadLog.Stats stats() {
+        return wal.stats();
+    }
+
+    /**
+     * 대기 중인 기록을 마친 뒤 WAL 을 닫고, 다음 시작이 빠르도록 스냅샷을 남깁니다.
+     */
+    void shutdown() {
+        snapshotScheduler.shutdown();
+        try {
+            snapshotScheduler.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        wal.close();
+        snapshot();
+    }
+
+    /**
+     * 복구한 잔액을 updateMillis 그대로 되돌릴 수 있는 잔액 테이블인지 확인합니다.
+     */
+    static void requirePrimitive(UserPointTable userPointTable) {
+        if (!(userPointTable instanceof PrimitiveUserPointTable)) {
+            throw new IllegalStateException(
+                    "point.wal.enabled=true 이면 point.balance-store.type=primitive 이어야 합니다.");
+        }
+    }
+
+    /**
+     * 스냅샷 watermark 까지의 내역 segment 를 순서대로 복구합니다.
+     * watermark 보다 뒤의 segment 는 스냅샷을 만들다 중단된 것이고 그 내역은 아직 WAL 에 있으므로 지웁니다.
+     */
+    private void restoreHistorySegments(Restorer restorer) {
+        for (Map.Entry<Long, Path> segment : PointSnapshotFile.historySegments(directory).entrySet()) {
+            if (segment.getKey() <= snapshotSequence) {
+                PointSnapshotFile.read(segment.getValue(), (userId, point, updateMillis) -> {
+                }, restorer::history);
+            } else {
+                delete(segment.getValue());
+            }
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("파일을 삭제할 수 없습니다: " + file, e);
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.warn("WAL 스냅샷 생성 실패", e);
+        }
+    }
+
+    /**
+     * 스냅샷과 WAL 에서 읽은 잔액/내역을 테이블에 복구합니다.
+     */
+    private static final class Restorer {
+        private final PointHistoryStore pointHistoryTable;
+        private final PrimitiveUserPointTable balances;
+        private final Consumer<PointHistory> restoredHistory;
+        private final List<PointHistory> histories = new ArrayList<>(RESTORE_BATCH_SIZE);
+
+        private Restorer(PrimitiveUserPointTable balances, PointHistoryStore pointHistoryTable,
+                         Consumer<PointHistory> restoredHistory) {
+            this.balances = balances;
+            this.pointHistoryTable = pointHistoryTable;
+            this.restoredHistory = restoredHistory;
+        }
+
+        private void balance(long userId, long point, long updateMillis) {
+            balances.restore(userId, point, updateMillis);
+        }
+
+        private void history(PointHistory history) {
+            histories.add(history);
+            restoredHistory.accept(history);
+            if (histories.size() >= RESTORE_BATCH_SIZE) {
+                flushHistories();
+            }
+        }
+
+        private void record(PointWalRecord record) {
+            balance(record.userId(), record.balance(), record.updateMillis());
+            history(record.toHistory());
+        }
+
+        private void finish() {
+            flushHistories();
+        }
+
+        private void flushHistories() {
+            pointHistoryTable.restore(histories);
+            histories.clear();
+        }
+    }
+}
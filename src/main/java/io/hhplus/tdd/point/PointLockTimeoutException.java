@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 정해진 시간 안에 유저 락을 얻지 못했을 때 발생합니다.
+ */
+public class PointLockTimeoutException extends RuntimeException {
+
+    public PointLockTimeoutException() {
+        super("다른 요청을 처리 중입니다. 잠시 후 다시 시도해주세요.");
+    }
+}
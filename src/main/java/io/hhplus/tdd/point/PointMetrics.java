@@ -0,0 +1,269 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * PointService 의 단계별 지연 시간과 처리 결과를 Micrometer 로 기록합니다.
+ * - 타이머 : 유저 락 대기, 잔액 테이블 조회/저장, 내역 insert, WAL 기록 (p50/p99/p999 와 Prometheus histogram bucket)
+ * - 카운터 : 거래 종류(type)별 성공/실패(result), 실패 사유(reason), 테이블을 읽은/합쳐진 잔액 조회 수,
+ *   OPTIMISTIC 엔진의 커밋/version 충돌/유저 락 전환 수, 요청 한도로 받은/거절한 요청 수
+ * - 게이지 : 유저 락 수, 락 대기 스레드 수, 대기 스레드가 많은 유저별 대기 수, shard 별 대기열 길이,
+ *   요청 한도 안에서 처리 중인 요청 수
+ * 성공 경로에서 쓰는 미터는 미리 만들어 두어, 요청마다 미터를 찾거나 태그를 만들지 않습니다.
+ */
+class PointMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+    private static final String TRANSFER = "TRANSFER";
+
+    private final MeterRegistry registry;
+    private final Timer lockWait;
+    private final Timer tableSelect;
+    private final Timer tableUpdate;
+    private final Timer historyInsert;
+    private final Timer walAppend;
+    private final Map<TransactionType, Counter> successes = new EnumMap<>(TransactionType.class);
+    private final Counter transferSuccesses;
+    private final MultiGauge hotLockWaiting;
+    private final int hotLockLimit;
+    private final long hotLockRefreshMillis;
+    private final ScheduledExecutorService hotLockScheduler;
+
+    PointMetrics(MeterRegistry registry, PointProperties.Metrics properties) {
+        this.registry = properties.enabled() ? registry : new CompositeMeterRegistry();
+        this.lockWait = timer("point.lock.wait", "유저 락을 얻기까지 기다린 시간", Tags.empty());
+        this.tableSelect = timer("point.table", "잔액 테이블 호출 시간", Tags.of("operation", "select"));
+        this.tableUpdate = timer("point.table", "잔액 테이블 호출 시간", Tags.of("operation", "update"));
+        this.historyInsert = timer("point.history.insert", "내역 테이블 insert 시간", Tags.empty());
+        this.walAppend = timer("point.wal.append", "WAL 기록(fsync 포함) 시간", Tags.empty());
+        for (TransactionType type : TransactionType.values()) {
+            successes.put(type, commandCounter(type.name(), "success", "none"));
+        }
+        this.transferSuccesses = commandCounter(TRANSFER, "success", "none");
+        this.hotLockWaiting = MultiGauge.builder("point.lock.hot.waiting")
+                .description("대기 스레드가 많은 유저 락의 대기 스레드 수")
+                .register(this.registry);
+        this.hotLockLimit = properties.hotLockLimit();
+        this.hotLockScheduler = properties.enabled() && hotLockLimit > 0
+                ? Executors.newSingleThreadScheduledExecutor(PointThreads.factory("point-metrics-", false))
+                : null;
+        this.hotLockRefreshMillis = properties.hotLockRefreshInterval().toMillis();
+    }
+
+    /**
+     * 측정하지 않는 PointMetrics. (Micrometer 를 쓰지 않는 테스트/벤치마크용)
+     */
+    static PointMetrics noop() {
+        PointProperties.Metrics defaults = PointProperties.Metrics.defaults();
+        return new PointMetrics(new CompositeMeterRegistry(),
+                new PointProperties.Metrics(false, defaults.hotLockLimit(), defaults.hotLockRefreshInterval()));
+    }
+
+    /**
+     * PointService 내부 상태를 읽는 게이지를 등록하고, 유저별 락 대기 게이지를 주기적으로 갱신합니다.
+     */
+    void bind(UserLockManager lockManager, IntSupplier pendingHistories) {
+        Gauge.builder("point.lock.active", lockManager, manager -> manager.stats().liveLockCount())
+                .description("사용 중인 유저 락 수 (STRIPED 모드에서는 stripe 수)")
+                .register(registry);
+        Gauge.builder("point.lock.waiting", lockManager, UserLockManager::waitingThreadCount)
+                .description("유저 락을 기다리는 스레드 수")
+                .register(registry);
+        FunctionCounter.builder("point.lock.timeouts", lockManager, manager -> manager.stats().timeoutCount())
+                .description("유저 락 대기 시간 초과 횟수")
+                .register(registry);
+        Gauge.builder("point.history.pending", pendingHistories, IntSupplier::getAsInt)
+                .description("write-behind 대기열에 남아 있는 내역 수")
+                .strongReference(true)
+                .register(registry);
+        if (hotLockScheduler != null) {
+            hotLockScheduler.scheduleWithFixedDelay(() -> refreshHotLocks(lockManager),
+                    hotLockRefreshMillis, hotLockRefreshMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 테이블을 직접 읽은 조회(loaded)와 진행 중인 조회에 합류한 조회(coalesced) 수를 노출합니다.
+     */
+    void bindBalanceReads(UserPointSingleFlight balanceReads) {
+        FunctionCounter.builder("point.balance.reads", balanceReads, reads -> reads.stats().loadCount())
+                .description("캐시에 없던 잔액 조회 수 (coalesced 는 진행 중인 조회에 합류)")
+                .tag("result", "loaded")
+                .register(registry);
+        FunctionCounter.builder("point.balance.reads", balanceReads, reads -> reads.stats().coalescedCount())
+                .description("캐시에 없던 잔액 조회 수 (coalesced 는 진행 중인 조회에 합류)")
+                .tag("result", "coalesced")
+                .register(registry);
+    }
+
+    /**
+     * SHARDED 엔진의 shard 별 대기열 길이와 처리 건수를 shard 태그로 노출합니다.
+     */
+    void bindShards(PointShardedEngine engine) {
+        for (int i = 0; i < engine.shardCount(); i++) {
+            int shard = i;
+            Gauge.builder("point.shard.queue.depth", engine, e -> e.stats(shard).queueDepth())
+                    .description("shard 대기열에 쌓인 요청 수")
+                    .tag("shard", String.valueOf(shard))
+                    .register(registry);
+            FunctionCounter.builder("point.shard.processed", engine, e -> e.stats(shard).processedCount())
+                    .description("shard 가 커밋한 요청 수")
+                    .tag("shard", String.valueOf(shard))
+                    .register(registry);
+        }
+    }
+
+    /**
+     * OPTIMISTIC 엔진의 커밋(commit), version 충돌(conflict), 유저 락 전환(fallback) 횟수를 노출합니다.
+     */
+    void bindVersions(UserPointVersions versions) {
+        versionCounter(versions, "commit", stats -> stats.commitCount());
+        versionCounter(versions, "conflict", stats -> stats.conflictCount());
+        versionCounter(versions, "fallback", stats -> stats.fallbackCount());
+    }
+
+    /**
+     * 요청 한도로 받은(admitted) 요청과 거절한 사유(rate_limited, queue_full, overloaded)별 요청 수,
+     * 처리 중인 요청 수를 노출합니다.
+     */
+    void bindAdmission(PointAdmission admission) {
+        admissionCounter(admission, "admitted", stats -> stats.admittedCount());
+        admissionCounter(admission, "rate_limited", stats -> stats.rateLimitedCount());
+        admissionCounter(admission, "queue_full", stats -> stats.queueFullCount());
+        admissionCounter(admission, "overloaded", stats -> stats.overloadedCount());
+        Gauge.builder("point.admission.in.flight", admission, a -> a.stats().inFlight())
+                .description("요청 한도 안에서 처리 중인 요청 수")
+                .register(registry);
+    }
+
+    /**
+     * 처리 기한이 지나 버린 요청 수를 들어오자마자 버렸는지(arrival), 대기열 맨 앞에서 버렸는지(queue)로 나눠 노출합니다.
+     */
+    void bindDeadlines(PointDeadlines deadlines) {
+        FunctionCounter.builder("point.deadline.expired", deadlines, d -> d.stats().expiredOnArrivalCount())
+                .description("처리 기한이 지나 테이블을 건드리지 않고 버린 요청 수")
+                .tag("stage", "arrival")
+                .register(registry);
+        FunctionCounter.builder("point.deadline.expired", deadlines, d -> d.stats().expiredInQueueCount())
+                .description("처리 기한이 지나 테이블을 건드리지 않고 버린 요청 수")
+                .tag("stage", "queue")
+                .register(registry);
+    }
+
+    void recordLockWait(long nanos) {
+        lockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordTableSelect(long nanos) {
+        tableSelect.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordTableUpdate(long nanos) {
+        tableUpdate.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordHistoryInsert(long nanos) {
+        historyInsert.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordWalAppend(long nanos) {
+        walAppend.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordSuccess(TransactionType type) {
+        successes.get(type).increment();
+    }
+
+    void recordFailure(TransactionType type, RuntimeException e) {
+        commandCounter(type.name(), "failure", failureReason(e)).increment();
+    }
+
+    /**
+     * 이체는 충전/사용과 같은 point.commands 에 type=TRANSFER 로 남깁니다.
+     */
+    void recordTransferSuccess() {
+        transferSuccesses.increment();
+    }
+
+    void recordTransferFailure(RuntimeException e) {
+        commandCounter(TRANSFER, "failure", failureReason(e)).increment();
+    }
+
+    void refreshHotLocks(UserLockManager lockManager) {
+        List<MultiGauge.Row<?>> rows = lockManager.hotLocks(hotLockLimit).stream()
+                .<MultiGauge.Row<?>>map(hotLock -> MultiGauge.Row.of(
+                        Tags.of("userId", String.valueOf(hotLock.userId())), hotLock.waitingThreads()))
+                .toList();
+        hotLockWaiting.register(rows, true);
+    }
+
+    void shutdown() {
+        if (hotLockScheduler != null) {
+            hotLockScheduler.shutdownNow();
+        }
+    }
+
+    private Timer timer(String name, String description, Tags tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private void versionCounter(UserPointVersions versions, String result,
+                                ToLongFunction<UserPointVersions.Stats> count) {
+        FunctionCounter.builder("point.optimistic", versions, v -> count.applyAsLong(v.stats()))
+                .description("OPTIMISTIC 엔진의 커밋/충돌/유저 락 전환 횟수")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private void admissionCounter(PointAdmission admission, String result,
+                                  ToLongFunction<PointAdmission.Stats> count) {
+        FunctionCounter.builder("point.admission", admission, a -> count.applyAsLong(a.stats()))
+                .description("요청 한도로 받은/거절한 요청 수")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Counter commandCounter(String type, String result, String reason) {
+        return Counter.builder("point.commands")
+                .description("충전/사용/이체 요청 처리 결과")
+                .tags("type", type, "result", result, "reason", reason)
+                .register(registry);
+    }
+
+    private static String failureReason(RuntimeException e) {
+        if (e instanceof PointLockTimeoutException) {
+            return "lock_timeout";
+        }
+        if (e instanceof PointDeadlineExceededException) {
+            return "deadline";
+        }
+        if (e instanceof PointHistoryBackpressureException) {
+            return "backpressure";
+        }
+        if (e instanceof IllegalArgumentException) {
+            return "rejected";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,393 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * application.yml 의 point.* 설정
+ * - virtualThreads : PointService 내부 executor 를 virtual thread 로 실행 (spring.threads.virtual.enabled 를 따름)
+ */
+@ConfigurationProperties("point")
+public record PointProperties(
+        @DefaultValue("false") boolean virtualThreads,
+        @DefaultValue GroupCommit groupCommit,
+        @DefaultValue BalanceCache balanceCache,
+        @DefaultValue HistoryWriteBehind historyWriteBehind,
+        @DefaultValue Lock lock,
+        @DefaultValue History history,
+        @DefaultValue Batch batch,
+        @DefaultValue BalanceStore balanceStore,
+        @DefaultValue Wal wal,
+        @DefaultValue Metrics metrics,
+        @DefaultValue Reactive reactive,
+        @DefaultValue HistoryStore historyStore,
+        @DefaultValue Summary summary,
+        @DefaultValue Idempotency idempotency,
+        @DefaultValue BalanceRead balanceRead,
+        @DefaultValue Engine engine,
+        @DefaultValue Admission admission,
+        @DefaultValue Checkpoint checkpoint,
+        @DefaultValue Export export,
+        @DefaultValue Deadline deadline
+) {
+
+    public static PointProperties defaults() {
+        return new PointProperties(false, GroupCommit.defaults(), BalanceCache.defaults(),
+                HistoryWriteBehind.defaults(), Lock.defaults(), History.defaults(), Batch.defaults(),
+                BalanceStore.defaults(), Wal.defaults(), Metrics.defaults(), Reactive.defaults(),
+                HistoryStore.defaults(), Summary.defaults(), Idempotency.defaults(), BalanceRead.defaults(),
+                Engine.defaults(), Admission.defaults(), Checkpoint.defaults(), Export.defaults(),
+                Deadline.defaults());
+    }
+
+    /**
+     * 같은 유저의 충전/사용 요청을 모아 한 번에 커밋하는 group commit 설정
+     * - batchSize : 한 번에 커밋할 최대 요청 수
+     * - maxLinger : 첫 요청 이후 다음 요청을 기다리는 최대 시간
+     */
+    public record GroupCommit(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("32") int batchSize,
+            @DefaultValue("5ms") Duration maxLinger
+    ) {
+
+        public static GroupCommit defaults() {
+            return new GroupCommit(false, 32, Duration.ofMillis(5));
+        }
+    }
+
+    /**
+     * 잔액 캐시 설정
+     * - maxSize : 캐시에 유지할 최대 유저 수 (넘으면 LRU 로 제거)
+     *   OPTIMISTIC 엔진에서는 enabled 와 관계없이 version 계층이 유지할 최대 유저 수로 사용
+     */
+    public record BalanceCache(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("100000") int maxSize
+    ) {
+
+        public static BalanceCache defaults() {
+            return new BalanceCache(true, 100_000);
+        }
+    }
+
+    /**
+     * 포인트 내역 비동기 기록(write-behind) 설정
+     * - queueCapacity : 아직 insert 되지 않은 내역을 쌓아둘 최대 건수
+     * - batchSize : 한 번에 insert 할 최대 건수
+     * - offerTimeout : 대기열이 가득 찼을 때 자리가 나기를 기다리는 최대 시간
+     */
+    public record HistoryWriteBehind(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("10000") int queueCapacity,
+            @DefaultValue("256") int batchSize,
+            @DefaultValue("100ms") Duration offerTimeout
+    ) {
+
+        public static HistoryWriteBehind defaults() {
+            return new HistoryWriteBehind(false, 10_000, 256, Duration.ofMillis(100));
+        }
+    }
+
+    /**
+     * 유저 락 설정
+     * - mode : REFERENCE_COUNTED(사용하지 않는 락 제거) 또는 STRIPED(고정 개수 락 공유)
+     * - stripes : STRIPED 모드의 락 개수
+     * - acquireTimeout : 락을 기다리는 최대 시간
+     */
+    public record Lock(
+            @DefaultValue("reference-counted") UserLockManager.Mode mode,
+            @DefaultValue("1024") int stripes,
+            @DefaultValue("10s") Duration acquireTimeout
+    ) {
+
+        public static Lock defaults() {
+            return new Lock(UserLockManager.Mode.REFERENCE_COUNTED, 1024, Duration.ofSeconds(10));
+        }
+    }
+
+    /**
+     * 포인트 내역 조회 설정
+     * - defaultLimit : limit 을 지정하지 않았을 때 한 페이지 건수
+     * - maxLimit : 한 페이지 최대 건수
+     * - streamChunkSize : 스트리밍 조회 시 한 번에 읽어 쓰는 건수
+     */
+    public record History(
+            @DefaultValue("100") int defaultLimit,
+            @DefaultValue("1000") int maxLimit,
+            @DefaultValue("500") int streamChunkSize
+    ) {
+
+        public static History defaults() {
+            return new History(100, 1000, 500);
+        }
+    }
+
+    /**
+     * 일괄 충전/사용 설정
+     * - maxSize : 한 번에 요청할 수 있는 최대 건수
+     * - parallelism : 한 요청 안에서 동시에 처리할 최대 유저 수
+     */
+    public record Batch(
+            @DefaultValue("10000") int maxSize,
+            @DefaultValue("64") int parallelism
+    ) {
+
+        public static Batch defaults() {
+            return new Batch(10_000, 64);
+        }
+    }
+
+    /**
+     * 잔액 테이블 설정
+     * - type : HASH_MAP 이면 UserPointTable, PRIMITIVE 이면 primitive 배열 기반 PrimitiveUserPointTable 을 사용
+     */
+    public record BalanceStore(
+            @DefaultValue("hash-map") Type type
+    ) {
+
+        public enum Type {HASH_MAP, PRIMITIVE}
+
+        public static BalanceStore defaults() {
+            return new BalanceStore(Type.HASH_MAP);
+        }
+    }
+
+    /**
+     * 잔액/내역 변경을 파일에 남기는 WAL 설정 (balance-store.type=primitive 와 함께 사용해야 하며, 아니면 시작할 때 실패)
+     * - directory : WAL segment 와 스냅샷을 저장할 디렉터리
+     * - segmentSize : WAL segment 하나의 최대 크기
+     * - fsync : 기록마다 fsync 할지 여부 (false 이면 OS 에 쓰기만 하고 응답)
+     * - snapshotInterval : 스냅샷을 만드는 주기 (0 이면 종료할 때만 만듦)
+     */
+    public record Wal(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("data/wal") String directory,
+            @DefaultValue("64MB") DataSize segmentSize,
+            @DefaultValue("true") boolean fsync,
+            @DefaultValue("1m") Duration snapshotInterval
+    ) {
+
+        public static Wal defaults() {
+            return new Wal(false, "data/wal", DataSize.ofMegabytes(64), true, Duration.ofMinutes(1));
+        }
+    }
+
+    /**
+     * PointService 지표 설정
+     * - enabled : false 이면 지표를 기록하지 않음
+     * - hotLockLimit : 유저별 락 대기 게이지로 노출할 최대 유저 수 (대기 스레드가 많은 순)
+     * - hotLockRefreshInterval : 유저별 락 대기 게이지를 갱신하는 주기
+     */
+    public record Metrics(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10") int hotLockLimit,
+            @DefaultValue("5s") Duration hotLockRefreshInterval
+    ) {
+
+        public static Metrics defaults() {
+            return new Metrics(true, 10, Duration.ofSeconds(5));
+        }
+    }
+
+    /**
+     * WebFlux 로 실행할 때의 설정 (spring.main.web-application-type=reactive)
+     * - blockingThreads : 테이블 호출처럼 스레드를 막는 작업을 실행할 스레드 수의 상한
+     * - blockingQueueCapacity : blockingThreads 가 모두 사용 중일 때 쌓아둘 최대 작업 수
+     * - userQueueCapacity : 한 유저의 충전/사용 요청을 순서대로 처리하기 위해 쌓아둘 최대 요청 수
+     */
+    public record Reactive(
+            @DefaultValue("64") int blockingThreads,
+            @DefaultValue("100000") int blockingQueueCapacity,
+            @DefaultValue("1000") int userQueueCapacity
+    ) {
+
+        public static Reactive defaults() {
+            return new Reactive(64, 100_000, 1000);
+        }
+    }
+
+    /**
+     * 포인트 내역 테이블 설정
+     * - type : INDEXED 이면 IndexedPointHistoryTable, COMPACT 이면 primitive 배열 기반 CompactPointHistoryTable 을 사용
+     */
+    public record HistoryStore(
+            @DefaultValue("indexed") Type type
+    ) {
+
+        public enum Type {INDEXED, COMPACT}
+
+        public static HistoryStore defaults() {
+            return new HistoryStore(Type.INDEXED);
+        }
+    }
+
+    /**
+     * 유저별 포인트 요약(/point/{id}/summary) 설정
+     * - enabled : false 이면 요약을 집계하지 않음
+     * - dailyBuckets : 유지할 일별 구간 수 (가장 최근 거래일 기준)
+     * - hourlyBuckets : 유지할 시간별 구간 수 (가장 최근 거래 시각 기준)
+     * - zone : 일별/시간별 구간을 나누는 기준 시간대
+     * 켜면 한 번이라도 거래한 유저마다 요약을 메모리에 계속 두므로(UserPointSummaries 참고) 기본값은 꺼져 있습니다.
+     */
+    public record Summary(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("30") int dailyBuckets,
+            @DefaultValue("48") int hourlyBuckets,
+            @DefaultValue("Asia/Seoul") ZoneId zone
+    ) {
+
+        public static Summary defaults() {
+            return new Summary(false, 30, 48, ZoneId.of("Asia/Seoul"));
+        }
+    }
+
+    /**
+     * Idempotency-Key 헤더로 재시도된 충전/사용 요청을 한 번만 실행하기 위한 설정
+     * - maxSize : 결과를 기억할 최대 요청 수 (넘으면 오래된 요청부터 제거)
+     * - ttl : 결과를 기억하는 시간
+     */
+    public record Idempotency(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("100000") int maxSize,
+            @DefaultValue("10m") Duration ttl
+    ) {
+
+        public static Idempotency defaults() {
+            return new Idempotency(true, 100_000, Duration.ofMinutes(10));
+        }
+    }
+
+    /**
+     * 잔액 조회 설정
+     * - singleFlight : 같은 유저의 동시 조회가 테이블 호출 한 번을 나눠 갖도록 합침
+     */
+    public record BalanceRead(
+            @DefaultValue("true") boolean singleFlight
+    ) {
+
+        public static BalanceRead defaults() {
+            return new BalanceRead(true);
+        }
+    }
+
+    /**
+     * 충전/사용을 실행하는 방식
+     * - type : LOCK 이면 요청 스레드가 유저 락을 잡고 직접 커밋, SHARDED 이면 userId 로 나눈 shard 의 전용 스레드가 커밋,
+     *   OPTIMISTIC 이면 락 없이 잔액 version 이 그대로일 때만 커밋
+     *   (LOCK 이 아니면 group-commit 설정을 사용하지 않고, OPTIMISTIC 이면 잔액 캐시 대신 version 계층이
+     *   balance-cache.max-size 만큼의 유저 잔액을 유지)
+     * - shardCount : shard(전용 스레드) 수
+     * - batchSize : shard 가 대기열에서 한 번에 꺼내 커밋할 최대 요청 수
+     * - optimisticRetries : OPTIMISTIC 에서 version 충돌 시 다시 시도하는 최대 횟수 (넘으면 유저 락으로 커밋)
+     * - optimisticMaxBackoff : 다시 시도하기 전에 쉬는 시간의 상한 (시도할 때마다 두 배씩 늘리다가 이 값에서 멈춤)
+     * - pessimisticWindow : 재시도를 모두 실패한 유저는 이 시간 동안 처음부터 유저 락으로 커밋
+     */
+    public record Engine(
+            @DefaultValue("lock") Type type,
+            @DefaultValue("16") int shardCount,
+            @DefaultValue("256") int batchSize,
+            @DefaultValue("3") int optimisticRetries,
+            @DefaultValue("1ms") Duration optimisticMaxBackoff,
+            @DefaultValue("1s") Duration pessimisticWindow
+    ) {
+
+        public enum Type {LOCK, SHARDED, OPTIMISTIC}
+
+        public static Engine defaults() {
+            return new Engine(Type.LOCK, 16, 256, 3, Duration.ofMillis(1), Duration.ofSeconds(1));
+        }
+    }
+
+    /**
+     * 잔액 조회/충전/사용 요청의 유저별/전체 요청 수 제한 (넘는 요청은 바로 429 와 Retry-After 로 거절)
+     * - ratePerSecond : 유저마다 초당 받는 요청 수 (token bucket 이 채워지는 속도)
+     * - burst : 유저마다 한꺼번에 받을 수 있는 요청 수 (token bucket 크기)
+     * - userQueueDepth : 유저마다 동시에 처리 중이거나 유저 락을 기다리는 요청 수의 상한
+     * - maxInFlight : 모든 유저를 합쳐 동시에 처리 중인 요청 수의 상한
+     * - retryAfter : 대기열이 가득 차 거절할 때 Retry-After 로 알려줄 시간
+     * - idleSweepInterval : 처리 중인 요청이 없고 bucket 이 다 채워진 유저를 정리하는 주기
+     * 켜면 GET /point/{id}, /charge, /use 도 429 를 반환할 수 있으므로 기본값은 꺼져 있습니다.
+     * /point/batch 는 건마다 그 유저의 한도를 적용하고, WebFlux(ReactivePointService) 에도 같은 한도를 적용합니다.
+     * 한도는 실행 중에도 /actuator/pointadmission 으로 바꿀 수 있습니다. (웹 노출은 PointAdmissionEndpoint 참고)
+     */
+    public record Admission(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("200") int ratePerSecond,
+            @DefaultValue("50") int burst,
+            @DefaultValue("32") int userQueueDepth,
+            @DefaultValue("1024") int maxInFlight,
+            @DefaultValue("1s") Duration retryAfter,
+            @DefaultValue("1m") Duration idleSweepInterval
+    ) {
+
+        public static Admission defaults() {
+            return new Admission(false, 200, 50, 32, 1024, Duration.ofSeconds(1), Duration.ofMinutes(1));
+        }
+    }
+
+    /**
+     * 특정 시각의 잔액 조회(/point/{id}/balance?at=) 를 위한 유저별 잔액 체크포인트 설정
+     * - enabled : false 이면 체크포인트를 남기지 않고, 조회할 때마다 유저의 내역을 처음부터 다시 계산
+     * - interval : 유저 내역 몇 건마다 그 시점의 잔액을 남길지 (조회 시 다시 계산하는 내역 수의 상한)
+     */
+    public record Checkpoint(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("100") int interval
+    ) {
+
+        public static Checkpoint defaults() {
+            return new Checkpoint(true, 100);
+        }
+    }
+
+    /**
+     * 포인트 내역 일괄 내보내기(/point/histories/exports) 설정
+     * - directory : 내보내기 파일을 저장할 디렉터리
+     * - chunkSize : 유저 내역을 한 번에 읽어 파일에 쓰는 건수
+     * - retainedFiles : 남겨 둘 내보내기 파일 수 (넘으면 오래된 파일부터 삭제, 실패한 내보내기의 상태도 이만큼만 유지)
+     */
+    public record Export(
+            @DefaultValue("data/export") String directory,
+            @DefaultValue("1000") int chunkSize,
+            @DefaultValue("7") int retainedFiles
+    ) {
+
+        public static Export defaults() {
+            return new Export("data/export", 1000, 7);
+        }
+    }
+
+    /**
+     * 충전/사용 요청의 처리 기한 설정
+     * - defaultTimeout : X-Request-Timeout 헤더가 없는 요청의 기한 (요청을 받은 시각부터, 0 이면 기한 없음)
+     * - maxTimeout : 헤더로 줄 수 있는 가장 긴 기한
+     */
+    public record Deadline(
+            @DefaultValue("10s") Duration defaultTimeout,
+            @DefaultValue("1m") Duration maxTimeout
+    ) {
+
+        public static Deadline defaults() {
+            return new Deadline(Duration.ofSeconds(10), Duration.ofMinutes(1));
+        }
+
+        /**
+         * 헤더로 받은 timeout(ms) 이 있으면 maxTimeout 까지로 줄여 쓰고, 없으면 defaultTimeout 을 씁니다.
+         */
+        public Duration timeout(Long requestedMillis) {
+            if (requestedMillis == null) {
+                return defaultTimeout;
+            }
+            if (requestedMillis <= 0) {
+                throw new IllegalArgumentException("요청 timeout 은 0보다 커야 합니다.");
+            }
+            Duration requested = Duration.ofMillis(requestedMillis);
+            return requested.compareTo(maxTimeout) > 0 ? maxTimeout : requested;
+        }
+    }
+}
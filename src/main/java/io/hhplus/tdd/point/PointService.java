@@ -1,4 +1,891 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointWriteAheadLog;
+import io.hhplus.tdd.database.PrimitiveUserPointTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+@Service
 public class PointService {
+
+    private static final long OPTIMISTIC_BASE_BACKOFF_NANOS = 10_000;
+
+    private final UserPointTable userPointTable;
+    private final PointHistoryStore pointHistoryTable;
+    private final PointGroupCommitter groupCommitter;
+    private final PointShardedEngine shardedEngine;
+    private final UserPointVersions versions;
+    private final int optimisticRetries;
+    private final long optimisticMaxBackoffNanos;
+    private final UserPointCache balanceCache;
+    private final UserPointSingleFlight balanceReads;
+    private final PointHistoryWriter historyWriter;
+    private final UserLockManager lockManager;
+    private final PointJournal journal;
+    private final UserPointSummaries summaries;
+    private final UserPointCheckpoints checkpoints;
+    private final int replayPageSize;
+    private final PointIdempotencyCache idempotencyCache;
+    private final PointAdmission admission;
+    private final PointDeadlines deadlines = new PointDeadlines();
+    private final PointMetrics metrics;
+
+    public PointService(UserPointTable userPointTable, PointHistoryStore pointHistoryTable,
+                        PointProperties properties) {
+        this(userPointTable, pointHistoryTable, properties, PointMetrics.noop());
+    }
+
+    @Autowired
+    public PointService(UserPointTable userPointTable, PointHistoryStore pointHistoryTable,
+                        PointProperties properties, MeterRegistry meterRegistry) {
+        this(userPointTable, pointHistoryTable, properties, new PointMetrics(meterRegistry, properties.metrics()));
+    }
+
+    private PointService(UserPointTable userPointTable, PointHistoryStore pointHistoryTable,
+                         PointProperties properties, PointMetrics metrics) {
+        if (properties.wal().enabled()) {
+            // 실행기 스레드를 띄우기 전에 확인합니다.
+            PointJournal.requirePrimitive(userPointTable);
+        }
+        this.metrics = metrics;
+        this.userPointTable = userPointTable;
+        this.pointHistoryTable = pointHistoryTable;
+        this.lockManager = new UserLockManager(properties.lock());
+        PointProperties.Engine.Type engine = properties.engine().type();
+        this.shardedEngine = engine == PointProperties.Engine.Type.SHARDED
+                ? new PointShardedEngine(properties.engine(), this::commitShardBatch)
+                : null;
+        this.groupCommitter = engine == PointProperties.Engine.Type.LOCK && properties.groupCommit().enabled()
+                ? new PointGroupCommitter(properties.groupCommit(), properties.virtualThreads(), this::commitBatch)
+                : null;
+        // OPTIMISTIC 에서는 version 계층이 잔액을 들고 있으므로 잔액 캐시를 따로 두지 않습니다. (유저 수 상한은 같은 max-size)
+        this.balanceCache = engine != PointProperties.Engine.Type.OPTIMISTIC && properties.balanceCache().enabled()
+                ? new UserPointCache(properties.balanceCache().maxSize())
+                : null;
+        this.balanceReads = properties.balanceRead().singleFlight() ? new UserPointSingleFlight() : null;
+        this.versions = engine == PointProperties.Engine.Type.OPTIMISTIC
+                ? new UserPointVersions(userId -> balanceReads == null
+                        ? readPoint(userId)
+                        : balanceReads.load(userId, this::readPoint), properties.engine(),
+                        properties.balanceCache().maxSize())
+                : null;
+        this.optimisticRetries = properties.engine().optimisticRetries();
+        this.optimisticMaxBackoffNanos = properties.engine().optimisticMaxBackoff().toNanos();
+        this.historyWriter = properties.historyWriteBehind().enabled()
+                ? new PointHistoryWriter(pointHistoryTable, properties.historyWriteBehind(), properties.virtualThreads(),
+                        metrics)
+                : null;
+        this.idempotencyCache = properties.idempotency().enabled()
+                ? new PointIdempotencyCache(properties.idempotency())
+                : null;
+        this.admission = properties.admission().enabled() ? new PointAdmission(properties.admission()) : null;
+        this.summaries = properties.summary().enabled() ? new UserPointSummaries(properties.summary()) : null;
+        this.checkpoints = properties.checkpoint().enabled() ? new UserPointCheckpoints(properties.checkpoint()) : null;
+        this.replayPageSize = Math.max(1, properties.checkpoint().interval());
+        this.journal = properties.wal().enabled()
+                ? new PointJournal(properties.wal(), userPointTable, pointHistoryTable,
+                        this::recordRestored)
+                : null;
+        metrics.bind(lockManager, () -> historyWriter == null ? 0 : historyWriter.pendingCount());
+        metrics.bindDeadlines(deadlines);
+        if (balanceReads != null) {
+            metrics.bindBalanceReads(balanceReads);
+        }
+        if (shardedEngine != null) {
+            metrics.bindShards(shardedEngine);
+        }
+        if (versions != null) {
+            metrics.bindVersions(versions);
+        }
+        if (admission != null) {
+            metrics.bindAdmission(admission);
+        }
+    }
+
+    /**
+     * 유저별 요청 속도와 동시 처리 수 한도 안이면 자리를 내주고, 넘으면 PointAdmissionRejectedException 으로 바로 거절합니다.
+     * 처리가 끝나면 반환한 Permit 을 close 해야 합니다. 한도를 끄면 항상 받습니다.
+     */
+    public PointAdmission.Permit admit(long userId) {
+        return admission == null ? () -> { } : admission.admit(userId);
+    }
+
+    /**
+     * 캐시에 없는 잔액은 테이블에서 읽습니다. 같은 유저의 동시 조회는 테이블 호출 한 번을 나눠 갖습니다.
+     */
+    public UserPoint getUserPoint(long userId) {
+        if (versions != null) {
+            return versions.read(userId);
+        }
+        if (balanceCache != null) {
+            UserPoint cached = balanceCache.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return balanceReads == null ? readPoint(userId) : balanceReads.load(userId, this::readPoint);
+    }
+
+    public List<PointHistory> getPointHistories(long userId) {
+        if (historyWriter != null) {
+            return historyWriter.selectAllByUserId(userId);
+        }
+        return pointHistoryTable.selectAllByUserId(userId);
+    }
+
+    /**
+     * cursor(afterId) 이후의 내역을 query 조건으로 최대 limit 건 조회합니다.
+     */
+    public PointHistoryPage getPointHistories(long userId, PointHistoryQuery query) {
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회
+        PointHistoryQuery probe = query.withLimit(query.limit() + 1);
+        List<PointHistory> histories = historyWriter != null
+                ? historyWriter.selectByUserId(userId, probe)
+                : pointHistoryTable.selectByUserId(userId, probe.afterId(), probe.limit(), probe);
+        boolean hasNext = histories.size() > query.limit();
+        return new PointHistoryPage(hasNext ? histories.subList(0, query.limit()) : histories, hasNext);
+    }
+
+    /**
+     * query 조건에 맞는 내역을 query.limit 건씩 나누어 끝까지 전달합니다.
+     * 전체 내역을 한 번에 메모리에 올리지 않습니다.
+     */
+    public void streamPointHistories(long userId, PointHistoryQuery query, Consumer<List<PointHistory>> chunkConsumer) {
+        PointHistoryPage page = getPointHistories(userId, query);
+        chunkConsumer.accept(page.histories());
+        while (page.hasNext()) {
+            page = getPointHistories(userId, query.after(page.nextCursor()));
+            chunkConsumer.accept(page.histories());
+        }
+    }
+
+    /**
+     * 커밋할 때마다 갱신해 둔 합계와 일별/시간별 구간으로 요약을 만듭니다. 내역 테이블을 읽지 않습니다.
+     */
+    public PointSummary getPointSummary(long userId) {
+        if (summaries == null) {
+            throw new IllegalArgumentException("포인트 요약 집계가 꺼져 있습니다.");
+        }
+        return summaries.get(userId);
+    }
+
+    /**
+     * atMillis 시점의 잔액을 구합니다. updateMillis 는 그때까지 마지막으로 반영된 내역의 시각입니다.
+     * atMillis 이전의 가장 가까운 체크포인트부터 그 뒤의 내역만 다시 더하므로, 유저의 전체 내역을 읽지 않습니다.
+     * (체크포인트를 끄면 내역을 처음부터 다시 더합니다.)
+     */
+    public UserPoint getUserPointAt(long userId, long atMillis) {
+        UserPointCheckpoints.Checkpoint checkpoint = checkpoints == null
+                ? UserPointCheckpoints.Checkpoint.EMPTY
+                : checkpoints.floor(userId, atMillis);
+        long point = checkpoint.point();
+        long updateMillis = checkpoint.updateMillis();
+        int replayed = 0;
+        long cursor = checkpoint.historyId();
+        boolean done = false;
+        while (!done) {
+            PointHistoryPage page = getPointHistories(userId,
+                    new PointHistoryQuery(cursor, replayPageSize, null, null, null));
+            for (PointHistory history : page.histories()) {
+                // 같은 유저의 내역은 커밋 순서대로 쌓이므로, atMillis 를 넘는 내역이 나오면 그 뒤도 모두 넘습니다.
+                if (history.updateMillis() > atMillis) {
+                    done = true;
+                    break;
+                }
+                point += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+                updateMillis = history.updateMillis();
+                replayed++;
+            }
+            done = done || !page.hasNext();
+            if (!done) {
+                cursor = page.nextCursor();
+            }
+        }
+        recordReplay(replayed);
+        return new UserPoint(userId, point, updateMillis);
+    }
+
+    public UserPoint chargePoint(long userId, long amount) {
+        return chargePoint(userId, amount, null);
+    }
+
+    /**
+     * idempotencyKey 가 있으면 같은 키로 이미 처리한 요청의 결과를 다시 실행하지 않고 반환합니다.
+     */
+    public UserPoint chargePoint(long userId, long amount, String idempotencyKey) {
+        return chargePoint(userId, amount, idempotencyKey, PointDeadlines.NONE);
+    }
+
+    /**
+     * deadlineNanos(System.nanoTime 기준)까지 유저 대기열의 맨 앞에 오지 못하면 테이블을 건드리지 않고
+     * PointDeadlineExceededException 으로 버립니다.
+     */
+    public UserPoint chargePoint(long userId, long amount, String idempotencyKey, long deadlineNanos) {
+        return execute(new PointCommand(userId, TransactionType.CHARGE, amount), idempotencyKey, deadlineNanos);
+    }
+
+    public UserPoint usePoint(long userId, long amount) {
+        return usePoint(userId, amount, null);
+    }
+
+    /**
+     * idempotencyKey 가 있으면 같은 키로 이미 처리한 요청의 결과를 다시 실행하지 않고 반환합니다.
+     */
+    public UserPoint usePoint(long userId, long amount, String idempotencyKey) {
+        return usePoint(userId, amount, idempotencyKey, PointDeadlines.NONE);
+    }
+
+    /**
+     * deadlineNanos(System.nanoTime 기준)까지 유저 대기열의 맨 앞에 오지 못하면 테이블을 건드리지 않고
+     * PointDeadlineExceededException 으로 버립니다.
+     */
+    public UserPoint usePoint(long userId, long amount, String idempotencyKey, long deadlineNanos) {
+        return execute(new PointCommand(userId, TransactionType.USE, amount), idempotencyKey, deadlineNanos);
+    }
+
+    public PointTransferResult transferPoint(long fromUserId, long toUserId, long amount) {
+        return transferPoint(fromUserId, toUserId, amount, PointDeadlines.NONE);
+    }
+
+    /**
+     * fromUserId 의 포인트 amount 를 toUserId 로 옮깁니다.
+     * 두 유저의 락을 전역 순서대로 잡고 두 잔액과 두 내역(보낸 쪽 USE, 받은 쪽 CHARGE, 같은 updateMillis)을 한 번에 커밋합니다.
+     * 전역 락 없이 두 유저 락만 잡으므로 겹치지 않는 유저끼리의 이체는 동시에 처리됩니다.
+     * 엔진(group commit, sharded)의 대기열은 거치지 않지만, 대기열의 커밋도 같은 유저 락을 잡으므로 서로 섞이지 않습니다.
+     */
+    public PointTransferResult transferPoint(long fromUserId, long toUserId, long amount, long deadlineNanos) {
+        try {
+            if (amount <= 0) {
+                throw new IllegalArgumentException("이체 금액은 0보다 커야 합니다.");
+            }
+            if (fromUserId == toUserId) {
+                throw new IllegalArgumentException("같은 유저에게 이체할 수 없습니다.");
+            }
+            deadlines.checkArrival(deadlineNanos);
+            PointTransferResult result = submitTransfer(new PointCommand(fromUserId, TransactionType.USE, amount),
+                    new PointCommand(toUserId, TransactionType.CHARGE, amount), deadlineNanos);
+            metrics.recordTransferSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            metrics.recordTransferFailure(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 내역을 비동기로 기록하는 경우 두 내역의 대기열 자리를 먼저 확보하고, 커밋하지 못하면 돌려줍니다.
+     */
+    private PointTransferResult submitTransfer(PointCommand out, PointCommand in, long deadlineNanos) {
+        if (historyWriter != null) {
+            historyWriter.reserve();
+            try {
+                historyWriter.reserve();
+            } catch (RuntimeException | Error e) {
+                historyWriter.release();
+                throw e;
+            }
+        }
+        try {
+            return commitTransfer(out, in, deadlineNanos);
+        } catch (RuntimeException | Error e) {
+            if (historyWriter != null) {
+                historyWriter.release();
+                historyWriter.release();
+            }
+            throw e;
+        }
+    }
+
+    public UserPointCache.Stats getBalanceCacheStats() {
+        return balanceCache == null ? new UserPointCache.Stats(0, 0, 0, 0) : balanceCache.stats();
+    }
+
+    public PointIdempotencyCache.Stats getIdempotencyStats() {
+        return idempotencyCache == null ? new PointIdempotencyCache.Stats(0, 0, 0) : idempotencyCache.stats();
+    }
+
+    public UserPointSingleFlight.Stats getBalanceReadStats() {
+        return balanceReads == null ? new UserPointSingleFlight.Stats(0, 0, 0) : balanceReads.stats();
+    }
+
+    /**
+     * SHARDED 엔진의 shard 별 대기열 길이와 처리 건수. LOCK 엔진이면 빈 목록을 반환합니다.
+     */
+    public List<PointShardedEngine.ShardStats> getShardStats() {
+        return shardedEngine == null ? List.of() : shardedEngine.stats();
+    }
+
+    /**
+     * OPTIMISTIC 엔진의 커밋/충돌/유저 락 전환 횟수. 다른 엔진이면 모두 0 입니다.
+     */
+    public UserPointVersions.Stats getOptimisticStats() {
+        return versions == null ? new UserPointVersions.Stats(0, 0, 0, 0) : versions.stats();
+    }
+
+    /**
+     * 요청 한도. 한도를 끄면 null 을 반환합니다.
+     */
+    public PointAdmission.Limits getAdmissionLimits() {
+        return admission == null ? null : admission.limits();
+    }
+
+    /**
+     * 요청 한도를 실행 중에 바꿉니다. 다음 요청부터 적용됩니다.
+     */
+    public void updateAdmissionLimits(PointAdmission.Limits limits) {
+        if (admission == null) {
+            throw new IllegalArgumentException("요청 한도가 꺼져 있습니다.");
+        }
+        admission.update(limits);
+    }
+
+    public PointAdmission.Stats getAdmissionStats() {
+        return admission == null ? new PointAdmission.Stats(0, 0, 0, 0, 0, 0) : admission.stats();
+    }
+
+    public PointDeadlines.Stats getDeadlineStats() {
+        return deadlines.stats();
+    }
+
+    public UserPointCheckpoints.Stats getCheckpointStats() {
+        return checkpoints == null ? new UserPointCheckpoints.Stats(0, 0, 0, 0) : checkpoints.stats();
+    }
+
+    public UserLockManager.Stats getLockStats() {
+        return lockManager.stats();
+    }
+
+    public PointWriteAheadLog.Stats getWalStats() {
+        return journal == null ? new PointWriteAheadLog.Stats(0, 0, 0, 0) : journal.stats();
+    }
+
+    /**
+     * 지금까지의 WAL 을 스냅샷으로 합칩니다. WAL 을 사용하지 않으면 아무 일도 하지 않습니다.
+     */
+    void snapshot() {
+        if (journal != null) {
+            journal.snapshot();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (groupCommitter != null) {
+            groupCommitter.shutdown();
+        }
+        if (shardedEngine != null) {
+            shardedEngine.shutdown();
+        }
+        if (historyWriter != null) {
+            historyWriter.shutdown();
+        }
+        if (journal != null) {
+            journal.shutdown();
+        }
+        if (admission != null) {
+            admission.shutdown();
+        }
+        metrics.shutdown();
+    }
+
+    /**
+     * 같은 Idempotency-Key 로 재시도한 요청이면 처음 실행의 결과를 반환하고, 아니면 실행합니다.
+     * 재시도는 성공/실패 카운터에 다시 남기지 않습니다.
+     */
+    private UserPoint execute(PointCommand command, String idempotencyKey, long deadlineNanos) {
+        if (idempotencyKey == null || idempotencyCache == null) {
+            return execute(command, deadlineNanos);
+        }
+        return idempotencyCache.execute(idempotencyKey, command, deadlineNanos, () -> execute(command, deadlineNanos));
+    }
+
+    /**
+     * 요청을 검증하고 커밋한 뒤 결과를 거래 종류별 성공/실패 카운터에 남깁니다.
+     */
+    private UserPoint execute(PointCommand command, long deadlineNanos) {
+        try {
+            validateAmount(command.amount(), command.type());
+            deadlines.checkArrival(deadlineNanos);
+            UserPoint result = submit(command, deadlineNanos);
+            metrics.recordSuccess(command.type());
+            return result;
+        } catch (RuntimeException e) {
+            metrics.recordFailure(command.type(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * 내역을 비동기로 기록하는 경우 잔액을 커밋하기 전에 내역 대기열 자리를 먼저 확보합니다.
+     */
+    private UserPoint submit(PointCommand command, long deadlineNanos) {
+        if (historyWriter != null) {
+            historyWriter.reserve();
+        }
+        try {
+            if (shardedEngine != null) {
+                return shardedEngine.submit(command, deadlineNanos);
+            }
+            if (versions != null) {
+                return commitOptimistic(command, deadlineNanos);
+            }
+            return groupCommitter != null
+                    ? groupCommitter.submit(command, deadlineNanos)
+                    : commit(command, deadlineNanos);
+        } catch (RuntimeException | Error e) {
+            if (historyWriter != null) {
+                historyWriter.release();
+            }
+            throw e;
+        }
+    }
+
+    private UserPoint commit(PointCommand command, long deadlineNanos) {
+        long userId = command.userId();
+        try (UserLockManager.Lease lease = lock(userId, deadlineNanos)) {
+            deadlines.checkQueued(deadlineNanos);
+            UserPoint current = currentPoint(userId);
+            if (command.type() == TransactionType.USE) {
+                validateBalance(current.point(), command.amount());
+            }
+            return apply(List.of(command), List.of(current.point() + command.delta())).get(0);
+        }
+    }
+
+    /**
+     * 락 없이 잔액과 version 을 읽어 새 잔액을 계산하고, version 이 그대로일 때만 커밋합니다.
+     * 충돌하면 최대 optimisticRetries 번까지 점점 길게 쉬었다가 다시 시도하고, 그래도 실패하면 유저 락을 잡고 커밋합니다.
+     * 재시도를 모두 실패한 유저는 pessimisticWindow 동안 처음부터 유저 락으로 커밋해 헛된 재시도를 줄입니다.
+     * 시도할 때마다, 그리고 유저 락을 얻은 뒤에 처리 기한을 확인하고, 유저 락은 처리 기한까지만 기다립니다.
+     */
+    private UserPoint commitOptimistic(PointCommand command, long deadlineNanos) {
+        long userId = command.userId();
+        UserPointVersions.Slot slot = versions.slot(userId);
+        if (!versions.contended(slot)) {
+            long backoffNanos = OPTIMISTIC_BASE_BACKOFF_NANOS;
+            for (int attempt = 0; ; attempt++) {
+                deadlines.checkQueued(deadlineNanos);
+                UserPointVersions.Versioned read = versions.read(slot);
+                if (read.retired()) {
+                    slot = versions.slot(userId);
+                    continue;
+                }
+                if (command.type() == TransactionType.USE) {
+                    validateBalance(read.point().point(), command.amount());
+                }
+                if (versions.tryClaim(slot, read)) {
+                    return applyClaimed(slot, command, read.point().point());
+                }
+                if (attempt >= optimisticRetries) {
+                    break;
+                }
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(backoffNanos) + 1);
+                backoffNanos = Math.min(backoffNanos * 2, optimisticMaxBackoffNanos);
+            }
+            versions.markContended(slot);
+        }
+
+        versions.recordFallback();
+        try (UserLockManager.Lease lease = lock(userId, deadlineNanos)) {
+            deadlines.checkQueued(deadlineNanos);
+            UserPointVersions.Claimed claimed = versions.claim(userId);
+            long point = claimed.read().point().point();
+            if (command.type() == TransactionType.USE && point < command.amount()) {
+                versions.abort(claimed.slot());
+                throw insufficientBalance();
+            }
+            return applyClaimed(claimed.slot(), command, point);
+        }
+    }
+
+    /**
+     * 커밋 권한을 얻은 상태에서 요청을 반영하고, 성공하면 새 잔액을 게시하고 실패하면 권한만 돌려줍니다.
+     */
+    private UserPoint applyClaimed(UserPointVersions.Slot slot, PointCommand command, long point) {
+        UserPoint updated = null;
+        try {
+            updated = apply(List.of(command), List.of(point + command.delta())).get(0);
+            return updated;
+        } finally {
+            if (updated != null) {
+                versions.publish(slot, updated);
+            } else {
+                versions.abort(slot);
+            }
+        }
+    }
+
+    /**
+     * 두 유저의 락을 잡고 보낸 유저의 잔액을 확인한 뒤, 두 유저의 잔액과 내역을 한 번에 커밋합니다.
+     */
+    private PointTransferResult commitTransfer(PointCommand out, PointCommand in, long deadlineNanos) {
+        try (UserLockManager.Lease lease = lockPair(out.userId(), in.userId(), deadlineNanos)) {
+            deadlines.checkQueued(deadlineNanos);
+            if (versions != null) {
+                return commitTransferClaimed(out, in);
+            }
+            long fromPoint = currentPoint(out.userId()).point();
+            validateBalance(fromPoint, out.amount());
+            long toPoint = currentPoint(in.userId()).point();
+            List<UserPoint> updated = apply(List.of(out, in),
+                    List.of(fromPoint + out.delta(), toPoint + in.delta()));
+            return new PointTransferResult(updated.get(0), updated.get(1));
+        }
+    }
+
+    /**
+     * OPTIMISTIC 에서는 두 유저 락을 잡은 뒤 두 유저의 version 커밋 권한도 얻어, 락 없이 커밋하는 요청과 섞이지 않게 합니다.
+     * 두 유저 락을 잡고 있어 커밋 권한을 기다리는 쪽은 이 요청뿐이므로, 권한을 얻는 순서는 상관없습니다.
+     */
+    private PointTransferResult commitTransferClaimed(PointCommand out, PointCommand in) {
+        UserPointVersions.Claimed from = versions.claim(out.userId());
+        UserPointVersions.Claimed to = versions.claim(in.userId());
+        UserPointVersions.Slot fromSlot = from.slot();
+        UserPointVersions.Slot toSlot = to.slot();
+        long fromPoint = from.read().point().point();
+        long toPoint = to.read().point().point();
+        List<UserPoint> updated = null;
+        try {
+            validateBalance(fromPoint, out.amount());
+            updated = apply(List.of(out, in), List.of(fromPoint + out.delta(), toPoint + in.delta()));
+            return new PointTransferResult(updated.get(0), updated.get(1));
+        } finally {
+            if (updated != null) {
+                versions.publish(fromSlot, updated.get(0));
+                versions.publish(toSlot, updated.get(1));
+            } else {
+                versions.abort(fromSlot);
+                versions.abort(toSlot);
+            }
+        }
+    }
+
+    /**
+     * 한 유저의 요청들을 도착 순서대로 적용한 뒤 잔액은 한 번만 쓰고, 내역은 요청마다 한 건씩 한 번에 추가합니다.
+     * 처리 기한이 지난 요청은 잔액을 읽기 전에 버리고, 잔액이 부족한 사용 요청만 실패하며 나머지 요청은 그대로 커밋됩니다.
+     */
+    private void commitBatch(long userId, List<PointGroupCommitter.PendingCommand> batch) {
+        try (UserLockManager.Lease lease = lock(userId)) {
+            List<PointGroupCommitter.PendingCommand> accepted = new ArrayList<>(batch.size());
+            List<Long> balances = new ArrayList<>(batch.size());
+            accept(userId, batch, accepted, balances);
+            applyAccepted(accepted, balances);
+        }
+    }
+
+    /**
+     * sharded 엔진이 꺼낸 여러 유저의 요청을 한 번에 커밋합니다. 유저별 처리는 commitBatch 와 같고,
+     * 배치에 든 유저들의 락을 모두 잡은 뒤 잔액은 유저마다 한 번씩 쓰고 내역은 배치 전체를 한 번에 추가합니다.
+     */
+    private void commitShardBatch(Map<Long, List<PointGroupCommitter.PendingCommand>> byUser) {
+        try (UserLockManager.Lease lease = lockAll(byUser.keySet())) {
+            List<PointGroupCommitter.PendingCommand> accepted = new ArrayList<>();
+            List<Long> balances = new ArrayList<>();
+            byUser.forEach((userId, batch) -> accept(userId, batch, accepted, balances));
+            applyAccepted(accepted, balances);
+        }
+    }
+
+    /**
+     * 처리 기한이 지났거나 잔액이 부족한 요청을 실패시키고, 나머지 요청과 적용 후 잔액을 accepted, balances 에 추가합니다.
+     * 유저 락을 잡은 상태에서 호출해야 합니다.
+     */
+    private void accept(long userId, List<PointGroupCommitter.PendingCommand> batch,
+                        List<PointGroupCommitter.PendingCommand> accepted, List<Long> balances) {
+        List<PointGroupCommitter.PendingCommand> live = new ArrayList<>(batch.size());
+        for (PointGroupCommitter.PendingCommand pending : batch) {
+            if (deadlines.expiredInQueue(pending.deadlineNanos())) {
+                pending.result().completeExceptionally(new PointDeadlineExceededException());
+            } else {
+                live.add(pending);
+            }
+        }
+        if (live.isEmpty()) {
+            return;
+        }
+
+        long point = currentPoint(userId).point();
+        for (PointGroupCommitter.PendingCommand pending : live) {
+            PointCommand command = pending.command();
+            if (command.type() == TransactionType.USE && point < command.amount()) {
+                pending.result().completeExceptionally(insufficientBalance());
+                continue;
+            }
+            point += command.delta();
+            accepted.add(pending);
+            balances.add(point);
+        }
+    }
+
+    /**
+     * accept 로 모은 요청들을 한 번에 반영한 뒤 요청마다 적용 후 잔액으로 result 를 완료합니다.
+     */
+    private void applyAccepted(List<PointGroupCommitter.PendingCommand> accepted, List<Long> balances) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+        List<UserPoint> updated = apply(
+                accepted.stream().map(PointGroupCommitter.PendingCommand::command).toList(), balances);
+        int user = 0;
+        for (int i = 0; i < accepted.size(); i++) {
+            long userId = accepted.get(i).command().userId();
+            if (updated.get(user).id() != userId) {
+                user++;
+            }
+            accepted.get(i).result().complete(new UserPoint(userId, balances.get(i), updated.get(user).updateMillis()));
+        }
+    }
+
+    /**
+     * 커밋한 요청들의 잔액과 내역을 반영합니다. balances 는 요청마다 적용한 뒤의 잔액입니다.
+     * 유저마다 마지막 잔액만 한 번 쓰고, 잔액을 쓴 유저 순서대로 반환합니다. (이체는 보낸 유저, 받은 유저)
+     * WAL 을 사용하면 내역 id 를 먼저 발급해 WAL 에 기록하고, 디스크에 반영된 뒤에 테이블을 변경합니다.
+     * 관련된 유저의 락(OPTIMISTIC 에서는 version 커밋 권한)을 모두 잡은 상태에서 호출해야 하고,
+     * 같은 유저의 요청은 commands 안에서 이어져 있어야 합니다.
+     */
+    private List<UserPoint> apply(List<PointCommand> commands, List<Long> balances) {
+        if (journal == null) {
+            List<UserPoint> updated = storePoints(commands, balances, 0L);
+            long updateMillis = updated.get(0).updateMillis();
+            List<PointHistory> histories = recordHistories(commands, updateMillis);
+            summarize(commands, updateMillis);
+            checkpoint(histories);
+            return updated;
+        }
+
+        long updateMillis = System.currentTimeMillis();
+        List<PointHistory> histories = new ArrayList<>(commands.size());
+        for (PointCommand command : commands) {
+            histories.add(pointHistoryTable.allocate(command.userId(), command.amount(), command.type(), updateMillis));
+        }
+        long start = System.nanoTime();
+        journal.append(histories, balances);
+        metrics.recordWalAppend(System.nanoTime() - start);
+        List<UserPoint> updated = storePoints(commands, balances, updateMillis);
+        if (historyWriter != null) {
+            histories.forEach(historyWriter::append);
+        } else {
+            start = System.nanoTime();
+            pointHistoryTable.insertAll(histories);
+            metrics.recordHistoryInsert(System.nanoTime() - start);
+        }
+        summarize(commands, updateMillis);
+        checkpoint(histories);
+        return updated;
+    }
+
+    /**
+     * 유저가 바뀌는 곳마다 직전 유저의 마지막 잔액을 씁니다.
+     * updateMillis 는 WAL 을 사용할 때만 쓰이며, WAL 에 기록한 시각 그대로 저장합니다.
+     */
+    private List<UserPoint> storePoints(List<PointCommand> commands, List<Long> balances, long updateMillis) {
+        int last = commands.size() - 1;
+        if (commands.get(0).userId() == commands.get(last).userId()) {
+            return List.of(storePoint(commands.get(last).userId(), balances.get(last), updateMillis));
+        }
+        List<UserPoint> updated = new ArrayList<>(2);
+        for (int i = 0; i <= last; i++) {
+            long userId = commands.get(i).userId();
+            if (i == last || commands.get(i + 1).userId() != userId) {
+                updated.add(storePoint(userId, balances.get(i), updateMillis));
+            }
+        }
+        return updated;
+    }
+
+    private void checkpoint(List<PointHistory> histories) {
+        if (checkpoints != null) {
+            histories.forEach(checkpoints::record);
+        }
+    }
+
+    private void recordReplay(int rows) {
+        if (checkpoints != null) {
+            checkpoints.recordReplay(rows);
+        }
+    }
+
+    /**
+     * WAL 에서 복구한 내역을 요약과 체크포인트에 다시 반영합니다.
+     */
+    private void recordRestored(PointHistory history) {
+        if (summaries != null) {
+            summaries.record(history);
+        }
+        if (checkpoints != null) {
+            checkpoints.record(history);
+        }
+    }
+
+    private void summarize(List<PointCommand> commands, long updateMillis) {
+        if (summaries != null) {
+            for (PointCommand command : commands) {
+                summaries.record(command.userId(), command.type(), command.amount(), updateMillis);
+            }
+        }
+    }
+
+    /**
+     * 현재 잔액을 캐시에서 읽고, 없으면 테이블에서 읽어 캐시에 적재합니다.
+     * 유저 락을 잡은 상태에서 호출해야 합니다.
+     */
+    private UserPoint currentPoint(long userId) {
+        if (balanceCache == null) {
+            return selectPoint(userId);
+        }
+        UserPoint cached = balanceCache.get(userId);
+        return cached != null ? cached : loadPoint(userId);
+    }
+
+    /**
+     * 조회 요청의 잔액을 테이블에서 읽습니다.
+     * 유저 락을 잡지 않으므로 쓰기 뒤에 줄을 서지 않습니다. 대신 읽는 동안 쓰기가 있었으면 읽은 잔액을 캐시에 넣지 않아,
+     * 쓰기가 넣은 잔액을 오래된 잔액으로 덮지 않습니다.
+     */
+    private UserPoint readPoint(long userId) {
+        if (balanceCache == null) {
+            return selectPoint(userId);
+        }
+        long generation = balanceCache.generation(userId);
+        UserPoint cached = balanceCache.peek(userId);
+        if (cached != null) {
+            return cached;
+        }
+        UserPoint loaded = selectPoint(userId);
+        balanceCache.putIfUnchanged(loaded, generation);
+        return loaded;
+    }
+
+    private UserPoint loadPoint(long userId) {
+        UserPoint loaded = selectPoint(userId);
+        balanceCache.put(loaded);
+        return loaded;
+    }
+
+    /**
+     * 잔액을 테이블에 쓰고 캐시에도 반영합니다. (write-through)
+     * 저장 전에 시작한 조회에 이후의 조회가 합류하지 않도록 진행 중인 조회도 목록에서 뺍니다.
+     * 유저 락을 잡은 상태에서 호출해야 합니다.
+     */
+    private UserPoint storePoint(long userId, long point, long updateMillis) {
+        long start = System.nanoTime();
+        UserPoint updated = journal == null
+                ? userPointTable.insertOrUpdate(userId, point)
+                : ((PrimitiveUserPointTable) userPointTable).insertOrUpdate(userId, point, updateMillis);
+        metrics.recordTableUpdate(System.nanoTime() - start);
+        if (balanceReads != null) {
+            balanceReads.invalidate(userId);
+        }
+        if (balanceCache != null) {
+            balanceCache.put(updated);
+        }
+        return updated;
+    }
+
+    /**
+     * 커밋된 요청들의 내역을 남깁니다. write-behind 모드에서는 대기열에 넣고 바로 반환합니다.
+     * 유저 락을 잡은 상태에서 호출해야 합니다.
+     */
+    private List<PointHistory> recordHistories(List<PointCommand> commands, long updateMillis) {
+        if (historyWriter != null) {
+            List<PointHistory> histories = new ArrayList<>(commands.size());
+            commands.forEach(command -> histories.add(historyWriter.append(command, updateMillis)));
+            return histories;
+        }
+        long start = System.nanoTime();
+        List<PointHistory> histories;
+        if (commands.size() == 1) {
+            PointCommand command = commands.get(0);
+            histories = List.of(
+                    pointHistoryTable.insert(command.userId(), command.amount(), command.type(), updateMillis));
+        } else {
+            histories = pointHistoryTable.insertAll(commands, updateMillis);
+        }
+        metrics.recordHistoryInsert(System.nanoTime() - start);
+        return histories;
+    }
+
+    private UserPoint selectPoint(long userId) {
+        long start = System.nanoTime();
+        UserPoint userPoint = userPointTable.selectById(userId);
+        metrics.recordTableSelect(System.nanoTime() - start);
+        return userPoint;
+    }
+
+    /**
+     * 유저 락을 얻고 기다린 시간을 기록합니다.
+     */
+    private UserLockManager.Lease lock(long userId) {
+        long start = System.nanoTime();
+        UserLockManager.Lease lease = lockManager.lock(userId);
+        metrics.recordLockWait(System.nanoTime() - start);
+        return lease;
+    }
+
+    /**
+     * 여러 유저의 락을 전역 순서대로 모두 얻고 기다린 시간을 기록합니다.
+     */
+    private UserLockManager.Lease lockAll(Collection<Long> userIds) {
+        long start = System.nanoTime();
+        UserLockManager.Lease lease = lockManager.lockAll(userIds);
+        metrics.recordLockWait(System.nanoTime() - start);
+        return lease;
+    }
+
+    /**
+     * 처리 기한까지만 유저 락을 기다립니다. 기다리다 기한이 지나면 대기열에서 기한이 지난 요청으로 집계합니다.
+     */
+    private UserLockManager.Lease lock(long userId, long deadlineNanos) {
+        long start = System.nanoTime();
+        UserLockManager.Lease lease;
+        try {
+            lease = lockManager.lock(userId, deadlineNanos);
+        } catch (PointDeadlineExceededException e) {
+            deadlines.expiredInQueue(deadlineNanos);
+            throw e;
+        }
+        metrics.recordLockWait(System.nanoTime() - start);
+        return lease;
+    }
+
+    private UserLockManager.Lease lockPair(long userId, long otherUserId, long deadlineNanos) {
+        long start = System.nanoTime();
+        UserLockManager.Lease lease;
+        try {
+            lease = lockManager.lockPair(userId, otherUserId, deadlineNanos);
+        } catch (PointDeadlineExceededException e) {
+            deadlines.expiredInQueue(deadlineNanos);
+            throw e;
+        }
+        metrics.recordLockWait(System.nanoTime() - start);
+        return lease;
+    }
+
+    private void validateAmount(long amount, TransactionType type) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException(type.label() + " 금액은 0보다 커야 합니다.");
+        }
+    }
+
+    private void validateBalance(long point, long amount) {
+        if (point < amount) {
+            throw insufficientBalance();
+        }
+    }
+
+    private static IllegalArgumentException insufficientBalance() {
+        return new IllegalArgumentException("포인트 잔액이 부족합니다.");
+    }
 }
@@ -0,0 +1,202 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * userId 를 shardCount 개의 shard 로 나누고, shard 마다 전용 스레드 하나가 그 shard 유저의 충전/사용을 모두 커밋합니다.
+ * - 요청 스레드는 shard 대기열(lock-free MPSC 큐)에 요청을 넣고 결과 future 를 기다리기만 합니다.
+ * - shard 스레드는 대기열에서 최대 batchSize 건을 꺼내 유저별로 묶고, 꺼낸 배치 전체를 한 번에 커밋합니다.
+ *   배치에 든 유저들의 락을 전역 순서대로 모두 잡은 뒤, 잔액은 유저마다 한 번씩 저장하고
+ *   내역은 배치 전체를 한 번에 추가한 다음 요청의 future 를 완료합니다.
+ * - 한 유저의 요청은 항상 같은 shard 스레드가 도착 순서대로 처리하므로 쓰기끼리는 유저 락에서 경합하지 않습니다.
+ * - shard 별 대기열 길이와 처리 건수를 stats 로 노출해 shard 간 쏠림을 볼 수 있게 합니다.
+ */
+public class PointShardedEngine {
+
+    public record ShardStats(int shard, int queueDepth, long processedCount, long batchCount) {
+    }
+
+    /**
+     * shard 가 꺼낸 배치를 실제로 커밋하는 로직
+     * byUser 는 유저별 요청을 도착 순서대로 묶은 것이고, 각 요청의 result 를 완료(또는 예외 완료)시켜야 합니다.
+     */
+    interface BatchCommitter {
+        void commit(Map<Long, List<PointGroupCommitter.PendingCommand>> byUser);
+    }
+
+    private final Shard[] shards;
+    private final int batchSize;
+    private final BatchCommitter committer;
+
+    PointShardedEngine(PointProperties.Engine properties, BatchCommitter committer) {
+        if (properties.shardCount() < 1) {
+            throw new IllegalArgumentException("shard 수는 1 이상이어야 합니다.");
+        }
+        this.batchSize = Math.max(1, properties.batchSize());
+        this.committer = committer;
+        this.shards = new Shard[properties.shardCount()];
+        ThreadFactory threadFactory = PointThreads.factory("point-shard-", false);
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+            shards[i].thread = threadFactory.newThread(shards[i]::run);
+            shards[i].thread.start();
+        }
+    }
+
+    /**
+     * 요청을 유저의 shard 대기열에 넣고 커밋될 때까지 기다립니다.
+     */
+    UserPoint submit(PointCommand command, long deadlineNanos) {
+        PointGroupCommitter.PendingCommand pending =
+                new PointGroupCommitter.PendingCommand(command, deadlineNanos, new CompletableFuture<>());
+        Shard shard = shards[shardOf(command.userId())];
+        if (!shard.running) {
+            throw new IllegalStateException("포인트 처리 엔진이 종료되었습니다.");
+        }
+        shard.offer(pending);
+        if (!shard.running) {
+            shard.abandonAfterExit(pending);
+        }
+        return await(pending.result());
+    }
+
+    List<ShardStats> stats() {
+        List<ShardStats> stats = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            stats.add(stats(i));
+        }
+        return stats;
+    }
+
+    ShardStats stats(int index) {
+        Shard shard = shards[index];
+        return new ShardStats(index, shard.depth.get(), shard.processedCount, shard.batchCount);
+    }
+
+    int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * 새 요청을 받지 않고, 대기열에 남은 요청을 모두 커밋한 뒤 shard 스레드를 끝냅니다.
+     */
+    void shutdown() {
+        for (Shard shard : shards) {
+            shard.running = false;
+            LockSupport.unpark(shard.thread);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    int shardOf(long userId) {
+        long mixed = userId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(mixed ^ (mixed >>> 32), (long) shards.length);
+    }
+
+    private final class Shard {
+        private final ConcurrentLinkedQueue<PointGroupCommitter.PendingCommand> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private Thread thread;
+        private volatile boolean running = true;
+        private volatile boolean sleeping;
+        // shard 스레드만 쓰고 stats 에서 읽습니다.
+        private volatile long processedCount;
+        private volatile long batchCount;
+
+        private void offer(PointGroupCommitter.PendingCommand pending) {
+            queue.add(pending);
+            depth.incrementAndGet();
+            if (sleeping) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        /**
+         * 종료 중에 들어온 요청이 shard 스레드가 끝난 뒤에도 대기열에 남아 있으면 실패시킵니다.
+         */
+        private void abandonAfterExit(PointGroupCommitter.PendingCommand pending) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (queue.remove(pending)) {
+                pending.result().completeExceptionally(new IllegalStateException("포인트 처리 엔진이 종료되었습니다."));
+            }
+        }
+
+        private void run() {
+            List<PointGroupCommitter.PendingCommand> batch = new ArrayList<>(batchSize);
+            while (true) {
+                PointGroupCommitter.PendingCommand pending;
+                while (batch.size() < batchSize && (pending = queue.poll()) != null) {
+                    batch.add(pending);
+                }
+                if (batch.isEmpty()) {
+                    if (!running) {
+                        return;
+                    }
+                    // sleeping 을 먼저 알린 뒤 대기열을 다시 확인해야, 그 사이에 들어온 요청의 unpark 를 놓치지 않습니다.
+                    sleeping = true;
+                    if (queue.isEmpty() && running) {
+                        LockSupport.park(this);
+                    }
+                    sleeping = false;
+                    continue;
+                }
+                // 요청의 future 가 완료되기 전에 집계해야, 결과를 받은 쪽에서 본 stats 에 그 요청이 포함됩니다.
+                depth.addAndGet(-batch.size());
+                processedCount += batch.size();
+                batchCount++;
+                commit(batch);
+                batch.clear();
+            }
+        }
+
+        /**
+         * 꺼낸 요청을 도착 순서를 유지한 채 유저별로 묶어 배치 전체를 한 번에 커밋합니다.
+         * 커밋에서 예외(Error 포함)가 나면 배치의 남은 요청을 모두 그 예외로 실패시키고, shard 스레드는 계속 처리합니다.
+         */
+        private void commit(List<PointGroupCommitter.PendingCommand> batch) {
+            Map<Long, List<PointGroupCommitter.PendingCommand>> byUser = new LinkedHashMap<>();
+            for (PointGroupCommitter.PendingCommand pending : batch) {
+                byUser.computeIfAbsent(pending.command().userId(), id -> new ArrayList<>()).add(pending);
+            }
+            try {
+                committer.commit(byUser);
+            } catch (Throwable e) {
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+        }
+    }
+
+    private static UserPoint await(CompletableFuture<UserPoint> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 유저별 포인트 요약
+ * - total : 지금까지의 거래 종류별 합계와 건수
+ * - daily, hourly : 가장 최근 거래 시각을 기준으로 유지하는 일별/시간별 구간 (오래된 순, 거래가 없는 구간은 생략)
+ */
+public record PointSummary(
+        long userId,
+        Totals total,
+        List<Bucket> daily,
+        List<Bucket> hourly
+) {
+
+    /**
+     * 거래 종류별 합계와 건수
+     */
+    public record Totals(
+            long chargedAmount,
+            long chargeCount,
+            long usedAmount,
+            long useCount
+    ) {
+
+        public static final Totals EMPTY = new Totals(0, 0, 0, 0);
+    }
+
+    /**
+     * start(설정한 시간대 기준) 부터 하루 또는 한 시간 동안의 합계
+     */
+    public record Bucket(
+            LocalDateTime start,
+            Totals totals
+    ) {
+    }
+}
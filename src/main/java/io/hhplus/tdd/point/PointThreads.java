@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PointService 내부 executor 들이 사용할 스레드 생성
+ * - virtual 이면 virtual thread, 아니면 daemon platform thread 를 만듭니다.
+ */
+final class PointThreads {
+
+    private PointThreads() {
+    }
+
+    static ThreadFactory factory(String prefix, boolean virtual) {
+        if (virtual) {
+            return Thread.ofVirtual().name(prefix, 1).factory();
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
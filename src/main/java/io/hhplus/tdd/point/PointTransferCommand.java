@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 요청 한 건 (fromUserId 의 포인트 amount 를 toUserId 로 옮김)
+ */
+public record PointTransferCommand(
+        long fromUserId,
+        long toUserId,
+        long amount
+) {
+}
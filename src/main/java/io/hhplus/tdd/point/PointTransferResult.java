@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 결과. 보낸 유저와 받은 유저의 이체 후 잔액이 담깁니다.
+ */
+public record PointTransferResult(
+        UserPoint from,
+        UserPoint to
+) {
+}
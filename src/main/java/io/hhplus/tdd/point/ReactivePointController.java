@@ -0,0 +1,162 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static io.hhplus.tdd.point.PointController.IDEMPOTENCY_KEY_HEADER;
+import static io.hhplus.tdd.point.PointController.NDJSON;
+import static io.hhplus.tdd.point.PointController.NEXT_CURSOR_HEADER;
+import static io.hhplus.tdd.point.PointController.REQUEST_TIMEOUT_HEADER;
+
+/**
+ * PointController 와 같은 /point API 를 WebFlux 로 제공합니다. (spring.main.web-application-type=reactive 일 때만 등록)
+ */
+@RestController
+@RequestMapping("/point")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePointController {
+
+    private final ReactivePointService reactivePointService;
+    private final PointProperties.History historyProperties;
+    private final PointProperties.Deadline deadlineProperties;
+
+    public ReactivePointController(ReactivePointService reactivePointService, PointProperties properties) {
+        this.reactivePointService = reactivePointService;
+        this.historyProperties = properties.history();
+        this.deadlineProperties = properties.deadline();
+    }
+
+    /**
+     * 특정 유저의 포인트를 조회합니다.
+     */
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return reactivePointService.getUserPoint(id);
+    }
+
+    /**
+     * 특정 유저의 at(updateMillis) 시점 포인트를 조회합니다.
+     */
+    @GetMapping("{id}/balance")
+    public Mono<UserPoint> balance(
+            @PathVariable long id,
+            @RequestParam long at
+    ) {
+        return reactivePointService.getUserPointAt(id, at);
+    }
+
+    /**
+     * 특정 유저의 포인트 합계와 일별/시간별 충전/사용 구간을 조회합니다.
+     */
+    @GetMapping("{id}/summary")
+    public Mono<PointSummary> summary(
+            @PathVariable long id
+    ) {
+        return reactivePointService.getPointSummary(id);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 조회합니다.
+     * - after 이후의 내역을 limit 건까지 반환하고, 다음 페이지가 있으면 X-Next-Cursor 헤더로 다음 after 값을 알려줍니다.
+     * - type, from, to(updateMillis, to 는 미포함) 로 거래 종류와 시간 범위를 거를 수 있습니다.
+     */
+    @GetMapping("{id}/histories")
+    public Mono<ResponseEntity<Flux<PointHistory>>> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        int pageSize = limit == null ? historyProperties.defaultLimit() : Math.min(limit, historyProperties.maxLimit());
+        return Mono.fromCallable(() -> new PointHistoryQuery(after == null ? 0 : after, pageSize, type, from, to))
+                .flatMap(query -> reactivePointService.getPointHistories(id, query))
+                .map(page -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (page.hasNext()) {
+                        response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+                    }
+                    return response.body(Flux.fromIterable(page.histories()));
+                });
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 한 줄에 한 건씩(NDJSON) 스트리밍합니다.
+     * 전체 목록을 만들지 않고 streamChunkSize 건씩 읽어 바로 씁니다.
+     */
+    @GetMapping(value = "{id}/histories/stream", produces = NDJSON)
+    public Flux<PointHistory> historyStream(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        return Mono.fromCallable(() -> new PointHistoryQuery(
+                        after == null ? 0 : after, historyProperties.streamChunkSize(), type, from, to))
+                .flatMapMany(query -> reactivePointService.streamPointHistories(id, query));
+    }
+
+    /**
+     * 특정 유저의 포인트를 충전합니다.
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청은 다시 실행하지 않고 처음 결과를 반환합니다.
+     * X-Request-Timeout 헤더(ms, 없으면 설정한 기본값) 안에 처리를 시작하지 못하면 충전하지 않고 504 를 반환합니다.
+     */
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) Long timeoutMillis
+    ) {
+        long deadlineNanos = PointDeadlines.after(deadlineProperties.timeout(timeoutMillis));
+        return reactivePointService.chargePoint(id, amount, idempotencyKey, deadlineNanos);
+    }
+
+    /**
+     * 특정 유저의 포인트를 사용합니다.
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청은 다시 실행하지 않고 처음 결과를 반환합니다.
+     * X-Request-Timeout 헤더(ms, 없으면 설정한 기본값) 안에 처리를 시작하지 못하면 사용하지 않고 504 를 반환합니다.
+     */
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) Long timeoutMillis
+    ) {
+        long deadlineNanos = PointDeadlines.after(deadlineProperties.timeout(timeoutMillis));
+        return reactivePointService.usePoint(id, amount, idempotencyKey, deadlineNanos);
+    }
+
+    /**
+     * fromUserId 의 포인트를 toUserId 로 이체합니다. 두 유저의 잔액과 내역이 함께 커밋됩니다.
+     */
+    @PostMapping("transfer")
+    public Mono<PointTransferResult> transfer(
+            @RequestBody PointTransferCommand command,
+            @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) Long timeoutMillis
+    ) {
+        long deadlineNanos = PointDeadlines.after(deadlineProperties.timeout(timeoutMillis));
+        return reactivePointService.transferPoint(command, deadlineNanos);
+    }
+
+    /**
+     * 여러 유저의 포인트를 한 번에 충전/사용합니다.
+     * 요청 순서대로 건별 처리 결과(성공 시 잔액, 실패 시 사유)를 반환합니다.
+     */
+    @PostMapping("batch")
+    public Mono<List<PointBatchItemResult>> batch(
+            @RequestBody List<PointCommand> commands
+    ) {
+        return reactivePointService.batch(commands);
+    }
+}
@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+
+/**
+ * WebFlux 용 PointHistoryExportController. (spring.main.web-application-type=reactive 일 때만 등록)
+ */
+@RestController
+@RequestMapping("/point/histories/exports")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePointHistoryExportController {
+
+    private final PointHistoryExportService exportService;
+
+    public ReactivePointHistoryExportController(PointHistoryExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<PointHistoryExport>> start() {
+        return Mono.fromCallable(() -> ResponseEntity.accepted().body(exportService.start()));
+    }
+
+    @GetMapping("{exportId}")
+    public Mono<PointHistoryExport> export(
+            @PathVariable String exportId
+    ) {
+        return Mono.fromCallable(() -> exportService.get(exportId));
+    }
+
+    /**
+     * 파일 Resource 를 반환하면 Netty 가 FileChannel.transferTo 로 소켓에 바로 보냅니다. (zero-copy)
+     */
+    @GetMapping("{exportId}/file")
+    public Mono<ResponseEntity<Resource>> file(
+            @PathVariable String exportId
+    ) {
+        return Mono.fromCallable(() -> {
+            Path file = exportService.file(exportId);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                    .body(new FileSystemResource(file));
+        });
+    }
+}
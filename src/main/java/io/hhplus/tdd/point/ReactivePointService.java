@@ -0,0 +1,134 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * WebFlux 용 PointService. (spring.main.web-application-type=reactive 일 때만 등록)
+ * - 테이블 호출처럼 스레드를 막는 작업은 blockingThreads 개로 제한된 scheduler 에서만 실행하고,
+ *   요청을 받는 event loop 스레드는 막지 않습니다.
+ * - 같은 유저의 충전/사용은 UserSequentialExecutor 로 요청 순서대로 하나씩 실행합니다.
+ *   순서를 기다리는 요청은 스레드를 차지하지 않으므로, 같은 유저에게 요청이 몰려도 스레드가 늘지 않습니다.
+ *   PointService 의 유저 락은 그대로 거치지만 경합이 없어 바로 얻습니다.
+ * - 잔액 조회/충전/사용은 servlet 의 AdmissionInterceptor 와 같이 PointService.admit 을 먼저 거칩니다.
+ *   자리는 구독할 때 받고, 결과가 나오거나 구독이 취소되면 돌려줍니다.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePointService {
+
+    private final PointService pointService;
+    private final PointBatchService pointBatchService;
+    private final Scheduler blockingScheduler;
+    private final UserSequentialExecutor userExecutor;
+
+    public ReactivePointService(PointService pointService, PointBatchService pointBatchService,
+                                PointProperties properties) {
+        PointProperties.Reactive reactive = properties.reactive();
+        this.pointService = pointService;
+        this.pointBatchService = pointBatchService;
+        this.blockingScheduler = Schedulers.newBoundedElastic(reactive.blockingThreads(),
+                reactive.blockingQueueCapacity(), "point-blocking");
+        this.userExecutor = new UserSequentialExecutor(blockingScheduler, reactive.userQueueCapacity());
+    }
+
+    public Mono<UserPoint> getUserPoint(long userId) {
+        return admitted(userId,
+                () -> Mono.fromCallable(() -> pointService.getUserPoint(userId)).subscribeOn(blockingScheduler));
+    }
+
+    /**
+     * 체크포인트 뒤의 내역을 테이블에서 읽으므로 blocking scheduler 에서 실행합니다.
+     */
+    public Mono<UserPoint> getUserPointAt(long userId, long atMillis) {
+        return Mono.fromCallable(() -> pointService.getUserPointAt(userId, atMillis)).subscribeOn(blockingScheduler);
+    }
+
+    /**
+     * 요약은 메모리에서 바로 만들므로 blocking scheduler 를 거치지 않습니다.
+     */
+    public Mono<PointSummary> getPointSummary(long userId) {
+        return Mono.fromCallable(() -> pointService.getPointSummary(userId));
+    }
+
+    public Mono<PointHistoryPage> getPointHistories(long userId, PointHistoryQuery query) {
+        return Mono.fromCallable(() -> pointService.getPointHistories(userId, query)).subscribeOn(blockingScheduler);
+    }
+
+    /**
+     * 조건에 맞는 내역을 query.limit 건씩 읽어 전달합니다.
+     * 다음 페이지는 구독자가 요청할 때 읽으므로, 느린 클라이언트 때문에 내역이 메모리에 쌓이지 않습니다.
+     */
+    public Flux<PointHistory> streamPointHistories(long userId, PointHistoryQuery query) {
+        return getPointHistories(userId, query)
+                .expand(page -> page.hasNext()
+                        ? getPointHistories(userId, query.after(page.nextCursor()))
+                        : Mono.empty())
+                .concatMapIterable(PointHistoryPage::histories);
+    }
+
+    public Mono<UserPoint> chargePoint(long userId, long amount) {
+        return chargePoint(userId, amount, null);
+    }
+
+    public Mono<UserPoint> chargePoint(long userId, long amount, String idempotencyKey) {
+        return chargePoint(userId, amount, idempotencyKey, PointDeadlines.NONE);
+    }
+
+    /**
+     * 유저 대기열에서 순서를 기다리는 동안 deadlineNanos 가 지나면 PointService 에서 테이블을 건드리지 않고 버립니다.
+     */
+    public Mono<UserPoint> chargePoint(long userId, long amount, String idempotencyKey, long deadlineNanos) {
+        return admitted(userId, () -> userExecutor.submit(userId,
+                () -> pointService.chargePoint(userId, amount, idempotencyKey, deadlineNanos)));
+    }
+
+    public Mono<UserPoint> usePoint(long userId, long amount) {
+        return usePoint(userId, amount, null);
+    }
+
+    public Mono<UserPoint> usePoint(long userId, long amount, String idempotencyKey) {
+        return usePoint(userId, amount, idempotencyKey, PointDeadlines.NONE);
+    }
+
+    /**
+     * 유저 대기열에서 순서를 기다리는 동안 deadlineNanos 가 지나면 PointService 에서 테이블을 건드리지 않고 버립니다.
+     */
+    public Mono<UserPoint> usePoint(long userId, long amount, String idempotencyKey, long deadlineNanos) {
+        return admitted(userId, () -> userExecutor.submit(userId,
+                () -> pointService.usePoint(userId, amount, idempotencyKey, deadlineNanos)));
+    }
+
+    /**
+     * 두 유저에 걸친 요청이라 유저별 순서 대기열을 거치지 않고 blocking scheduler 에서 바로 실행합니다.
+     * 같은 유저의 충전/사용과는 PointService 의 유저 락으로 순서가 정해집니다.
+     */
+    public Mono<PointTransferResult> transferPoint(PointTransferCommand command, long deadlineNanos) {
+        return Mono.fromCallable(() -> pointService.transferPoint(command.fromUserId(), command.toUserId(),
+                command.amount(), deadlineNanos)).subscribeOn(blockingScheduler);
+    }
+
+    public Mono<List<PointBatchItemResult>> batch(List<PointCommand> commands) {
+        return Mono.fromCallable(() -> pointBatchService.execute(commands)).subscribeOn(blockingScheduler);
+    }
+
+    /**
+     * 한도를 넘으면 PointAdmissionRejectedException 으로 끝나고, 유저 대기열에는 넣지 않습니다.
+     */
+    private <T> Mono<T> admitted(long userId, Supplier<Mono<T>> work) {
+        return Mono.using(() -> pointService.admit(userId), permit -> work.get(), PointAdmission.Permit::close);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        blockingScheduler.dispose();
+    }
+}
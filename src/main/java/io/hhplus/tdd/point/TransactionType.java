@@ -7,5 +7,15 @@ package io.hhplus.tdd.point;
  * - USE : 사용
  */
 public enum TransactionType {
-    CHARGE, USE
-}
\ No newline at end of file
+    CHARGE("충전"), USE("사용");
+
+    private final String label;
+
+    TransactionType(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+}
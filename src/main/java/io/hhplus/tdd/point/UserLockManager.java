@@ -0,0 +1,262 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 유저별 락 관리
+ * - REFERENCE_COUNTED : 유저별 락을 참조 수로 관리하고, 아무도 사용하지 않으면 제거하여 유저 수만큼 락이 쌓이지 않습니다.
+ * - STRIPED : userId 해시로 고정된 개수의 락 중 하나를 사용합니다. 메모리는 고정되지만 다른 유저끼리도 락을 공유할 수 있습니다.
+ * - 락은 acquireTimeout 안에 얻지 못하면 PointLockTimeoutException 을 던집니다.
+ *   요청의 처리 기한(deadlineNanos)을 함께 주면 기한이 먼저 올 때 그때까지만 기다리고 PointDeadlineExceededException 을 던집니다.
+ * - 두 유저 이상의 락이 필요한 요청(이체, sharded 엔진의 배치)은 lockPair/lockAll 로 모든 요청이 같은 전역 순서에 따라 잡으므로
+ *   서로를 기다리며 멈추지 않습니다.
+ * - 락 안에서 테이블 지연(sleep)이 발생하므로 virtual thread 의 carrier pinning 을 피하도록 ReentrantLock 을 사용합니다.
+ */
+public class UserLockManager {
+
+    public enum Mode {REFERENCE_COUNTED, STRIPED}
+
+    public record Stats(
+            long liveLockCount,
+            long acquireCount,
+            long timeoutCount,
+            long totalWaitNanos,
+            long maxWaitNanos
+    ) {
+    }
+
+    /**
+     * 대기 중인 스레드가 있는 유저 락
+     */
+    public record HotLock(long userId, int waitingThreads) {
+    }
+
+    /**
+     * 획득한 락. try-with-resources 로 해제합니다.
+     */
+    public interface Lease extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class Entry {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int references;
+    }
+
+    private final Mode mode;
+    private final long acquireTimeoutNanos;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public UserLockManager(PointProperties.Lock properties) {
+        this.mode = properties.mode();
+        this.acquireTimeoutNanos = properties.acquireTimeout().toNanos();
+        this.stripes = new ReentrantLock[mode == Mode.STRIPED ? Math.max(1, properties.stripes()) : 0];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 유저 락을 획득합니다. acquireTimeout 안에 얻지 못하면 PointLockTimeoutException 을 던집니다.
+     */
+    public Lease lock(long userId) {
+        return lock(userId, PointDeadlines.NONE);
+    }
+
+    /**
+     * 유저 락을 acquireTimeout 과 처리 기한 중 먼저 오는 시각까지 기다려 획득합니다.
+     * 기한까지 얻지 못하면 PointDeadlineExceededException 을, acquireTimeout 까지 얻지 못하면 PointLockTimeoutException 을 던집니다.
+     */
+    public Lease lock(long userId, long deadlineNanos) {
+        return mode == Mode.STRIPED ? lockStripe(userId, deadlineNanos) : lockEntry(userId, deadlineNanos);
+    }
+
+    /**
+     * 두 유저의 락을 전역 순서대로 획득합니다. 해제는 반대 순서로 합니다.
+     * - REFERENCE_COUNTED : userId 가 작은 유저부터
+     * - STRIPED : stripe 번호가 작은 것부터. 두 유저가 같은 stripe 를 쓰면 한 번만 잡습니다.
+     * 두 번째 락을 acquireTimeout 안에 얻지 못하면 첫 번째 락을 놓고 PointLockTimeoutException 을 던집니다.
+     */
+    public Lease lockPair(long userId, long otherUserId) {
+        return lockPair(userId, otherUserId, PointDeadlines.NONE);
+    }
+
+    /**
+     * lockPair 와 같고, 두 락 모두 처리 기한까지만 기다립니다. (lock(userId, deadlineNanos) 참고)
+     */
+    public Lease lockPair(long userId, long otherUserId, long deadlineNanos) {
+        if (mode == Mode.STRIPED) {
+            int stripe = stripeOf(userId);
+            int otherStripe = stripeOf(otherUserId);
+            if (stripe == otherStripe) {
+                return lockStripeAt(stripe, deadlineNanos);
+            }
+            return lockInOrder(() -> lockStripeAt(Math.min(stripe, otherStripe), deadlineNanos),
+                    () -> lockStripeAt(Math.max(stripe, otherStripe), deadlineNanos));
+        }
+        return lockInOrder(() -> lockEntry(Math.min(userId, otherUserId), deadlineNanos),
+                () -> lockEntry(Math.max(userId, otherUserId), deadlineNanos));
+    }
+
+    /**
+     * 여러 유저의 락을 lockPair 와 같은 전역 순서대로 모두 획득합니다. 해제는 반대 순서로 합니다.
+     * STRIPED 모드에서 여러 유저가 같은 stripe 를 쓰면 한 번만 잡습니다.
+     * 하나라도 acquireTimeout 안에 얻지 못하면 이미 잡은 락을 모두 놓고 PointLockTimeoutException 을 던집니다.
+     */
+    public Lease lockAll(Collection<Long> userIds) {
+        List<Lease> leases = new ArrayList<>(userIds.size());
+        try {
+            if (mode == Mode.STRIPED) {
+                for (int stripe : userIds.stream().mapToInt(this::stripeOf).distinct().sorted().toArray()) {
+                    leases.add(lockStripeAt(stripe, PointDeadlines.NONE));
+                }
+            } else {
+                for (long userId : userIds.stream().mapToLong(Long::longValue).distinct().sorted().toArray()) {
+                    leases.add(lockEntry(userId, PointDeadlines.NONE));
+                }
+            }
+        } catch (RuntimeException e) {
+            closeInReverse(leases);
+            throw e;
+        }
+        return () -> closeInReverse(leases);
+    }
+
+    public Stats stats() {
+        long liveLockCount = mode == Mode.STRIPED ? stripes.length : entries.size();
+        return new Stats(liveLockCount, acquireCount.sum(), timeoutCount.sum(),
+                totalWaitNanos.sum(), maxWaitNanos.get());
+    }
+
+    /**
+     * 락을 기다리는 스레드 수 (추정치)
+     */
+    public int waitingThreadCount() {
+        int waiting = 0;
+        if (mode == Mode.STRIPED) {
+            for (ReentrantLock stripe : stripes) {
+                waiting += stripe.getQueueLength();
+            }
+            return waiting;
+        }
+        for (Entry entry : entries.values()) {
+            waiting += entry.lock.getQueueLength();
+        }
+        return waiting;
+    }
+
+    /**
+     * 대기 스레드가 많은 순서로 최대 limit 개의 유저 락을 반환합니다.
+     * STRIPED 모드에서는 여러 유저가 락을 공유하므로 유저별로 구분할 수 없어 빈 목록을 반환합니다.
+     */
+    public List<HotLock> hotLocks(int limit) {
+        if (mode == Mode.STRIPED || limit <= 0) {
+            return List.of();
+        }
+        List<HotLock> hotLocks = new ArrayList<>();
+        entries.forEach((userId, entry) -> {
+            int waiting = entry.lock.getQueueLength();
+            if (waiting > 0) {
+                hotLocks.add(new HotLock(userId, waiting));
+            }
+        });
+        hotLocks.sort(Comparator.comparingInt(HotLock::waitingThreads).reversed());
+        return hotLocks.size() > limit ? List.copyOf(hotLocks.subList(0, limit)) : hotLocks;
+    }
+
+    private Lease lockStripe(long userId, long deadlineNanos) {
+        return lockStripeAt(stripeOf(userId), deadlineNanos);
+    }
+
+    private Lease lockStripeAt(int stripe, long deadlineNanos) {
+        ReentrantLock lock = stripes[stripe];
+        acquire(lock, deadlineNanos);
+        return lock::unlock;
+    }
+
+    private int stripeOf(long userId) {
+        return (Long.hashCode(userId) & 0x7fffffff) % stripes.length;
+    }
+
+    private static Lease lockInOrder(Supplier<Lease> first, Supplier<Lease> second) {
+        Lease firstLease = first.get();
+        Lease secondLease;
+        try {
+            secondLease = second.get();
+        } catch (RuntimeException e) {
+            firstLease.close();
+            throw e;
+        }
+        return () -> {
+            secondLease.close();
+            firstLease.close();
+        };
+    }
+
+    private static void closeInReverse(List<Lease> leases) {
+        for (int i = leases.size() - 1; i >= 0; i--) {
+            leases.get(i).close();
+        }
+    }
+
+    private Lease lockEntry(long userId, long deadlineNanos) {
+        Entry entry = entries.compute(userId, (id, current) -> {
+            Entry retained = current == null ? new Entry() : current;
+            retained.references++;
+            return retained;
+        });
+        try {
+            acquire(entry.lock, deadlineNanos);
+        } catch (RuntimeException e) {
+            releaseEntry(userId);
+            throw e;
+        }
+        return () -> {
+            entry.lock.unlock();
+            releaseEntry(userId);
+        };
+    }
+
+    private void releaseEntry(long userId) {
+        entries.computeIfPresent(userId, (id, entry) -> --entry.references == 0 ? null : entry);
+    }
+
+    private void acquire(ReentrantLock lock, long deadlineNanos) {
+        long start = System.nanoTime();
+        boolean deadlineFirst = deadlineNanos != PointDeadlines.NONE && deadlineNanos - start < acquireTimeoutNanos;
+        long waitNanos = deadlineFirst ? Math.max(0, deadlineNanos - start) : acquireTimeoutNanos;
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulate(waited);
+        if (!acquired) {
+            if (deadlineFirst) {
+                throw new PointDeadlineExceededException();
+            }
+            timeoutCount.increment();
+            throw new PointLockTimeoutException();
+        }
+        acquireCount.increment();
+    }
+}
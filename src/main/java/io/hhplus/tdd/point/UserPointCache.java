@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 유저 포인트 잔액 캐시 (LRU)
+ * - 모든 쓰기가 PointService 를 거치므로 write-through 로 유지하면 캐시가 잔액 조회의 기준이 됩니다.
+ * - 최대 크기를 넘으면 가장 오래 사용되지 않은 유저부터 제거합니다.
+ * - 잠금 경합을 줄이기 위해 userId 해시로 나눈 세그먼트별로 LRU 를 유지합니다.
+ * - 조회가 유저 락 없이 테이블에서 읽은 잔액은 putIfUnchanged 로 넣습니다.
+ *   읽기 전에 받은 세대(generation) 이후로 같은 stripe 에 put 이 있었다면, 그 사이 쓰기가 있었을 수 있으므로 넣지 않습니다.
+ */
+public class UserPointCache {
+
+    private static final int SEGMENT_COUNT = 16;
+    private static final int GENERATION_STRIPES = 64;
+
+    public record Stats(long hitCount, long missCount, long evictionCount, long size) {
+    }
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public UserPointCache(int maxSize) {
+        int segmentCapacity = Math.max(1, (maxSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * 캐시된 잔액을 반환합니다. 없으면 null 을 반환합니다.
+     */
+    public UserPoint get(long userId) {
+        Segment segment = segmentOf(userId);
+        UserPoint userPoint;
+        synchronized (segment) {
+            userPoint = segment.get(userId);
+        }
+        if (userPoint == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return userPoint;
+    }
+
+    /**
+     * 통계를 남기지 않고 캐시된 잔액을 반환합니다. 없으면 null 을 반환합니다.
+     */
+    public UserPoint peek(long userId) {
+        Segment segment = segmentOf(userId);
+        synchronized (segment) {
+            return segment.get(userId);
+        }
+    }
+
+    /**
+     * 쓰기 후의 잔액을 넣습니다. 유저 락을 잡은 상태에서 호출해야 합니다.
+     */
+    public void put(UserPoint userPoint) {
+        Segment segment = segmentOf(userPoint.id());
+        synchronized (segment) {
+            segment.generations[stripeOf(userPoint.id())]++;
+            segment.put(userPoint.id(), userPoint);
+        }
+    }
+
+    /**
+     * 테이블에서 잔액을 읽기 전에 받아 두는 세대. putIfUnchanged 에 넘깁니다.
+     */
+    public long generation(long userId) {
+        Segment segment = segmentOf(userId);
+        synchronized (segment) {
+            return segment.generations[stripeOf(userId)];
+        }
+    }
+
+    /**
+     * generation 을 받은 뒤로 put 이 없었을 때만 넣습니다. 넣었으면 true 입니다.
+     * 같은 stripe 의 다른 유저가 put 해도 넣지 않지만, 다음 조회에서 다시 읽으므로 잔액이 틀리지는 않습니다.
+     */
+    public boolean putIfUnchanged(UserPoint userPoint, long generation) {
+        Segment segment = segmentOf(userPoint.id());
+        synchronized (segment) {
+            if (segment.generations[stripeOf(userPoint.id())] != generation) {
+                return false;
+            }
+            segment.put(userPoint.id(), userPoint);
+            return true;
+        }
+    }
+
+    public Stats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size);
+    }
+
+    private Segment segmentOf(long userId) {
+        return segments[(Long.hashCode(userId) & 0x7fffffff) % SEGMENT_COUNT];
+    }
+
+    private static int stripeOf(long userId) {
+        return (Long.hashCode(userId) & 0x7fffffff) / SEGMENT_COUNT % GENERATION_STRIPES;
+    }
+
+    private final class Segment extends LinkedHashMap<Long, UserPoint> {
+        private final int capacity;
+        // stripe 별 put 횟수. 제거(eviction)와 상관없이 늘어나기만 합니다.
+        private final long[] generations = new long[GENERATION_STRIPES];
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+            if (size() > capacity) {
+                evictionCount.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.hhplus.tdd.point;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 커밋된 내역을 유저별로 따라가며 잔액을 계산하고, interval 건마다 그 시점의 잔액을 체크포인트로 남깁니다.
+ * - 체크포인트는 (마지막으로 반영한 내역 id, 그 내역의 updateMillis, 잔액) 입니다.
+ * - 특정 시각의 잔액은 그 시각 이전의 가장 가까운 체크포인트에서 시작해, 그 뒤의 내역만 다시 더해 구합니다.
+ *   다시 더하는 내역은 다음 체크포인트 전까지이므로 interval 건을 넘지 않습니다.
+ * - 같은 유저의 내역은 커밋 순서(유저 락, shard 스레드)대로 들어오므로 id 와 updateMillis 모두 증가한다고 봅니다.
+ * - 대부분의 유저는 interval 건에 닿지 않으므로, 첫 체크포인트 전까지는 누적 잔액과 건수만 들고 배열은 만들지 않습니다.
+ */
+public class UserPointCheckpoints {
+
+    public record Stats(int userCount, long checkpointCount, long queryCount, long replayedCount) {
+    }
+
+    /**
+     * historyId 까지의 내역을 반영한 잔액. 내역이 하나도 없으면 historyId 와 updateMillis 가 0 입니다.
+     */
+    record Checkpoint(long historyId, long updateMillis, long point) {
+        static final Checkpoint EMPTY = new Checkpoint(0, 0, 0);
+    }
+
+    private final int interval;
+    private final ConcurrentHashMap<Long, UserCheckpoints> checkpoints = new ConcurrentHashMap<>();
+    private final LongAdder checkpointCount = new LongAdder();
+    private final LongAdder queryCount = new LongAdder();
+    private final LongAdder replayedCount = new LongAdder();
+
+    UserPointCheckpoints(PointProperties.Checkpoint properties) {
+        if (properties.interval() < 1) {
+            throw new IllegalArgumentException("체크포인트 간격은 1 이상이어야 합니다.");
+        }
+        this.interval = properties.interval();
+    }
+
+    /**
+     * 커밋된 내역 한 건을 반영합니다. 유저의 내역이 interval 건 쌓일 때마다 체크포인트를 남깁니다.
+     */
+    void record(PointHistory history) {
+        if (checkpoints.computeIfAbsent(history.userId(), id -> new UserCheckpoints()).add(history, interval)) {
+            checkpointCount.increment();
+        }
+    }
+
+    /**
+     * updateMillis 가 atMillis 이하인 체크포인트 중 가장 최근 것. 없으면 Checkpoint.EMPTY 입니다.
+     */
+    Checkpoint floor(long userId, long atMillis) {
+        queryCount.increment();
+        UserCheckpoints user = checkpoints.get(userId);
+        return user == null ? Checkpoint.EMPTY : user.floor(atMillis);
+    }
+
+    /**
+     * 체크포인트 뒤로 다시 더한 내역 수를 집계합니다.
+     */
+    void recordReplay(int rows) {
+        replayedCount.add(rows);
+    }
+
+    Stats stats() {
+        return new Stats(checkpoints.size(), checkpointCount.sum(), queryCount.sum(), replayedCount.sum());
+    }
+
+    private static final class UserCheckpoints {
+        // 첫 체크포인트를 남길 때 만듭니다.
+        private long[] historyIds;
+        private long[] updateMillis;
+        private long[] points;
+        private int size;
+        private long point;
+        private int sinceLast;
+
+        synchronized boolean add(PointHistory history, int interval) {
+            point += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+            if (++sinceLast < interval) {
+                return false;
+            }
+            if (historyIds == null) {
+                historyIds = new long[4];
+                updateMillis = new long[4];
+                points = new long[4];
+            } else if (size == historyIds.length) {
+                historyIds = Arrays.copyOf(historyIds, size * 2);
+                updateMillis = Arrays.copyOf(updateMillis, size * 2);
+                points = Arrays.copyOf(points, size * 2);
+            }
+            historyIds[size] = history.id();
+            updateMillis[size] = history.updateMillis();
+            points[size] = point;
+            size++;
+            sinceLast = 0;
+            return true;
+        }
+
+        synchronized Checkpoint floor(long atMillis) {
+            if (size == 0) {
+                return Checkpoint.EMPTY;
+            }
+            // updateMillis 가 atMillis 보다 큰 첫 체크포인트의 바로 앞
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (updateMillis[mid] <= atMillis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low == 0) {
+                return Checkpoint.EMPTY;
+            }
+            return new Checkpoint(historyIds[low - 1], updateMillis[low - 1], points[low - 1]);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * 같은 유저의 잔액 조회가 동시에 들어오면 테이블 호출을 한 번만 하고 결과를 나눠 갖습니다. (single-flight)
+ * - 먼저 들어온 조회만 loader 를 호출하고, 그 사이에 들어온 조회는 그 결과를 기다립니다.
+ *   loader 가 실패하면(Error 포함) 기다리던 조회도 같은 예외로 실패합니다.
+ * - 잔액을 저장할 때 invalidate 를 호출해 진행 중인 조회를 목록에서 뺍니다.
+ *   저장이 끝난 뒤에 들어온 조회는 저장 전에 시작한 조회에 합류하지 않으므로 이전 잔액을 받지 않습니다.
+ *   저장과 겹쳐 들어온 조회는 저장 전/후 어느 잔액을 받아도 됩니다.
+ */
+public class UserPointSingleFlight {
+
+    public record Stats(long loadCount, long coalescedCount, long inFlight) {
+    }
+
+    private final ConcurrentHashMap<Long, CompletableFuture<UserPoint>> flights = new ConcurrentHashMap<>();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    /**
+     * 진행 중인 같은 유저의 조회가 있으면 그 결과를, 없으면 loader 로 조회한 결과를 반환합니다.
+     */
+    UserPoint load(long userId, LongFunction<UserPoint> loader) {
+        CompletableFuture<UserPoint> created = new CompletableFuture<>();
+        CompletableFuture<UserPoint> existing = flights.putIfAbsent(userId, created);
+        if (existing != null) {
+            coalescedCount.increment();
+            return await(existing);
+        }
+        loadCount.increment();
+        try {
+            UserPoint loaded = loader.apply(userId);
+            created.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(userId, created);
+        }
+    }
+
+    /**
+     * 잔액이 바뀌었으므로 이후의 조회가 진행 중인 조회에 합류하지 않게 합니다.
+     */
+    void invalidate(long userId) {
+        flights.remove(userId);
+    }
+
+    Stats stats() {
+        return new Stats(loadCount.sum(), coalescedCount.sum(), flights.size());
+    }
+
+    private static UserPoint await(CompletableFuture<UserPoint> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.hhplus.tdd.point;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 충전/사용이 커밋될 때마다 유저별 합계와 일별/시간별 구간을 갱신해, 요약을 내역 테이블 조회 없이 만듭니다.
+ * - 구간은 유저마다 고정 크기 ring 에 두고, 가장 최근 구간에서 dailyBuckets/hourlyBuckets 개를 넘은 구간은 재사용합니다.
+ *   갱신과 조회 모두 유저의 거래 수와 관계없이 구간 수만큼의 일만 합니다.
+ * - 유지 범위보다 오래된 거래(시계가 되돌아간 경우)는 전체 합계에만 반영합니다.
+ * - 한 번이라도 거래한 유저의 요약은 제거하지 않습니다. 기본 구간 수(일별 30, 시간별 48)에서 유저당
+ *   ring 배열 두 개와 합계로 약 0.6KB 를 쓰고, 구간이 모두 차면 Bucket 객체까지 약 5KB 를 씁니다.
+ *   그래서 point.summary.enabled 는 기본값이 꺼져 있습니다.
+ */
+class UserPointSummaries {
+
+    private static final long SECONDS_PER_HOUR = 60 * 60;
+    private static final long SECONDS_PER_DAY = 24 * SECONDS_PER_HOUR;
+
+    private final int dailyBuckets;
+    private final int hourlyBuckets;
+    private final ZoneRules zoneRules;
+    private final ZoneOffset fixedOffset;
+    private final ConcurrentHashMap<Long, Summary> summaries = new ConcurrentHashMap<>();
+
+    UserPointSummaries(PointProperties.Summary properties) {
+        if (properties.dailyBuckets() < 1 || properties.hourlyBuckets() < 1) {
+            throw new IllegalArgumentException("요약 구간 수는 1 이상이어야 합니다.");
+        }
+        this.dailyBuckets = properties.dailyBuckets();
+        this.hourlyBuckets = properties.hourlyBuckets();
+        this.zoneRules = properties.zone().getRules();
+        this.fixedOffset = zoneRules.isFixedOffset() ? zoneRules.getOffset(Instant.EPOCH) : null;
+    }
+
+    /**
+     * 커밋된 거래 한 건을 반영합니다.
+     */
+    void record(long userId, TransactionType type, long amount, long updateMillis) {
+        ZoneOffset offset = fixedOffset != null ? fixedOffset : zoneRules.getOffset(Instant.ofEpochMilli(updateMillis));
+        long localSeconds = Math.floorDiv(updateMillis, 1000) + offset.getTotalSeconds();
+        summaries.computeIfAbsent(userId, id -> new Summary(dailyBuckets, hourlyBuckets))
+                .add(type, amount, localSeconds);
+    }
+
+    void record(PointHistory history) {
+        record(history.userId(), history.type(), history.amount(), history.updateMillis());
+    }
+
+    PointSummary get(long userId) {
+        Summary summary = summaries.get(userId);
+        if (summary == null) {
+            return new PointSummary(userId, PointSummary.Totals.EMPTY, List.of(), List.of());
+        }
+        return summary.snapshot(userId);
+    }
+
+    private static class Totals {
+        long chargedAmount;
+        long chargeCount;
+        long usedAmount;
+        long useCount;
+
+        void add(TransactionType type, long amount) {
+            if (type == TransactionType.CHARGE) {
+                chargedAmount += amount;
+                chargeCount++;
+            } else {
+                usedAmount += amount;
+                useCount++;
+            }
+        }
+
+        PointSummary.Totals snapshot() {
+            return new PointSummary.Totals(chargedAmount, chargeCount, usedAmount, useCount);
+        }
+    }
+
+    private static final class Bucket extends Totals {
+        final long key;
+
+        Bucket(long key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * 길이가 width 초인 구간을 최근 capacity 개까지 유지하는 ring.
+     * key 는 (현지 시각 초 / width) 이고, key 를 capacity 로 나눈 나머지 칸에 둡니다.
+     */
+    private static final class Buckets {
+        private final long width;
+        private final Bucket[] slots;
+        private long newestKey = Long.MIN_VALUE;
+
+        Buckets(long width, int capacity) {
+            this.width = width;
+            this.slots = new Bucket[capacity];
+        }
+
+        void add(TransactionType type, long amount, long localSeconds) {
+            long key = Math.floorDiv(localSeconds, width);
+            if (newestKey != Long.MIN_VALUE && key <= newestKey - slots.length) {
+                return;
+            }
+            int index = (int) Math.floorMod(key, (long) slots.length);
+            Bucket bucket = slots[index];
+            if (bucket == null || bucket.key != key) {
+                // 같은 칸의 이전 구간은 key 가 capacity 이상 작으므로 유지 범위를 벗어난 구간입니다.
+                bucket = new Bucket(key);
+                slots[index] = bucket;
+            }
+            bucket.add(type, amount);
+            newestKey = Math.max(newestKey, key);
+        }
+
+        List<PointSummary.Bucket> snapshot() {
+            List<PointSummary.Bucket> result = new ArrayList<>();
+            if (newestKey == Long.MIN_VALUE) {
+                return result;
+            }
+            for (long key = newestKey - slots.length + 1; key <= newestKey; key++) {
+                Bucket bucket = slots[(int) Math.floorMod(key, (long) slots.length)];
+                if (bucket != null && bucket.key == key) {
+                    result.add(new PointSummary.Bucket(
+                            LocalDateTime.ofEpochSecond(key * width, 0, ZoneOffset.UTC), bucket.snapshot()));
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 한 유저의 요약. 갱신은 유저 락 안에서 일어나지만 조회는 락 없이 들어오므로 모니터로 보호합니다.
+     */
+    private static final class Summary {
+        private final Totals total = new Totals();
+        private final Buckets daily;
+        private final Buckets hourly;
+
+        Summary(int dailyBuckets, int hourlyBuckets) {
+            this.daily = new Buckets(SECONDS_PER_DAY, dailyBuckets);
+            this.hourly = new Buckets(SECONDS_PER_HOUR, hourlyBuckets);
+        }
+
+        synchronized void add(TransactionType type, long amount, long localSeconds) {
+            total.add(type, amount);
+            daily.add(type, amount, localSeconds);
+            hourly.add(type, amount, localSeconds);
+        }
+
+        synchronized PointSummary snapshot(long userId) {
+            return new PointSummary(userId, total.snapshot(), daily.snapshot(), hourly.snapshot());
+        }
+    }
+}
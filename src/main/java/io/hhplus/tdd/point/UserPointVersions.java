@@ -0,0 +1,235 @@
+package io.hhplus.tdd.point;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * UserPointTable 앞에서 유저별 잔액과 version 을 관리해, 락 없이 compare-and-set 으로 커밋할 수 있게 합니다.
+ * - version 이 짝수이면 커밋된 상태, 홀수이면 한 요청이 커밋(테이블 쓰기) 중인 상태입니다.
+ * - 커밋하려는 요청은 읽었던 version(짝수)을 version + 1 로 바꾸는 CAS 에 성공해야 테이블을 쓸 수 있고,
+ *   쓰기를 마치면 새 잔액과 version + 2 를 게시합니다. 그 사이에 같은 version 을 읽은 다른 요청의 CAS 는 실패합니다.
+ * - 모든 잔액 쓰기가 이 계층을 거치므로, 처음 조회할 때 테이블에서 읽은 잔액을 그대로 유지해도 됩니다.
+ * - slot 이 maxSize 를 넘으면 최근에 다시 쓰이지 않은 slot 부터 정리합니다. (second chance)
+ *   커밋 중(version 홀수)인 slot 은 정리하지 않고, 정리할 때는 읽은 값 그대로일 때만 RETIRED 로 바꾸는 CAS 에 성공해야 합니다.
+ *   이미 slot 을 들고 있던 요청은 RETIRED 를 보고 slot 을 다시 읽으므로, 정리된 slot 으로 커밋하는 일은 없습니다.
+ */
+public class UserPointVersions {
+
+    public record Stats(long commitCount, long conflictCount, long fallbackCount, long userCount) {
+    }
+
+    /**
+     * version 과 함께 읽은 잔액. claimed 이면 다른 요청이 커밋 중이고, retired 이면 정리된 slot 이라 다시 읽어야 합니다.
+     */
+    record Versioned(UserPoint point, long version) {
+
+        boolean claimed() {
+            return (version & 1) == 1;
+        }
+
+        boolean retired() {
+            return version < 0;
+        }
+    }
+
+    /**
+     * 유저 락을 잡고 얻은 커밋 권한. read 는 권한을 얻기 직전의 잔액입니다.
+     */
+    record Claimed(Slot slot, Versioned read) {
+    }
+
+    static final class Slot {
+        private final AtomicReference<Versioned> current;
+        private volatile long pessimisticUntilNanos;
+        private volatile boolean referenced;
+
+        private Slot(UserPoint point) {
+            this.current = new AtomicReference<>(new Versioned(point, 0));
+        }
+    }
+
+    private static final long MAX_CLAIM_BACKOFF_NANOS = 1_000_000;
+    // 홀수라 claimed 로도 보이므로, RETIRED 를 본 CAS 는 모두 실패합니다.
+    private static final Versioned RETIRED = new Versioned(null, -1);
+
+    private final ConcurrentHashMap<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final LongFunction<UserPoint> loader;
+    private final long pessimisticWindowNanos;
+    private final int maxSize;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder commitCount = new LongAdder();
+    private final LongAdder conflictCount = new LongAdder();
+    private final LongAdder fallbackCount = new LongAdder();
+
+    UserPointVersions(LongFunction<UserPoint> loader, PointProperties.Engine properties, int maxSize) {
+        this.loader = loader;
+        this.pessimisticWindowNanos = properties.pessimisticWindow().toNanos();
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * 유저의 slot 을 반환합니다. 처음이면 loader 로 테이블에서 잔액을 읽어 만듭니다.
+     */
+    Slot slot(long userId) {
+        Slot slot = slots.get(userId);
+        if (slot != null) {
+            slot.referenced = true;
+            return slot;
+        }
+        Slot loaded = new Slot(loader.apply(userId));
+        Slot existing = slots.putIfAbsent(userId, loaded);
+        if (existing != null) {
+            existing.referenced = true;
+            return existing;
+        }
+        if (slots.size() > maxSize) {
+            evict(loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * slot 의 잔액과 version 을 읽습니다. retired 이면 slot 을 다시 얻어 읽어야 합니다.
+     */
+    Versioned read(Slot slot) {
+        return slot.current.get();
+    }
+
+    /**
+     * 유저의 현재 잔액을 읽습니다. 읽는 사이에 slot 이 정리되면 다시 읽습니다.
+     */
+    UserPoint read(long userId) {
+        while (true) {
+            Versioned current = slot(userId).current.get();
+            if (!current.retired()) {
+                return current.point();
+            }
+        }
+    }
+
+    /**
+     * 읽었던 version 이 그대로이면 커밋 권한을 얻습니다. 실패하면 충돌로 집계합니다.
+     */
+    boolean tryClaim(Slot slot, Versioned expected) {
+        if (!expected.claimed()
+                && slot.current.compareAndSet(expected, new Versioned(expected.point(), expected.version() + 1))) {
+            return true;
+        }
+        conflictCount.increment();
+        return false;
+    }
+
+    /**
+     * 다른 요청의 커밋이 끝날 때까지 기다렸다가 커밋 권한을 얻고, 얻기 직전의 잔액과 함께 반환합니다.
+     * 유저 락을 잡은 상태에서 호출해 같은 유저의 대기자가 하나뿐일 때 사용합니다.
+     * 기다리는 사이에 slot 이 정리되면 새 slot 을 얻어 다시 시도합니다.
+     */
+    Claimed claim(long userId) {
+        while (true) {
+            Slot slot = slot(userId);
+            Versioned read = claim(slot);
+            if (!read.retired()) {
+                return new Claimed(slot, read);
+            }
+        }
+    }
+
+    private Versioned claim(Slot slot) {
+        long backoffNanos = 1_000;
+        while (true) {
+            Versioned current = slot.current.get();
+            if (current.retired()) {
+                return current;
+            }
+            if (!current.claimed()
+                    && slot.current.compareAndSet(current, new Versioned(current.point(), current.version() + 1))) {
+                return current;
+            }
+            LockSupport.parkNanos(backoffNanos);
+            backoffNanos = Math.min(backoffNanos * 2, MAX_CLAIM_BACKOFF_NANOS);
+        }
+    }
+
+    /**
+     * 커밋한 잔액을 게시하고 커밋 권한을 돌려줍니다.
+     */
+    void publish(Slot slot, UserPoint updated) {
+        Versioned claimed = slot.current.get();
+        slot.current.set(new Versioned(updated, claimed.version() + 1));
+        commitCount.increment();
+    }
+
+    /**
+     * 잔액을 바꾸지 않고 커밋 권한을 돌려줍니다.
+     */
+    void abort(Slot slot) {
+        Versioned claimed = slot.current.get();
+        slot.current.set(new Versioned(claimed.point(), claimed.version() + 1));
+    }
+
+    /**
+     * 재시도를 모두 실패한 유저는 pessimisticWindow 동안 처음부터 유저 락으로 커밋하게 합니다.
+     */
+    void markContended(Slot slot) {
+        slot.pessimisticUntilNanos = System.nanoTime() + pessimisticWindowNanos;
+    }
+
+    void recordFallback() {
+        fallbackCount.increment();
+    }
+
+    boolean contended(Slot slot) {
+        long until = slot.pessimisticUntilNanos;
+        return until != 0 && System.nanoTime() - until < 0;
+    }
+
+    Stats stats() {
+        return new Stats(commitCount.sum(), conflictCount.sum(), fallbackCount.sum(), slots.size());
+    }
+
+    /**
+     * slot 수를 maxSize 의 7/8 까지 줄입니다. 한 번에 한 스레드만 정리하고, 나머지는 기다리지 않고 넘어갑니다.
+     * 최근에 다시 쓰인 slot 은 한 번 건너뛰고(referenced 를 지움), 커밋 중이거나 방금 만든 keep 은 남깁니다.
+     */
+    private void evict(Slot keep) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = maxSize - maxSize / 8;
+            for (int pass = 0; pass < 2 && slots.size() > target; pass++) {
+                Iterator<Map.Entry<Long, Slot>> iterator = slots.entrySet().iterator();
+                while (iterator.hasNext() && slots.size() > target) {
+                    Map.Entry<Long, Slot> entry = iterator.next();
+                    Slot slot = entry.getValue();
+                    if (slot == keep) {
+                        continue;
+                    }
+                    if (slot.referenced) {
+                        slot.referenced = false;
+                        continue;
+                    }
+                    if (retire(slot)) {
+                        slots.remove(entry.getKey(), slot);
+                    }
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * 커밋된 상태(version 짝수)의 slot 을 읽은 값 그대로일 때만 RETIRED 로 바꿉니다.
+     */
+    private static boolean retire(Slot slot) {
+        Versioned current = slot.current.get();
+        return !current.claimed() && slot.current.compareAndSet(current, RETIRED);
+    }
+}
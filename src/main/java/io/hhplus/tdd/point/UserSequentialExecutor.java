@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 같은 유저의 작업을 제출한 순서대로 하나씩, 스레드를 막지 않고 실행합니다.
+ * - 유저마다 대기열을 두고, 실행 중인 작업이 끝나야 다음 작업을 scheduler 에 넘깁니다.
+ *   순서를 기다리는 작업은 대기열에만 있고 스레드를 차지하지 않습니다.
+ * - 한 작업이 끝날 때마다 다음 작업을 scheduler 에 다시 넘기므로, 요청이 몰린 유저가 스레드를 독차지하지 않습니다.
+ * - 대기열이 비면 유저 항목을 제거하므로 유저 수만큼 메모리가 늘어나지 않습니다.
+ */
+class UserSequentialExecutor {
+
+    private final Scheduler scheduler;
+    private final int queueCapacity;
+    private final ConcurrentHashMap<Long, ArrayDeque<Task<?>>> queues = new ConcurrentHashMap<>();
+
+    UserSequentialExecutor(Scheduler scheduler, int queueCapacity) {
+        this.scheduler = scheduler;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * 구독하면 userId 의 대기열 끝에 작업을 넣고, 차례가 되면 scheduler 에서 실행한 결과를 전달합니다.
+     * 대기열이 가득 찼거나 scheduler 가 작업을 받지 않으면 RejectedExecutionException 으로 끝납니다.
+     */
+    <T> Mono<T> submit(long userId, Callable<T> work) {
+        return Mono.create(sink -> enqueue(userId, new Task<>(work, sink)));
+    }
+
+    /**
+     * 실행 중이거나 순서를 기다리는 작업이 있는 유저 수
+     */
+    int activeUserCount() {
+        return queues.size();
+    }
+
+    private void enqueue(long userId, Task<?> task) {
+        boolean[] idle = new boolean[1];
+        boolean[] full = new boolean[1];
+        queues.compute(userId, (id, queue) -> {
+            if (queue == null) {
+                idle[0] = true;
+                return new ArrayDeque<>();
+            }
+            if (queue.size() >= queueCapacity) {
+                full[0] = true;
+            } else {
+                queue.add(task);
+            }
+            return queue;
+        });
+        if (full[0]) {
+            task.sink.error(new RejectedExecutionException(
+                    String.format("유저 %d 의 대기 중인 요청이 %d건을 넘었습니다.", userId, queueCapacity)));
+        } else if (idle[0]) {
+            schedule(userId, task);
+        }
+    }
+
+    /**
+     * 대기열 항목이 있는 동안에는 그 유저의 작업이 하나만 scheduler 에 있습니다.
+     */
+    private void schedule(long userId, Task<?> task) {
+        while (task != null) {
+            Task<?> current = task;
+            try {
+                scheduler.schedule(() -> {
+                    current.run();
+                    scheduleNext(userId);
+                });
+                return;
+            } catch (RejectedExecutionException e) {
+                current.sink.error(e);
+                task = poll(userId);
+            }
+        }
+    }
+
+    private void scheduleNext(long userId) {
+        schedule(userId, poll(userId));
+    }
+
+    private Task<?> poll(long userId) {
+        Task<?>[] next = new Task<?>[1];
+        queues.computeIfPresent(userId, (id, queue) -> {
+            next[0] = queue.poll();
+            return next[0] == null ? null : queue;
+        });
+        return next[0];
+    }
+
+    private record Task<T>(Callable<T> work, MonoSink<T> sink) {
+
+        private void run() {
+            try {
+                sink.success(work.call());
+            } catch (Throwable e) {
+                sink.error(e);
+            }
+        }
+    }
+}
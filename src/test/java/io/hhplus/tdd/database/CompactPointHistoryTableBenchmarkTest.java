@@ -0,0 +1,105 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내역 20M 건을 저장했을 때 내역 테이블별 heap 사용량과 full GC 시간을 비교합니다.
+ * - PointHistoryTable 은 지연(sleep)이 고정되어 있어 같은 구조의 ArrayList&lt;PointHistory&gt; 에 직접 저장하여 측정합니다.
+ * - full GC 시간은 테이블을 유지한 채 System.gc() 를 호출했을 때 GC 가 쓴 시간입니다.
+ * - ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+@DisplayName("내역 테이블 메모리 사용량과 full GC 시간 비교")
+class CompactPointHistoryTableBenchmarkTest {
+
+    private static final int ROW_COUNT = 20_000_000;
+    private static final int USER_COUNT = 100_000;
+    private static final int GC_ITERATIONS = 3;
+
+    @Test
+    void memoryAndFullGc_20MRows() {
+        // given
+        Footprint arrayList;
+        Footprint indexed;
+        Footprint compact;
+
+        // when
+        long before = usedHeap();
+        List<PointHistory> list = new ArrayList<>();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            list.add(new PointHistory(i + 1, i % USER_COUNT, i, TransactionType.CHARGE, i));
+        }
+        arrayList = measure(before);
+        assertThat(list).hasSize(ROW_COUNT);
+        list = null;
+
+        before = usedHeap();
+        IndexedPointHistoryTable indexedTable = new IndexedPointHistoryTable(0);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            indexedTable.insert(i % USER_COUNT, i, TransactionType.CHARGE, i);
+        }
+        indexed = measure(before);
+        assertThat(indexedTable.selectAllByUserId(0L)).hasSize(ROW_COUNT / USER_COUNT);
+        indexedTable = null;
+
+        before = usedHeap();
+        CompactPointHistoryTable compactTable = new CompactPointHistoryTable(0);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            compactTable.insert(i % USER_COUNT, i, TransactionType.CHARGE, i);
+        }
+        compact = measure(before);
+        assertThat(compactTable.size()).isEqualTo(ROW_COUNT);
+
+        // then
+        System.out.printf("rows=%,d users=%,d%n", ROW_COUNT, USER_COUNT);
+        print("PointHistoryTable(ArrayList)", arrayList);
+        print("IndexedPointHistoryTable", indexed);
+        print("CompactPointHistoryTable", compact);
+        assertThat(compact.bytes()).isLessThan(indexed.bytes());
+        assertThat(compact.bytes()).isLessThan(arrayList.bytes());
+    }
+
+    private static void print(String name, Footprint footprint) {
+        System.out.printf("%-30s heap=%,dMB (%dB/row) fullGc=%,dms%n", name, footprint.bytes() >> 20,
+                footprint.bytes() / ROW_COUNT, footprint.fullGcMillis());
+    }
+
+    private static Footprint measure(long before) {
+        long bytes = usedHeap() - before;
+        long gcMillis = gcMillis();
+        for (int i = 0; i < GC_ITERATIONS; i++) {
+            System.gc();
+        }
+        return new Footprint(bytes, (gcMillis() - gcMillis) / GC_ITERATIONS);
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return millis;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private record Footprint(long bytes, long fullGcMillis) {
+    }
+}
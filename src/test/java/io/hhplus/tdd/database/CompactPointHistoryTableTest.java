@@ -0,0 +1,119 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CompactPointHistoryTable 테스트")
+class CompactPointHistoryTableTest {
+
+    private final CompactPointHistoryTable table = new CompactPointHistoryTable(0);
+
+    @Test
+    @DisplayName("유저별 내역 조회 - 저장한 값 그대로 해당 유저의 내역만 추가 순서대로 반환")
+    void selectAllByUserId_ReturnsOnlyOwnHistoriesInOrder() {
+        // given
+        PointHistory charged = table.insert(1L, 1000L, TransactionType.CHARGE, 1L);
+        table.insert(2L, 2000L, TransactionType.CHARGE, 2L);
+        PointHistory used = table.insert(1L, 300L, TransactionType.USE, 3L);
+
+        // when
+        List<PointHistory> histories = table.selectAllByUserId(1L);
+
+        // then
+        assertThat(histories).containsExactly(charged, used);
+        assertThat(table.selectAllByUserId(3L)).isEmpty();
+        assertThat(table.size()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("동시에 여러 스레드가 insert - id 가 중복 없이 발급되고 유저별 id 순서가 유지되어야 함")
+    void insert_ConcurrentRequests() throws InterruptedException {
+        // given
+        int threadCount = 16;
+        int insertPerThread = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            final long userId = i % 4;
+            executorService.submit(() -> {
+                try {
+                    for (int j = 0; j < insertPerThread; j++) {
+                        table.insert(userId, j, TransactionType.CHARGE, userId);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        // then
+        long total = 0;
+        for (long userId = 0; userId < 4; userId++) {
+            List<PointHistory> histories = table.selectAllByUserId(userId);
+            assertThat(histories).hasSize(threadCount / 4 * insertPerThread);
+            assertThat(histories).extracting(PointHistory::id).isSorted().doesNotHaveDuplicates();
+            assertThat(histories).extracting(PointHistory::userId).containsOnly(userId);
+            assertThat(histories).extracting(PointHistory::updateMillis).containsOnly(userId);
+            total += histories.size();
+        }
+        assertThat(total).isEqualTo((long) threadCount * insertPerThread);
+
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("cursor 조회 - afterId 이후 조건에 맞는 내역을 limit 건까지 반환")
+    void selectByUserId_AfterCursorWithFilter() {
+        // given
+        PointHistory first = table.insert(1L, 1000L, TransactionType.CHARGE, 1L);
+        for (int i = 0; i < 100; i++) {
+            table.insert(2L, i, TransactionType.USE, 1L);
+        }
+        table.insert(1L, 300L, TransactionType.USE, 2L);
+        table.insert(1L, 2000L, TransactionType.CHARGE, 3L);
+        table.insert(1L, 3000L, TransactionType.CHARGE, 4L);
+
+        // when
+        List<PointHistory> histories = table.selectByUserId(1L, first.id(), 1,
+                pointHistory -> pointHistory.type() == TransactionType.CHARGE);
+
+        // then
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(2000L);
+        assertThat(table.selectByUserId(2L, 0, 1000, pointHistory -> true)).hasSize(100);
+    }
+
+    @Test
+    @DisplayName("id 발급 후 추가, 복구 - 발급한 id 를 유지하고 이후 id 는 복구한 id 보다 커야 함")
+    void allocateAndRestore() {
+        // given
+        PointHistory allocated = table.allocate(1L, 1000L, TransactionType.CHARGE, 1L);
+        table.insertAll(List.of(allocated));
+
+        // when
+        table.restore(List.of(
+                new PointHistory(100L, 2L, 500L, TransactionType.CHARGE, 2L),
+                new PointHistory(200L, 2L, 100L, TransactionType.USE, 3L)));
+        PointHistory next = table.insert(2L, 50L, TransactionType.USE, 4L);
+
+        // then
+        assertThat(table.selectAllByUserId(1L)).containsExactly(allocated);
+        assertThat(table.selectAllByUserId(2L)).extracting(PointHistory::id).containsExactly(100L, 200L, next.id());
+        assertThat(next.id()).isGreaterThan(200L);
+        assertThatThrownBy(() -> table.insertAll(List.of(
+                new PointHistory(150L, 2L, 1L, TransactionType.CHARGE, 5L))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
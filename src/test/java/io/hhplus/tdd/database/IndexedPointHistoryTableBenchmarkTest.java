@@ -0,0 +1,53 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 전체 내역 수가 10k 에서 10M 으로 늘어나도 특정 유저의 내역 조회 지연이 일정한지 측정합니다.
+ * - 조회 대상 유저의 내역 수는 고정하고 다른 유저들의 내역만 늘립니다.
+ * - ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+@DisplayName("IndexedPointHistoryTable 조회 벤치마크")
+class IndexedPointHistoryTableBenchmarkTest {
+
+    private static final long TARGET_USER_ID = 0L;
+    private static final int TARGET_HISTORY_COUNT = 100;
+    private static final int OTHER_USER_COUNT = 10_000;
+    private static final int WARMUP_ITERATIONS = 10_000;
+    private static final int MEASURE_ITERATIONS = 100_000;
+
+    @ParameterizedTest(name = "전체 내역 {0}건")
+    @ValueSource(ints = {10_000, 100_000, 1_000_000, 10_000_000})
+    void selectAllByUserId_LatencyIsIndependentOfTotalRows(int totalRows) {
+        // given
+        IndexedPointHistoryTable table = new IndexedPointHistoryTable(0);
+        for (int i = 0; i < TARGET_HISTORY_COUNT; i++) {
+            table.insert(TARGET_USER_ID, 100L, TransactionType.CHARGE, i);
+        }
+        for (int i = TARGET_HISTORY_COUNT; i < totalRows; i++) {
+            table.insert(1 + i % OTHER_USER_COUNT, 100L, TransactionType.CHARGE, i);
+        }
+
+        // when
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            table.selectAllByUserId(TARGET_USER_ID);
+        }
+        long start = System.nanoTime();
+        int rows = 0;
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            rows += table.selectAllByUserId(TARGET_USER_ID).size();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        // then
+        System.out.printf("totalRows=%,d avgLatency=%,dns%n", totalRows, elapsedNanos / MEASURE_ITERATIONS);
+        assertThat(rows).isEqualTo(TARGET_HISTORY_COUNT * MEASURE_ITERATIONS);
+    }
+}
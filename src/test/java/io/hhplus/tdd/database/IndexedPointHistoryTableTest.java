@@ -0,0 +1,90 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("IndexedPointHistoryTable 테스트")
+class IndexedPointHistoryTableTest {
+
+    private final IndexedPointHistoryTable table = new IndexedPointHistoryTable(0);
+
+    @Test
+    @DisplayName("유저별 내역 조회 - 해당 유저의 내역만 추가 순서대로 반환")
+    void selectAllByUserId_ReturnsOnlyOwnHistoriesInOrder() {
+        // given
+        table.insert(1L, 1000L, TransactionType.CHARGE, 1L);
+        table.insert(2L, 2000L, TransactionType.CHARGE, 2L);
+        table.insert(1L, 300L, TransactionType.USE, 3L);
+
+        // when
+        List<PointHistory> histories = table.selectAllByUserId(1L);
+
+        // then
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(1000L, 300L);
+        assertThat(histories).extracting(PointHistory::userId).containsOnly(1L);
+        assertThat(table.selectAllByUserId(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("동시에 여러 스레드가 insert - id 가 중복 없이 발급되고 유저별 id 순서가 유지되어야 함")
+    void insert_ConcurrentRequests() throws InterruptedException {
+        // given
+        int threadCount = 16;
+        int insertPerThread = 1_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            final long userId = i % 4;
+            executorService.submit(() -> {
+                try {
+                    for (int j = 0; j < insertPerThread; j++) {
+                        table.insert(userId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        // then
+        long total = 0;
+        for (long userId = 0; userId < 4; userId++) {
+            List<PointHistory> histories = table.selectAllByUserId(userId);
+            assertThat(histories).hasSize(threadCount / 4 * insertPerThread);
+            assertThat(histories).extracting(PointHistory::id).isSorted().doesNotHaveDuplicates();
+            total += histories.size();
+        }
+        assertThat(total).isEqualTo((long) threadCount * insertPerThread);
+
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("cursor 조회 - afterId 이후 조건에 맞는 내역을 limit 건까지 반환")
+    void selectByUserId_AfterCursorWithFilter() {
+        // given
+        PointHistory first = table.insert(1L, 1000L, TransactionType.CHARGE, 1L);
+        table.insert(1L, 300L, TransactionType.USE, 2L);
+        table.insert(1L, 2000L, TransactionType.CHARGE, 3L);
+        table.insert(1L, 3000L, TransactionType.CHARGE, 4L);
+
+        // when
+        List<PointHistory> histories = table.selectByUserId(1L, first.id(), 1,
+                pointHistory -> pointHistory.type() == TransactionType.CHARGE);
+
+        // then
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(2000L);
+    }
+}
@@ -0,0 +1,72 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointHistoryExportFile 테스트")
+class PointHistoryExportFileTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("쓰고 다시 읽기 - 고정 길이 레코드로 쓴 순서대로 읽혀야 함")
+    void commit_ThenRead_ReturnsRowsInOrder() throws IOException {
+        // given
+        Path target = directory.resolve("export.bin");
+        List<PointHistory> histories = List.of(
+                new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, 100L),
+                new PointHistory(3L, 1L, 300L, TransactionType.USE, 200L),
+                new PointHistory(2L, 2L, 500L, TransactionType.CHARGE, 150L));
+        try (PointHistoryExportFile.Writer writer = PointHistoryExportFile.create(target, 3L)) {
+            histories.forEach(writer::history);
+            writer.commit();
+        }
+
+        // when
+        List<PointHistory> read = new ArrayList<>();
+        PointHistoryExportFile.Header header = PointHistoryExportFile.read(target, read::add);
+
+        // then
+        assertThat(read).containsExactlyElementsOf(histories);
+        assertThat(header.cutoffHistoryId()).isEqualTo(3L);
+        assertThat(header.rowCount()).isEqualTo(3L);
+        assertThat(Files.size(target)).isEqualTo(
+                PointHistoryExportFile.HEADER_BYTES + 3L * PointHistoryExportFile.RECORD_BYTES + 4);
+        assertThat(Files.exists(directory.resolve("export.bin.tmp"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("내용이 바뀐 파일 - 읽을 때 손상으로 거부")
+    void read_CorruptedRecord_Rejected() throws IOException {
+        // given
+        Path target = directory.resolve("export.bin");
+        try (PointHistoryExportFile.Writer writer = PointHistoryExportFile.create(target, 1L)) {
+            writer.history(new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, 100L));
+            writer.commit();
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            // amount 의 마지막 byte
+            channel.write(ByteBuffer.wrap(new byte[]{1}), PointHistoryExportFile.HEADER_BYTES + 24);
+        }
+
+        // when & then
+        assertThatThrownBy(() -> PointHistoryExportFile.read(target, history -> { }))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
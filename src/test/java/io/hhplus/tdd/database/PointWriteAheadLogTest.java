@@ -0,0 +1,150 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointWriteAheadLog 테스트")
+class PointWriteAheadLogTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("기록 후 다시 열기 - 기록한 순서대로 읽히고 sequence 가 이어져야 함")
+    void append_ThenReopen_ReplaysInOrder() {
+        // given
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(directory, 1 << 20, true, 0)) {
+            wal.append(List.of(record(1, 1L, 1000L), record(2, 1L, 700L)));
+            wal.append(List.of(record(3, 2L, 500L)));
+        }
+
+        // when
+        List<PointWalRecord> replayed = new ArrayList<>();
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(directory, 1 << 20, true, 0)) {
+            wal.replay(0, Long.MAX_VALUE, (sequence, record) -> replayed.add(record));
+            long next = wal.append(List.of(record(4, 2L, 600L)));
+
+            // then
+            assertThat(next).isEqualTo(4L);
+        }
+        assertThat(replayed).extracting(PointWalRecord::historyId).containsExactly(1L, 2L, 3L);
+        assertThat(replayed).extracting(PointWalRecord::balance).containsExactly(1000L, 700L, 500L);
+    }
+
+    @Test
+    @DisplayName("쓰다가 중단된 레코드 - 다시 열 때 잘라내고 온전한 레코드만 읽혀야 함")
+    void reopen_TruncatesTornTail() throws IOException {
+        // given
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(directory, 1 << 20, true, 0)) {
+            wal.append(List.of(record(1, 1L, 1000L), record(2, 1L, 2000L)));
+        }
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(PointWriteAheadLog.RECORD_BYTES + 10);
+        }
+
+        // when
+        List<Long> sequences = new ArrayList<>();
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(directory, 1 << 20, true, 0)) {
+            wal.replay(0, Long.MAX_VALUE, (sequence, record) -> sequences.add(sequence));
+
+            // then
+            assertThat(wal.lastSequence()).isEqualTo(1L);
+        }
+        assertThat(sequences).containsExactly(1L);
+        assertThat(Files.size(segment)).isEqualTo(PointWriteAheadLog.RECORD_BYTES);
+    }
+
+    @Test
+    @DisplayName("중간 segment 손상 - replay 시 IllegalStateException 발생")
+    void replay_Fail_CorruptedSegment() throws IOException {
+        // given
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(directory, PointWriteAheadLog.RECORD_BYTES, true, 0)) {
+            wal.append(List.of(record(1, 1L, 1000L)));
+            wal.append(List.of(record(2, 1L, 2000L)));
+        }
+        Path first = segments().get(0);
+        byte[] bytes = Files.readAllBytes(first);
+        bytes[20] ^= 1;
+        Files.write(first, bytes);
+
+        // when & then
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(directory, PointWriteAheadLog.RECORD_BYTES, true, 0)) {
+            assertThatThrownBy(() -> wal.replay(0, Long.MAX_VALUE, (sequence, record) -> {
+            }))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageStartingWith("WAL 이 손상되었습니다");
+        }
+    }
+
+    @Test
+    @DisplayName("segment 삭제 - 지정한 sequence 이하만 담은 segment 만 삭제되어야 함")
+    void deleteSegmentsThrough_KeepsNewerSegments() throws IOException {
+        // given
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(directory, PointWriteAheadLog.RECORD_BYTES * 2L, true, 0)) {
+            for (int i = 1; i <= 5; i++) {
+                wal.append(List.of(record(i, 1L, i * 100L)));
+            }
+
+            // when
+            wal.deleteSegmentsThrough(3);
+
+            // then
+            List<Long> sequences = new ArrayList<>();
+            wal.replay(3, Long.MAX_VALUE, (sequence, record) -> sequences.add(sequence));
+            assertThat(sequences).containsExactly(4L, 5L);
+            assertThat(wal.stats().segmentCount()).isEqualTo(2);
+        }
+        assertThat(segments()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("스냅샷 쓰고 읽기 - 잔액과 내역이 그대로 읽혀야 함")
+    void snapshotFile_WriteThenRead() {
+        // given
+        Path file;
+        try (PointSnapshotFile.Writer writer = PointSnapshotFile.create(directory, 42)) {
+            writer.history(new PointHistory(1, 1L, 1000L, TransactionType.CHARGE, 10L));
+            writer.history(new PointHistory(2, 1L, 300L, TransactionType.USE, 11L));
+            writer.balance(1L, 700L, 11L);
+            file = writer.commit();
+        }
+
+        // when
+        List<Long> balances = new ArrayList<>();
+        List<PointHistory> histories = new ArrayList<>();
+        long lastSequence = PointSnapshotFile.read(file, (userId, point, updateMillis) -> balances.add(point), histories::add);
+
+        // then
+        assertThat(lastSequence).isEqualTo(42L);
+        assertThat(PointSnapshotFile.latest(directory)).contains(file);
+        assertThat(balances).containsExactly(700L);
+        assertThat(histories).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.USE);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("wal-")).sorted().toList();
+        }
+    }
+
+    private static PointWalRecord record(long historyId, long userId, long balance) {
+        return new PointWalRecord(historyId, userId, TransactionType.CHARGE, 100L, balance, historyId);
+    }
+}
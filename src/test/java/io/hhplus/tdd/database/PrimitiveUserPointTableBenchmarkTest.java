@@ -0,0 +1,64 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 유저 10M 명의 잔액을 저장했을 때 UserPointTable 방식(HashMap&lt;Long, UserPoint&gt;)과
+ * PrimitiveUserPointTable 의 heap 사용량을 비교합니다.
+ * - UserPointTable 은 지연(sleep)이 고정되어 있어 같은 구조의 HashMap 에 직접 저장하여 측정합니다.
+ * - ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+@DisplayName("잔액 테이블 메모리 사용량 비교")
+class PrimitiveUserPointTableBenchmarkTest {
+
+    private static final int USER_COUNT = 10_000_000;
+
+    @Test
+    void memoryFootprint_10MUsers() {
+        // given
+        long hashMapBytes;
+        long primitiveBytes;
+
+        // when
+        long before = usedHeap();
+        Map<Long, UserPoint> hashMap = new HashMap<>();
+        for (long userId = 0; userId < USER_COUNT; userId++) {
+            hashMap.put(userId, new UserPoint(userId, userId, userId));
+        }
+        hashMapBytes = usedHeap() - before;
+        assertThat(hashMap).hasSize(USER_COUNT);
+        hashMap = null;
+
+        before = usedHeap();
+        PrimitiveUserPointTable table = new PrimitiveUserPointTable(USER_COUNT, 0, 0);
+        for (long userId = 0; userId < USER_COUNT; userId++) {
+            table.insertOrUpdate(userId, userId);
+        }
+        primitiveBytes = usedHeap() - before;
+
+        // then
+        System.out.printf("users=%,d hashMap=%,dMB (%dB/user) primitive=%,dMB (%dB/user)%n",
+                USER_COUNT,
+                hashMapBytes >> 20, hashMapBytes / USER_COUNT,
+                primitiveBytes >> 20, primitiveBytes / USER_COUNT);
+        assertThat(table.size()).isEqualTo(USER_COUNT);
+        assertThat(primitiveBytes).isLessThan(hashMapBytes);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
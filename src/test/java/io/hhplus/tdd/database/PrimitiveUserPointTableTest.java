@@ -0,0 +1,103 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PrimitiveUserPointTable 테스트")
+class PrimitiveUserPointTableTest {
+
+    @Test
+    @DisplayName("저장하지 않은 유저 조회 - 잔액 0 반환")
+    void selectById_Absent_ReturnsEmpty() {
+        // given
+        PrimitiveUserPointTable table = new PrimitiveUserPointTable(16, 0, 0);
+
+        // when
+        UserPoint userPoint = table.selectById(1L);
+
+        // then
+        assertThat(userPoint.id()).isEqualTo(1L);
+        assertThat(userPoint.point()).isZero();
+        assertThat(table.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("용량을 넘겨 저장 - 확장 후에도 모든 유저의 마지막 잔액이 조회되어야 함")
+    void insertOrUpdate_Resize_KeepsAllBalances() {
+        // given
+        PrimitiveUserPointTable table = new PrimitiveUserPointTable(16, 0, 0);
+        int userCount = 100_000;
+
+        // when
+        for (long userId = 0; userId < userCount; userId++) {
+            table.insertOrUpdate(userId, userId);
+            table.insertOrUpdate(userId, userId * 2);
+        }
+        table.insertOrUpdate(Long.MIN_VALUE, 7L);
+        table.insertOrUpdate(-1L, 9L);
+
+        // then
+        assertThat(table.size()).isEqualTo(userCount + 2);
+        for (long userId = 0; userId < userCount; userId++) {
+            assertThat(table.selectById(userId).point()).isEqualTo(userId * 2);
+        }
+        assertThat(table.selectById(Long.MIN_VALUE).point()).isEqualTo(7L);
+        assertThat(table.selectById(-1L).point()).isEqualTo(9L);
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 저장/조회 - 유실되는 유저가 없어야 함")
+    void insertOrUpdate_Concurrently() throws Exception {
+        // given
+        PrimitiveUserPointTable table = new PrimitiveUserPointTable(16, 0, 0);
+        int threadCount = 8;
+        int usersPerThread = 20_000;
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
+            for (int t = 0; t < threadCount; t++) {
+                long offset = (long) t * usersPerThread;
+                futures.add(executor.submit(() -> {
+                    for (long userId = offset; userId < offset + usersPerThread; userId++) {
+                        table.insertOrUpdate(userId, userId + 1);
+                        assertThat(table.selectById(userId).point()).isEqualTo(userId + 1);
+                    }
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        // then
+        assertThat(table.size()).isEqualTo((long) threadCount * usersPerThread);
+    }
+
+    @Test
+    @DisplayName("PointService 와 함께 사용 - 충전/사용 결과가 잔액 테이블에 반영되어야 함")
+    void pointService_RunsAgainstPrimitiveTable() {
+        // given
+        PrimitiveUserPointTable table = new PrimitiveUserPointTable(16, 0, 0);
+        PointService pointService = new PointService(table, new IndexedPointHistoryTable(0), PointProperties.defaults());
+
+        // when
+        pointService.chargePoint(1L, 1000L);
+        pointService.usePoint(1L, 400L);
+
+        // then
+        assertThat(table.selectById(1L).point()).isEqualTo(600L);
+        assertThat(pointService.getUserPoint(1L).point()).isEqualTo(600L);
+    }
+}
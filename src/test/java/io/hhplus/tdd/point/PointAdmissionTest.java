@@ -0,0 +1,86 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointAdmission 테스트")
+class PointAdmissionTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("burst 를 다 쓴 유저 - 다음 token 이 생길 때까지 거절하고 다른 유저는 받음")
+    void admit_BurstExhausted_RejectedUntilRefill() {
+        // given
+        PointAdmission admission = admission(10, 2, 32, 1024);
+        admission.admit(1L).close();
+        admission.admit(1L).close();
+
+        // when & then
+        assertThatThrownBy(() -> admission.admit(1L))
+                .isInstanceOf(PointAdmissionRejectedException.class)
+                .extracting(e -> ((PointAdmissionRejectedException) e).getRetryAfter())
+                .isEqualTo(Duration.ofMillis(100));
+        admission.admit(2L).close();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        admission.admit(1L).close();
+        assertThat(admission.stats().admittedCount()).isEqualTo(4L);
+        assertThat(admission.stats().rateLimitedCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("유저 대기 수와 전체 처리 중 요청 수 한도 - 넘는 요청은 바로 거절하고 close 하면 다시 받음")
+    void admit_QueueAndInFlightLimits_Rejected() {
+        // given
+        PointAdmission admission = admission(1000, 100, 2, 3);
+        PointAdmission.Permit first = admission.admit(1L);
+        admission.admit(1L);
+
+        // when & then
+        assertThatThrownBy(() -> admission.admit(1L)).isInstanceOf(PointAdmissionRejectedException.class);
+        admission.admit(2L);
+        assertThatThrownBy(() -> admission.admit(3L)).isInstanceOf(PointAdmissionRejectedException.class);
+        assertThat(admission.stats().queueFullCount()).isEqualTo(1L);
+        assertThat(admission.stats().overloadedCount()).isEqualTo(1L);
+
+        first.close();
+        admission.admit(1L);
+        assertThat(admission.stats().inFlight()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("한도 변경 - 다음 요청부터 적용되고, 쉬고 있는 유저는 정리")
+    void update_ChangesLimitsAndSweepRemovesIdleUsers() {
+        // given
+        PointAdmission admission = admission(10, 1, 32, 1024);
+        admission.admit(1L).close();
+        assertThatThrownBy(() -> admission.admit(1L)).isInstanceOf(PointAdmissionRejectedException.class);
+
+        // when
+        admission.update(new PointAdmission.Limits(10, 2, 32, 1024));
+
+        // then
+        admission.admit(1L).close();
+        assertThatThrownBy(() -> admission.update(new PointAdmission.Limits(0, 1, 1, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        admission.sweep();
+        assertThat(admission.stats().userCount()).isEqualTo(1);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        admission.sweep();
+        assertThat(admission.stats().userCount()).isZero();
+    }
+
+    private PointAdmission admission(int ratePerSecond, int burst, int userQueueDepth, int maxInFlight) {
+        PointProperties.Admission defaults = PointProperties.Admission.defaults();
+        return new PointAdmission(new PointProperties.Admission(true, ratePerSecond, burst, userQueueDepth,
+                maxInFlight, defaults.retryAfter(), defaults.idleSweepInterval()), clock::get);
+    }
+}
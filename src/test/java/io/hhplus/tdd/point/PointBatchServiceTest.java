@@ -0,0 +1,132 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointBatchService 테스트")
+class PointBatchServiceTest {
+
+    private PointService pointService;
+    private PointBatchService pointBatchService;
+
+    @BeforeEach
+    void setUp() {
+        PointProperties properties = new PointPropertiesBuilder()
+                .batch(new PointProperties.Batch(5, 2))
+                .build();
+        pointService = new PointService(new UserPointTable(), new IndexedPointHistoryTable(0), properties);
+        pointBatchService = new PointBatchService(pointService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointBatchService.shutdown();
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("일괄 처리 - 같은 유저의 요청은 요청 순서대로 처리되고 결과는 요청 순서대로 반환되어야 함")
+    void execute_PreservesOrderWithinUser() {
+        // given
+        List<PointCommand> commands = List.of(
+                new PointCommand(1L, TransactionType.CHARGE, 1000L),
+                new PointCommand(2L, TransactionType.CHARGE, 500L),
+                new PointCommand(1L, TransactionType.USE, 300L),
+                new PointCommand(2L, TransactionType.USE, 200L),
+                new PointCommand(1L, TransactionType.CHARGE, 100L)
+        );
+
+        // when
+        List<PointBatchItemResult> results = pointBatchService.execute(commands);
+
+        // then
+        assertThat(results).extracting(PointBatchItemResult::index).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results).extracting(result -> result.userPoint().point())
+                .containsExactly(1000L, 500L, 700L, 300L, 800L);
+        assertThat(pointService.getPointHistories(1L)).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.USE, TransactionType.CHARGE);
+    }
+
+    @Test
+    @DisplayName("일괄 처리 - 실패한 요청은 건별 에러로 반환하고 나머지 요청은 계속 처리해야 함")
+    void execute_ReturnsItemErrors() {
+        // given
+        List<PointCommand> commands = List.of(
+                new PointCommand(1L, TransactionType.USE, 300L),
+                new PointCommand(1L, TransactionType.CHARGE, 1000L),
+                new PointCommand(2L, TransactionType.CHARGE, -1L)
+        );
+
+        // when
+        List<PointBatchItemResult> results = pointBatchService.execute(commands);
+
+        // then
+        assertThat(results.get(0).userPoint()).isNull();
+        assertThat(results.get(0).error().code()).isEqualTo("400");
+        assertThat(results.get(0).error().message()).isEqualTo("포인트 잔액이 부족합니다.");
+        assertThat(results.get(1).error()).isNull();
+        assertThat(results.get(1).userPoint().point()).isEqualTo(1000L);
+        assertThat(results.get(2).error().message()).isEqualTo("충전 금액은 0보다 커야 합니다.");
+    }
+
+    @Test
+    @DisplayName("일괄 처리 - 유저의 요청 한도를 넘은 건은 429 건별 에러로 반환하고 나머지는 처리해야 함")
+    void execute_OverAdmissionLimit_ReturnsTooManyRequests() {
+        // given
+        PointProperties properties = new PointPropertiesBuilder()
+                .batch(new PointProperties.Batch(5, 2))
+                .admission(new PointProperties.Admission(true, 1, 2, 32, 1024, Duration.ofSeconds(1),
+                        Duration.ofMinutes(1)))
+                .build();
+        PointService admittedService = new PointService(new UserPointTable(), new IndexedPointHistoryTable(0),
+                properties);
+        PointBatchService admittedBatchService = new PointBatchService(admittedService, properties);
+        List<PointCommand> commands = List.of(
+                new PointCommand(1L, TransactionType.CHARGE, 100L),
+                new PointCommand(1L, TransactionType.CHARGE, 100L),
+                new PointCommand(1L, TransactionType.CHARGE, 100L),
+                new PointCommand(2L, TransactionType.CHARGE, 100L)
+        );
+
+        try {
+            // when
+            List<PointBatchItemResult> results = admittedBatchService.execute(commands);
+
+            // then
+            assertThat(results.get(0).error()).isNull();
+            assertThat(results.get(1).error()).isNull();
+            assertThat(results.get(2).error().code()).isEqualTo("429");
+            assertThat(results.get(3).userPoint().point()).isEqualTo(100L);
+            assertThat(admittedService.getUserPoint(1L).point()).isEqualTo(200L);
+            assertThat(admittedService.getAdmissionStats().inFlight()).isZero();
+        } finally {
+            admittedBatchService.shutdown();
+            admittedService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("일괄 처리 실패 - 최대 건수 초과")
+    void execute_Fail_TooManyCommands() {
+        // given
+        List<PointCommand> commands = LongStream.rangeClosed(1, 6)
+                .mapToObj(userId -> new PointCommand(userId, TransactionType.CHARGE, 100L))
+                .toList();
+
+        // when & then
+        assertThatThrownBy(() -> pointBatchService.execute(commands))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("한 번에 최대 5건까지 요청할 수 있습니다.");
+    }
+}
@@ -1,6 +1,6 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,16 +17,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 class PointConcurrencyTest {
 
     private UserPointTable userPointTable;
-    private PointHistoryTable pointHistoryTable;
-    // TODO: PointService 구현 후 주석 해제
-    // private PointService pointService;
+    private IndexedPointHistoryTable pointHistoryTable;
+    private PointService pointService;
 
     @BeforeEach
     void setUp() {
         userPointTable = new UserPointTable();
-        pointHistoryTable = new PointHistoryTable();
-        // TODO: PointService 구현 후 초기화
-        // pointService = new PointService(userPointTable, pointHistoryTable);
+        pointHistoryTable = new IndexedPointHistoryTable();
+        pointService = new PointService(userPointTable, pointHistoryTable, PointProperties.defaults());
     }
 
     @Test
@@ -40,22 +38,21 @@ class PointConcurrencyTest {
         CountDownLatch latch = new CountDownLatch(threadCount);
 
         // when
-        // TODO: PointService 구현 후 동시성 테스트 작성
-        // for (int i = 0; i < threadCount; i++) {
-        //     executorService.submit(() -> {
-        //         try {
-        //             pointService.chargePoint(userId, chargeAmount);
-        //         } finally {
-        //             latch.countDown();
-        //         }
-        //     });
-        // }
-        // latch.await();
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    pointService.chargePoint(userId, chargeAmount);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
 
         // then
-        // TODO: 최종 포인트가 1000 (100 * 10)이어야 함
-        // UserPoint result = pointService.getUserPoint(userId);
-        // assertThat(result.point()).isEqualTo(1000L);
+        UserPoint result = pointService.getUserPoint(userId);
+        assertThat(result.point()).isEqualTo(1000L);
+        assertThat(pointService.getPointHistories(userId)).hasSize(threadCount);
 
         executorService.shutdown();
     }
@@ -72,35 +69,34 @@ class PointConcurrencyTest {
         AtomicInteger successCount = new AtomicInteger(0);
 
         // 초기 포인트 설정
-        // TODO: PointService 구현 후 초기화
-        // userPointTable.insertOrUpdate(userId, initialPoint);
+        userPointTable.insertOrUpdate(userId, initialPoint);
 
         // when
-        // TODO: PointService 구현 후 동시성 테스트 작성
         // 10개 스레드는 충전(+100), 10개 스레드는 사용(-50)
-        // for (int i = 0; i < threadCount; i++) {
-        //     final int index = i;
-        //     executorService.submit(() -> {
-        //         try {
-        //             if (index < 10) {
-        //                 pointService.chargePoint(userId, 100L);
-        //             } else {
-        //                 pointService.usePoint(userId, 50L);
-        //             }
-        //             successCount.incrementAndGet();
-        //         } catch (Exception e) {
-        //             // 예외 발생 시 무시
-        //         } finally {
-        //             latch.countDown();
-        //         }
-        //     });
-        // }
-        // latch.await();
+        for (int i = 0; i < threadCount; i++) {
+            final int index = i;
+            executorService.submit(() -> {
+                try {
+                    if (index < 10) {
+                        pointService.chargePoint(userId, 100L);
+                    } else {
+                        pointService.usePoint(userId, 50L);
+                    }
+                    successCount.incrementAndGet();
+                } catch (Exception e) {
+                    // 예외 발생 시 무시
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
 
         // then
-        // TODO: 최종 포인트 = 1000 + (100 * 10) - (50 * 10) = 1500
-        // UserPoint result = pointService.getUserPoint(userId);
-        // assertThat(result.point()).isEqualTo(1500L);
+        // 최종 포인트 = 1000 + (100 * 10) - (50 * 10) = 1500
+        UserPoint result = pointService.getUserPoint(userId);
+        assertThat(successCount.get()).isEqualTo(threadCount);
+        assertThat(result.point()).isEqualTo(1500L);
 
         executorService.shutdown();
     }
@@ -116,27 +112,26 @@ class PointConcurrencyTest {
         CountDownLatch latch = new CountDownLatch(userCount * threadPerUser);
 
         // when
-        // TODO: PointService 구현 후 동시성 테스트 작성
-        // for (long userId = 1; userId <= userCount; userId++) {
-        //     final long currentUserId = userId;
-        //     for (int i = 0; i < threadPerUser; i++) {
-        //         executorService.submit(() -> {
-        //             try {
-        //                 pointService.chargePoint(currentUserId, chargeAmount);
-        //             } finally {
-        //                 latch.countDown();
-        //             }
-        //         });
-        //     }
-        // }
-        // latch.await();
+        for (long userId = 1; userId <= userCount; userId++) {
+            final long currentUserId = userId;
+            for (int i = 0; i < threadPerUser; i++) {
+                executorService.submit(() -> {
+                    try {
+                        pointService.chargePoint(currentUserId, chargeAmount);
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+        }
+        latch.await();
 
         // then
-        // TODO: 각 사용자의 최종 포인트가 1000 (100 * 10)이어야 함
-        // for (long userId = 1; userId <= userCount; userId++) {
-        //     UserPoint result = pointService.getUserPoint(userId);
-        //     assertThat(result.point()).isEqualTo(1000L);
-        // }
+        for (long userId = 1; userId <= userCount; userId++) {
+            UserPoint result = pointService.getUserPoint(userId);
+            assertThat(result.point()).isEqualTo(1000L);
+            assertThat(pointService.getPointHistories(userId)).hasSize(threadPerUser);
+        }
 
         executorService.shutdown();
     }
@@ -4,16 +4,24 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "point.admission.enabled=true",
+        "point.summary.enabled=true",
+        "management.endpoints.web.exposure.include=health,prometheus,pointadmission"
+})
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 @DisplayName("PointController 통합 테스트")
 class PointControllerIntegrationTest {
 
@@ -23,6 +31,9 @@ class PointControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PointService pointService;
+
     @Test
     @DisplayName("GET /point/{id} - 포인트 조회 성공")
     void getPoint_Success() throws Exception {
@@ -32,10 +43,9 @@ class PointControllerIntegrationTest {
         // when & then
         mockMvc.perform(get("/point/{id}", userId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(userId));
-                // TODO: PointService 구현 후 추가 검증
-                // .andExpect(jsonPath("$.point").exists())
-                // .andExpect(jsonPath("$.updateMillis").exists());
+                .andExpect(jsonPath("$.id").value(userId))
+                .andExpect(jsonPath("$.point").exists())
+                .andExpect(jsonPath("$.updateMillis").exists());
     }
 
     @Test
@@ -50,9 +60,8 @@ class PointControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(chargeAmount)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(userId));
-                // TODO: PointService 구현 후 추가 검증
-                // .andExpect(jsonPath("$.point").value(chargeAmount));
+                .andExpect(jsonPath("$.id").value(userId))
+                .andExpect(jsonPath("$.point").value(chargeAmount));
     }
 
     @Test
@@ -63,11 +72,10 @@ class PointControllerIntegrationTest {
         long chargeAmount = -500L;
 
         // when & then
-        // TODO: PointService 구현 및 예외 처리 후 테스트 작성
-        // mockMvc.perform(patch("/point/{id}/charge", userId)
-        //                 .contentType(MediaType.APPLICATION_JSON)
-        //                 .content(String.valueOf(chargeAmount)))
-        //         .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(chargeAmount)))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -89,9 +97,8 @@ class PointControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(useAmount)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(userId));
-                // TODO: PointService 구현 후 추가 검증
-                // .andExpect(jsonPath("$.point").value(700L));
+                .andExpect(jsonPath("$.id").value(userId))
+                .andExpect(jsonPath("$.point").value(700L));
     }
 
     @Test
@@ -102,11 +109,10 @@ class PointControllerIntegrationTest {
         long useAmount = 5000L;
 
         // when & then
-        // TODO: PointService 구현 및 예외 처리 후 테스트 작성
-        // mockMvc.perform(patch("/point/{id}/use", userId)
-        //                 .contentType(MediaType.APPLICATION_JSON)
-        //                 .content(String.valueOf(useAmount)))
-        //         .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/point/{id}/use", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(useAmount)))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -131,10 +137,9 @@ class PointControllerIntegrationTest {
 
         // when & then
         mockMvc.perform(get("/point/{id}/histories", userId))
-                .andExpect(status().isOk());
-                // TODO: PointService 구현 후 추가 검증
-                // .andExpect(jsonPath("$").isArray())
-                // .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$.length()").value(2));
     }
 
     @Test
@@ -153,9 +158,8 @@ class PointControllerIntegrationTest {
         // then: 포인트 조회로 확인
         mockMvc.perform(get("/point/{id}", userId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(userId));
-                // TODO: PointService 구현 후 추가 검증
-                // .andExpect(jsonPath("$.point").value(chargeAmount));
+                .andExpect(jsonPath("$.id").value(userId))
+                .andExpect(jsonPath("$.point").value(chargeAmount));
     }
 
     @Test
@@ -179,15 +183,286 @@ class PointControllerIntegrationTest {
         // when & then: 포인트 조회
         mockMvc.perform(get("/point/{id}", userId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(userId));
-                // TODO: PointService 구현 후 추가 검증
-                // .andExpect(jsonPath("$.point").value(3000L));
+                .andExpect(jsonPath("$.id").value(userId))
+                .andExpect(jsonPath("$.point").value(3000L));
 
         // when & then: 히스토리 조회
         mockMvc.perform(get("/point/{id}/histories", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /point/{id}/histories - cursor 페이지 조회")
+    void getPointHistories_CursorPagination() throws Exception {
+        // given
+        long userId = 7L;
+        for (String amount : new String[]{"1000", "2000", "3000"}) {
+            mockMvc.perform(patch("/point/{id}/charge", userId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(amount))
+                    .andExpect(status().isOk());
+        }
+
+        // when & then: 첫 페이지
+        MvcResult firstPage = mockMvc.perform(get("/point/{id}/histories", userId).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].amount").value(1000))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        // when & then: 다음 페이지
+        mockMvc.perform(get("/point/{id}/histories", userId)
+                        .param("limit", "2")
+                        .param("after", firstPage.getResponse().getHeader("X-Next-Cursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].amount").value(3000))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /point/{id}/histories - 거래 종류로 필터링")
+    void getPointHistories_FilterByType() throws Exception {
+        // given
+        long userId = 8L;
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/point/{id}/use", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("300"))
+                .andExpect(status().isOk());
+
+        // when & then
+        mockMvc.perform(get("/point/{id}/histories", userId).param("type", "USE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].type").value("USE"));
+    }
+
+    @Test
+    @DisplayName("GET /point/{id}/histories/stream - NDJSON 스트리밍 조회")
+    void streamPointHistories_Ndjson() throws Exception {
+        // given
+        long userId = 9L;
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/point/{id}/use", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("300"))
+                .andExpect(status().isOk());
+
+        // when
+        MvcResult result = mockMvc.perform(get("/point/{id}/histories/stream", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.strip().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], PointHistory.class).type())
+                .isEqualTo(TransactionType.USE);
+    }
+
+    @Test
+    @DisplayName("POST /point/batch - 일괄 충전/사용 후 건별 결과 반환")
+    void batch_Success() throws Exception {
+        // given
+        String body = """
+                [
+                  {"userId": 10, "type": "CHARGE", "amount": 1000},
+                  {"userId": 11, "type": "USE", "amount": 500},
+                  {"userId": 10, "type": "USE", "amount": 400}
+                ]
+                """;
+
+        // when & then
+        mockMvc.perform(post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].userPoint.point").value(1000))
+                .andExpect(jsonPath("$[1].error.code").value("400"))
+                .andExpect(jsonPath("$[2].userPoint.point").value(600));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - 충전 결과, 단계별 지연 시간, 직렬화 시간 노출")
+    void prometheus_ExposesPointMetrics() throws Exception {
+        // given
+        long userId = 12L;
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/point/{id}/histories", userId))
+                .andExpect(status().isOk());
+
+        // when
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        assertThat(body)
+                .contains("point_commands_total{reason=\"none\",result=\"success\",type=\"CHARGE\"")
+                .contains("point_lock_wait_seconds{quantile=\"0.99\"")
+                .contains("point_table_seconds_count{operation=\"update\"")
+                .contains("point_history_insert_seconds_bucket")
+                .contains("point_http_serialization_seconds_count{type=\"UserPoint\"")
+                .contains("point_http_serialization_seconds_count{type=\"List<PointHistory>\"")
+                .contains("point_lock_waiting");
+    }
+
+    @Test
+    @DisplayName("GET /point/{id}/summary - 충전/사용 합계와 일별/시간별 구간 조회")
+    void summary_ReturnsTotalsAndBuckets() throws Exception {
+        // given
+        long userId = 13L;
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/point/{id}/use", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("300"))
+                .andExpect(status().isOk());
+
+        // when & then
+        mockMvc.perform(get("/point/{id}/summary", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(userId))
+                .andExpect(jsonPath("$.total.chargedAmount").value(1000))
+                .andExpect(jsonPath("$.total.chargeCount").value(1))
+                .andExpect(jsonPath("$.total.usedAmount").value(300))
+                .andExpect(jsonPath("$.total.useCount").value(1))
+                .andExpect(jsonPath("$.daily[-1].totals.chargedAmount").value(1000))
+                .andExpect(jsonPath("$.hourly[-1].totals.usedAmount").value(300));
+    }
+
+    @Test
+    @DisplayName("PATCH /point/{id}/charge - 같은 Idempotency-Key 로 재시도하면 한 번만 충전")
+    void charge_WithIdempotencyKey_ChargesOnce() throws Exception {
+        // given
+        long userId = 14L;
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .header("Idempotency-Key", "charge-14")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000"))
                 .andExpect(status().isOk());
-                // TODO: PointService 구현 후 추가 검증
-                // .andExpect(jsonPath("$").isArray())
-                // .andExpect(jsonPath("$.length()").value(2));
+
+        // when & then
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .header("Idempotency-Key", "charge-14")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(1000));
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .header("Idempotency-Key", "charge-14")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("2000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/point/{id}", userId))
+                .andExpect(jsonPath("$.point").value(1000));
+    }
+
+    @Test
+    @DisplayName("PATCH /point/{id}/charge - 실행 중에 줄인 요청 한도를 넘으면 429 와 Retry-After")
+    void charge_OverAdmissionLimit_TooManyRequests() throws Exception {
+        // given
+        long userId = 15L;
+        PointAdmission.Limits original = pointService.getAdmissionLimits();
+        mockMvc.perform(post("/actuator/pointadmission")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ratePerSecond\": 1, \"burst\": 1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.limits.burst").value(1));
+        try {
+            mockMvc.perform(patch("/point/{id}/charge", userId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("1000"))
+                    .andExpect(status().isOk());
+
+            // when & then
+            mockMvc.perform(patch("/point/{id}/charge", userId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("1000"))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.code").value("429"));
+            mockMvc.perform(get("/point/{id}", userId))
+                    .andExpect(status().isTooManyRequests());
+        } finally {
+            pointService.updateAdmissionLimits(original);
+        }
+        mockMvc.perform(get("/actuator/pointadmission"))
+                .andExpect(jsonPath("$.stats.rateLimitedCount").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /point/{id}/balance - 특정 시각의 잔액 조회")
+    void balance_At_ReturnsPointAtThatTime() throws Exception {
+        // given
+        long userId = 16L;
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000"))
+                .andExpect(status().isOk());
+        long chargedAt = System.currentTimeMillis();
+        Thread.sleep(2);
+        mockMvc.perform(patch("/point/{id}/use", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("300"))
+                .andExpect(status().isOk());
+
+        // when & then
+        mockMvc.perform(get("/point/{id}/balance", userId).param("at", String.valueOf(chargedAt)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(1000));
+        mockMvc.perform(get("/point/{id}/balance", userId).param("at", String.valueOf(System.currentTimeMillis())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(700));
+        mockMvc.perform(get("/point/{id}/balance", userId))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /point/transfer - 두 유저의 잔액이 함께 바뀌고, 잔액이 부족하면 400")
+    void transfer_MovesPointBetweenUsers() throws Exception {
+        // given
+        long fromUserId = 17L;
+        long toUserId = 18L;
+        mockMvc.perform(patch("/point/{id}/charge", fromUserId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000"))
+                .andExpect(status().isOk());
+
+        // when & then
+        mockMvc.perform(post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(PointController.REQUEST_TIMEOUT_HEADER, "5000")
+                        .content("{\"fromUserId\":17,\"toUserId\":18,\"amount\":400}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from.point").value(600))
+                .andExpect(jsonPath("$.to.point").value(400));
+        mockMvc.perform(post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromUserId\":17,\"toUserId\":18,\"amount\":1000}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/point/{id}", toUserId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(400));
     }
 }
@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.PrimitiveUserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointService 처리 기한 테스트")
+class PointDeadlineTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private PointService pointService;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("이미 기한이 지난 요청 - 테이블을 건드리지 않고 바로 버려야 함")
+    void chargePoint_ExpiredOnArrival_Dropped() {
+        // given
+        pointService = new PointService(new PrimitiveUserPointTable(16, 0, 0), new IndexedPointHistoryTable(0),
+                PointProperties.defaults());
+        long deadlineNanos = System.nanoTime() - 1;
+
+        // when & then
+        assertThatThrownBy(() -> pointService.chargePoint(1L, 1000L, null, deadlineNanos))
+                .isInstanceOf(PointDeadlineExceededException.class);
+        assertThat(pointService.getPointHistories(1L)).isEmpty();
+        assertThat(pointService.getDeadlineStats().expiredOnArrivalCount()).isEqualTo(1L);
+        assertThat(pointService.getDeadlineStats().expiredInQueueCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("유저 락을 기다리다 기한이 지난 요청 - 락이 풀리기를 기다리지 않고 기한에 버려지고 앞 요청만 커밋되어야 함")
+    void usePoint_ExpiredWhileWaitingForLock_Dropped() throws Exception {
+        // given
+        BlockingUserPointTable userPointTable = new BlockingUserPointTable();
+        pointService = new PointService(userPointTable, new IndexedPointHistoryTable(0), PointProperties.defaults());
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(
+                () -> pointService.chargePoint(1L, 1000L), executor);
+        userPointTable.entered.await();
+
+        // when
+        long deadlineNanos = PointDeadlines.after(Duration.ofMillis(20));
+        CompletableFuture<UserPoint> second = CompletableFuture.supplyAsync(
+                () -> pointService.usePoint(1L, 300L, null, deadlineNanos), executor);
+
+        // then
+        // 앞 요청이 아직 락을 잡고 있는 동안 실패해야 함
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PointDeadlineExceededException.class);
+        userPointTable.release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).point()).isEqualTo(1000L);
+        assertThat(userPointTable.selectCount.get()).isEqualTo(1);
+        assertThat(pointService.getPointHistories(1L)).hasSize(1);
+        assertThat(pointService.getDeadlineStats().expiredInQueueCount()).isEqualTo(1L);
+        assertThat(pointService.getDeadlineStats().maxOverdueNanos()).isPositive();
+    }
+
+    @Test
+    @DisplayName("group commit 대기열에서 기한이 지난 요청 - 같은 배치의 다른 요청은 커밋되고 그 요청만 버려야 함")
+    void chargePoint_ExpiredInBatch_OnlyThatRequestDropped() throws Exception {
+        // given
+        PointProperties properties = new PointPropertiesBuilder()
+                .groupCommit(new PointProperties.GroupCommit(true, 32, Duration.ofMillis(100)))
+                .build();
+        pointService = new PointService(new PrimitiveUserPointTable(16, 0, 0), new IndexedPointHistoryTable(0),
+                properties);
+
+        // when
+        CompletableFuture<UserPoint> patient = CompletableFuture.supplyAsync(
+                () -> pointService.chargePoint(1L, 1000L), executor);
+        long deadlineNanos = PointDeadlines.after(Duration.ofMillis(10));
+        CompletableFuture<UserPoint> impatient = CompletableFuture.supplyAsync(
+                () -> pointService.chargePoint(1L, 500L, null, deadlineNanos), executor);
+
+        // then
+        assertThat(patient.get(5, TimeUnit.SECONDS).point()).isEqualTo(1000L);
+        assertThatThrownBy(() -> impatient.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PointDeadlineExceededException.class);
+        assertThat(pointService.getPointHistories(1L)).extracting(PointHistory::amount).containsExactly(1000L);
+        assertThat(pointService.getDeadlineStats().expiredInQueueCount()).isEqualTo(1L);
+    }
+
+    /**
+     * 첫 잔액 조회에서 release 될 때까지 멈춰, 그동안 유저 락을 잡고 있게 하는 테이블
+     */
+    private static class BlockingUserPointTable extends PrimitiveUserPointTable {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger selectCount = new AtomicInteger();
+
+        private BlockingUserPointTable() {
+            super(16, 0, 0);
+        }
+
+        @Override
+        public UserPoint selectById(Long id) {
+            selectCount.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.selectById(id);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointService group commit 테스트")
+class PointGroupCommitTest {
+
+    private CountingUserPointTable userPointTable;
+    private IndexedPointHistoryTable pointHistoryTable;
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        userPointTable = new CountingUserPointTable();
+        pointHistoryTable = new IndexedPointHistoryTable();
+        PointProperties properties = new PointPropertiesBuilder()
+                .groupCommit(new PointProperties.GroupCommit(true, 32, Duration.ofMillis(50)))
+                .build();
+        pointService = new PointService(userPointTable, pointHistoryTable, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("동시 충전 - 모든 충전이 반영되고 요청마다 내역이 남지만 잔액 쓰기는 배치 단위로 수행되어야 함")
+    void chargePoint_ConcurrentRequests_CommittedInBatches() throws InterruptedException {
+        // given
+        long userId = 1L;
+        int threadCount = 30;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    pointService.chargePoint(userId, 100L);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        // then
+        assertThat(pointService.getUserPoint(userId).point()).isEqualTo(3000L);
+        assertThat(pointService.getPointHistories(userId)).hasSize(threadCount);
+        assertThat(userPointTable.updateCount.get()).isLessThan(threadCount);
+
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("동시 충전/사용 - 잔액 검증은 도착 순서대로 적용되고 실패한 요청은 내역이 남지 않아야 함")
+    void chargeAndUsePoint_ConcurrentRequests() throws InterruptedException {
+        // given
+        long userId = 2L;
+        userPointTable.insertOrUpdate(userId, 500L);
+        int threadCount = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger successCount = new AtomicInteger();
+
+        // when
+        // 10개 스레드는 충전(+100), 10개 스레드는 사용(-200)
+        for (int i = 0; i < threadCount; i++) {
+            final int index = i;
+            executorService.submit(() -> {
+                try {
+                    if (index % 2 == 0) {
+                        pointService.chargePoint(userId, 100L);
+                    } else {
+                        pointService.usePoint(userId, 200L);
+                    }
+                    successCount.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // 잔액 부족
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        // then
+        long expected = 500L + pointService.getPointHistories(userId).stream()
+                .mapToLong(history -> history.type() == TransactionType.CHARGE ? history.amount() : -history.amount())
+                .sum();
+        assertThat(pointService.getPointHistories(userId)).hasSize(successCount.get());
+        assertThat(pointService.getUserPoint(userId).point()).isEqualTo(expected).isNotNegative();
+
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("잔액 부족 - 해당 요청만 실패해야 함")
+    void usePoint_Fail_InsufficientBalance() {
+        assertThatThrownBy(() -> pointService.usePoint(3L, 100L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("포인트 잔액이 부족합니다.");
+        assertThat(pointService.getPointHistories(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("커밋 중 Error - 해당 배치만 실패하고 같은 유저의 다음 요청은 정상 처리되어야 함")
+    void chargePoint_ErrorWhileCommitting_NextBatchCommitted() {
+        // given
+        long userId = 4L;
+        userPointTable.failOnce(new StackOverflowError());
+
+        // when
+        assertThatThrownBy(() -> pointService.chargePoint(userId, 100L))
+                .isInstanceOf(StackOverflowError.class);
+        UserPoint charged = pointService.chargePoint(userId, 200L);
+
+        // then
+        assertThat(charged.point()).isEqualTo(200L);
+        assertThat(pointService.getUserPoint(userId).point()).isEqualTo(200L);
+    }
+
+    @Test
+    @DisplayName("종료 후 요청 - 예약이 거절되면 바로 실패하고 같은 유저의 다음 요청도 기다리지 않아야 함")
+    void submit_AfterShutdown_FailsWithoutHanging() throws Exception {
+        // given
+        PointGroupCommitter committer = new PointGroupCommitter(
+                new PointProperties.GroupCommit(true, 32, Duration.ofMillis(50)), false, (userId, batch) -> {
+                });
+        committer.shutdown();
+        PointCommand command = new PointCommand(5L, TransactionType.CHARGE, 100L);
+
+        for (int i = 0; i < 2; i++) {
+            // when
+            CompletableFuture<UserPoint> result = CompletableFuture.supplyAsync(
+                    () -> committer.submit(command, PointDeadlines.NONE));
+
+            // then
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(RejectedExecutionException.class);
+        }
+    }
+
+    /**
+     * failOnce 로 Error 를 지정하면 다음 잔액 쓰기 한 번은 그 Error 를 던집니다.
+     */
+    private static class CountingUserPointTable extends UserPointTable {
+        private final AtomicInteger updateCount = new AtomicInteger();
+        private final AtomicReference<Error> failure = new AtomicReference<>();
+
+        void failOnce(Error error) {
+            failure.set(error);
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            Error error = failure.getAndSet(null);
+            if (error != null) {
+                throw error;
+            }
+            updateCount.incrementAndGet();
+            return super.insertOrUpdate(id, amount);
+        }
+    }
+}
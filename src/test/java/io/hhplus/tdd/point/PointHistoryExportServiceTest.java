@@ -0,0 +1,152 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryExportFile;
+import io.hhplus.tdd.database.PrimitiveUserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("PointHistoryExportService 테스트")
+class PointHistoryExportServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    private PointService pointService;
+    private PointHistoryExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        IndexedPointHistoryTable pointHistoryTable = new IndexedPointHistoryTable(0);
+        PointProperties properties = new PointPropertiesBuilder()
+                .export(new PointProperties.Export(directory.toString(), 2, 1))
+                .build();
+        pointService = new PointService(new PrimitiveUserPointTable(64, 0, 0), pointHistoryTable, properties);
+        exportService = new PointHistoryExportService(pointService, pointHistoryTable, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exportService.shutdown();
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("충전과 동시에 내보내기 - 시작 전에 커밋된 내역은 모두, cutoff 를 넘는 내역은 하나도 들어 있지 않아야 함")
+    void start_WhileCharging_ExportsUpToCutoff() throws Exception {
+        // given
+        for (long userId = 1; userId <= 10; userId++) {
+            for (int i = 0; i < 5; i++) {
+                pointService.chargePoint(userId, 100L);
+            }
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CompletableFuture<Void> charging = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 200; i++) {
+                pointService.chargePoint(1 + i % 10, 1L);
+            }
+        }, executor);
+
+        // when
+        PointHistoryExport export = awaitCompletion(exportService.start());
+        charging.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        List<PointHistory> exported = new ArrayList<>();
+        PointHistoryExportFile.Header header = PointHistoryExportFile.read(exportService.file(export.exportId()),
+                exported::add);
+        assertThat(header.cutoffHistoryId()).isEqualTo(export.cutoffHistoryId()).isGreaterThanOrEqualTo(50L);
+        assertThat(exported).hasSize((int) export.rowCount());
+        assertThat(exported).extracting(PointHistory::id)
+                .allMatch(id -> id <= export.cutoffHistoryId())
+                .containsAll(LongStream.rangeClosed(1, 50).boxed().toList())
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("내려받기와 보관 개수 - 파일을 그대로 내려주고, 보관 개수를 넘은 이전 파일은 지워져야 함")
+    void file_DownloadsAndKeepsRetainedFiles() throws Exception {
+        // given
+        pointService.chargePoint(1L, 1000L);
+        PointHistoryExport first = awaitCompletion(exportService.start());
+        Thread.sleep(2);
+        pointService.usePoint(1L, 300L);
+        PointHistoryExport second = awaitCompletion(exportService.start());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new PointHistoryExportController(exportService)).build();
+
+        // when
+        MvcResult result = mockMvc.perform(get("/point/histories/exports/{exportId}/file", second.exportId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        assertThat(result.getResponse().getContentAsByteArray())
+                .isEqualTo(Files.readAllBytes(exportService.file(second.exportId())));
+        assertThat(second.rowCount()).isEqualTo(2L);
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(exportService.file(second.exportId()));
+        }
+        assertThat(Files.exists(directory.resolve("history-export-" + first.exportId() + ".bin"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("실패한 내보내기 - 보관 개수를 넘은 이전 실패는 상태에서 지워져야 함")
+    void start_Failed_KeepsRetainedFailures() throws Exception {
+        // given
+        // 내보내기 디렉터리 자리에 파일이 있어 파일을 만들 수 없음
+        Path blocked = Files.createFile(directory.resolve("blocked"));
+        exportService.shutdown();
+        PointProperties properties = new PointPropertiesBuilder()
+                .export(new PointProperties.Export(blocked.toString(), 2, 1))
+                .build();
+        exportService = new PointHistoryExportService(pointService, new IndexedPointHistoryTable(0), properties);
+
+        // when
+        PointHistoryExport first = awaitFinished(exportService.start());
+        Thread.sleep(2);
+        PointHistoryExport second = awaitFinished(exportService.start());
+
+        // then
+        assertThat(second.status()).isEqualTo(PointHistoryExport.Status.FAILED);
+        assertThatThrownBy(() -> exportService.get(first.exportId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private PointHistoryExport awaitCompletion(PointHistoryExport started) throws InterruptedException {
+        PointHistoryExport export = awaitFinished(started);
+        assertThat(export.status()).isEqualTo(PointHistoryExport.Status.COMPLETED);
+        return export;
+    }
+
+    private PointHistoryExport awaitFinished(PointHistoryExport started) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        PointHistoryExport export = exportService.get(started.exportId());
+        while (export.status() == PointHistoryExport.Status.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            export = exportService.get(started.exportId());
+        }
+        return export;
+    }
+}
@@ -0,0 +1,163 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointService 내역 write-behind 테스트")
+class PointHistoryWriteBehindTest {
+
+    private BlockingPointHistoryTable pointHistoryTable;
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        pointHistoryTable = new BlockingPointHistoryTable();
+        PointProperties properties = new PointPropertiesBuilder()
+                .historyWriteBehind(new PointProperties.HistoryWriteBehind(true, 2, 16, Duration.ofMillis(50)))
+                .build();
+        pointService = new PointService(new UserPointTable(), pointHistoryTable, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointHistoryTable.unblock();
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("충전 직후 내역 조회 - 아직 insert 되지 않은 내역도 조회되어야 함")
+    void chargePoint_ThenGetHistories_ReadsPendingHistories() {
+        // when
+        pointService.chargePoint(1L, 1000L);
+        pointService.usePoint(1L, 300L);
+
+        // then
+        List<PointHistory> histories = pointService.getPointHistories(1L);
+        assertThat(histories).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.USE);
+        assertThat(histories).extracting(PointHistory::id).isSorted();
+        assertThat(pointHistoryTable.selectAllByUserId(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("충전 직후 cursor 조회 - 아직 insert 되지 않은 내역도 페이지에 포함되어야 함")
+    void chargePoint_ThenGetHistoryPage_ReadsPendingHistories() {
+        // given
+        pointService.chargePoint(1L, 1000L);
+        pointService.chargePoint(1L, 2000L);
+
+        // when
+        PointHistoryPage firstPage = pointService.getPointHistories(1L, PointHistoryQuery.firstPage(1));
+        PointHistoryPage nextPage = pointService.getPointHistories(1L,
+                PointHistoryQuery.firstPage(1).after(firstPage.nextCursor()));
+
+        // then
+        assertThat(firstPage.histories()).extracting(PointHistory::amount).containsExactly(1000L);
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(nextPage.histories()).extracting(PointHistory::amount).containsExactly(2000L);
+        assertThat(nextPage.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("대기열 가득 참 - 잔액을 변경하지 않고 PointHistoryBackpressureException 발생")
+    void chargePoint_Fail_QueueFull() {
+        // given
+        pointService.chargePoint(1L, 1000L);
+        pointService.chargePoint(1L, 1000L);
+
+        // when & then
+        assertThatThrownBy(() -> pointService.chargePoint(1L, 1000L))
+                .isInstanceOf(PointHistoryBackpressureException.class);
+        assertThat(pointService.getUserPoint(1L).point()).isEqualTo(2000L);
+    }
+
+    @Test
+    @DisplayName("종료 - 대기 중인 내역을 모두 insert 해야 함")
+    void shutdown_FlushesPendingHistories() {
+        // given
+        pointService.chargePoint(1L, 1000L);
+        pointService.chargePoint(2L, 2000L);
+
+        // when
+        pointHistoryTable.unblock();
+        pointService.shutdown();
+
+        // then
+        assertThat(pointHistoryTable.selectAllByUserId(1L)).hasSize(1);
+        assertThat(pointHistoryTable.selectAllByUserId(2L)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("insert 실패 - 기록을 멈추고 내역은 계속 조회되며, 이후 충전은 기다리지 않고 바로 실패해야 함")
+    void insertFailure_StopsWriterWithoutDroppingHistories() throws InterruptedException {
+        // given
+        pointHistoryTable.failWith(new IllegalStateException("insert 실패"));
+        pointService.chargePoint(1L, 1000L);
+
+        // when
+        pointHistoryTable.unblock();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        boolean stopped = false;
+        while (!stopped && System.nanoTime() < deadline) {
+            try {
+                pointService.chargePoint(2L, 1L);
+                Thread.sleep(10);
+            } catch (IllegalStateException e) {
+                stopped = true;
+            }
+        }
+
+        // then
+        assertThat(stopped).isTrue();
+        assertThatThrownBy(() -> pointService.chargePoint(1L, 500L))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(pointService.getUserPoint(1L).point()).isEqualTo(1000L);
+        assertThat(pointService.getPointHistories(1L)).extracting(PointHistory::amount).containsExactly(1000L);
+    }
+
+    /**
+     * unblock 전까지 insert 를 막아 내역이 대기열에 머물도록 합니다.
+     * failWith 로 예외를 지정하면 insert 할 때 그 예외를 던집니다.
+     */
+    private static class BlockingPointHistoryTable extends IndexedPointHistoryTable {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile RuntimeException failure;
+
+        BlockingPointHistoryTable() {
+            super(0);
+        }
+
+        void unblock() {
+            latch.countDown();
+        }
+
+        void failWith(RuntimeException failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public void insertAll(List<PointHistory> histories) {
+            try {
+                latch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            super.insertAll(histories);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointIdempotencyCache 테스트")
+class PointIdempotencyCacheTest {
+
+    private static final PointCommand CHARGE = new PointCommand(1L, TransactionType.CHARGE, 500L);
+    private static final long NO_DEADLINE = PointDeadlines.NONE;
+
+    @Test
+    @DisplayName("실행 중인 중복 요청 - 다시 실행하지 않고 처음 실행의 결과를 기다림")
+    void execute_InFlightDuplicate_WaitsForFirst() throws Exception {
+        // given
+        PointIdempotencyCache cache = new PointIdempotencyCache(PointProperties.Idempotency.defaults());
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() ->
+                cache.execute("key", CHARGE, NO_DEADLINE, () -> {
+                    executions.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return new UserPoint(1L, 500L, 1L);
+                }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        CompletableFuture<UserPoint> duplicate = CompletableFuture.supplyAsync(() ->
+                cache.execute("key", CHARGE, NO_DEADLINE, () -> {
+                    executions.incrementAndGet();
+                    return new UserPoint(1L, 1000L, 2L);
+                }));
+        release.countDown();
+
+        // then
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+        assertThat(executions).hasValue(1);
+        assertThat(cache.stats().replayCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 요청 - 거부")
+    void execute_SameKeyDifferentCommand_Rejected() {
+        // given
+        PointIdempotencyCache cache = new PointIdempotencyCache(PointProperties.Idempotency.defaults());
+        cache.execute("key", CHARGE, NO_DEADLINE, () -> new UserPoint(1L, 500L, 1L));
+
+        // when & then
+        assertThatThrownBy(() -> cache.execute("key", new PointCommand(1L, TransactionType.USE, 500L), NO_DEADLINE,
+                () -> new UserPoint(1L, 0L, 2L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        // 다른 유저의 같은 키는 별개의 요청
+        assertThat(cache.execute("key", new PointCommand(2L, TransactionType.USE, 500L), NO_DEADLINE,
+                () -> new UserPoint(2L, 0L, 2L)).id()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("실패한 요청 - 기억하지 않고 재시도하면 다시 실행")
+    void execute_Failure_NotRemembered() {
+        // given
+        PointIdempotencyCache cache = new PointIdempotencyCache(PointProperties.Idempotency.defaults());
+        assertThatThrownBy(() -> cache.execute("key", CHARGE, NO_DEADLINE, () -> {
+            throw new PointLockTimeoutException();
+        })).isInstanceOf(PointLockTimeoutException.class);
+
+        // when
+        UserPoint retried = cache.execute("key", CHARGE, NO_DEADLINE, () -> new UserPoint(1L, 500L, 1L));
+
+        // then
+        assertThat(retried.point()).isEqualTo(500L);
+        assertThat(cache.stats().replayCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("최대 크기와 보관 시간 초과 - 오래된 요청부터 잊고 다시 실행")
+    void execute_EvictsBySizeAndTtl() throws Exception {
+        // given
+        PointIdempotencyCache bySize = new PointIdempotencyCache(
+                new PointProperties.Idempotency(true, 2, Duration.ofMinutes(10)));
+        PointIdempotencyCache byTtl = new PointIdempotencyCache(
+                new PointProperties.Idempotency(true, 100, Duration.ofMillis(10)));
+        for (String key : new String[]{"a", "b", "c"}) {
+            bySize.execute(key, CHARGE, NO_DEADLINE, () -> new UserPoint(1L, 500L, 1L));
+        }
+        byTtl.execute("a", CHARGE, NO_DEADLINE, () -> new UserPoint(1L, 500L, 1L));
+        Thread.sleep(20);
+
+        // when
+        UserPoint sizeEvicted = bySize.execute("a", CHARGE, NO_DEADLINE, () -> new UserPoint(1L, 1000L, 2L));
+        UserPoint ttlExpired = byTtl.execute("a", CHARGE, NO_DEADLINE, () -> new UserPoint(1L, 1000L, 2L));
+
+        // then
+        assertThat(sizeEvicted.point()).isEqualTo(1000L);
+        assertThat(ttlExpired.point()).isEqualTo(1000L);
+        assertThat(bySize.stats().evictionCount()).isEqualTo(2L);
+        assertThat(bySize.stats().size()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Error 로 끝난 요청 - 기다리던 요청도 같은 Error 를 받고, 재시도하면 다시 실행")
+    void execute_Error_CompletesWaitersAndNotRemembered() throws Exception {
+        // given
+        PointIdempotencyCache cache = new PointIdempotencyCache(PointProperties.Idempotency.defaults());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() ->
+                cache.execute("key", CHARGE, NO_DEADLINE, () -> {
+                    started.countDown();
+                    await(release);
+                    throw new StackOverflowError();
+                }));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<UserPoint> duplicate = CompletableFuture.supplyAsync(() ->
+                cache.execute("key", CHARGE, NO_DEADLINE, () -> new UserPoint(1L, 1000L, 2L)));
+        awaitReplay(cache);
+
+        // when
+        release.countDown();
+
+        // then
+        assertThatThrownBy(() -> duplicate.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(cache.execute("key", CHARGE, NO_DEADLINE, () -> new UserPoint(1L, 500L, 3L)).point())
+                .isEqualTo(500L);
+    }
+
+    @Test
+    @DisplayName("실행 중인 중복 요청의 기한 초과 - 처음 실행을 끝까지 기다리지 않고 실패")
+    void execute_InFlightDuplicate_DeadlineExceeded() throws Exception {
+        // given
+        PointIdempotencyCache cache = new PointIdempotencyCache(PointProperties.Idempotency.defaults());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() ->
+                cache.execute("key", CHARGE, NO_DEADLINE, () -> {
+                    started.countDown();
+                    await(release);
+                    return new UserPoint(1L, 500L, 1L);
+                }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when & then
+        assertThatThrownBy(() -> cache.execute("key", CHARGE, PointDeadlines.after(Duration.ofMillis(50)),
+                () -> new UserPoint(1L, 1000L, 2L)))
+                .isInstanceOf(PointDeadlineExceededException.class);
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).point()).isEqualTo(500L);
+    }
+
+    private static void awaitReplay(PointIdempotencyCache cache) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.stats().replayCount() == 0 && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
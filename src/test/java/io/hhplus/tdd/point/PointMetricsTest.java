@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.PrimitiveUserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointMetrics 테스트")
+class PointMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        pointService = new PointService(new PrimitiveUserPointTable(16, 0, 0), new IndexedPointHistoryTable(0),
+                PointProperties.defaults(), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("충전/사용 - 거래 종류별 성공/실패 횟수와 단계별 시간이 기록되어야 함")
+    void recordsCommandsAndStages() {
+        // given
+        long userId = 1L;
+
+        // when
+        pointService.chargePoint(userId, 1000L);
+        pointService.usePoint(userId, 300L);
+        assertThatThrownBy(() -> pointService.usePoint(userId, 5000L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pointService.chargePoint(userId, -1L))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // then
+        assertThat(commandCount("CHARGE", "success", "none")).isEqualTo(1.0);
+        assertThat(commandCount("USE", "success", "none")).isEqualTo(1.0);
+        assertThat(commandCount("USE", "failure", "rejected")).isEqualTo(1.0);
+        assertThat(commandCount("CHARGE", "failure", "rejected")).isEqualTo(1.0);
+        assertThat(registry.get("point.lock.wait").timer().count()).isEqualTo(3L);
+        assertThat(registry.get("point.table").tag("operation", "update").timer().count()).isEqualTo(2L);
+        assertThat(registry.get("point.history.insert").timer().count()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("이체 - 성공/실패가 type=TRANSFER 로 기록되어야 함")
+    void recordsTransfers() {
+        // given
+        pointService.chargePoint(1L, 1000L);
+
+        // when
+        pointService.transferPoint(1L, 2L, 300L);
+        assertThatThrownBy(() -> pointService.transferPoint(1L, 2L, 5000L))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // then
+        assertThat(commandCount("TRANSFER", "success", "none")).isEqualTo(1.0);
+        assertThat(commandCount("TRANSFER", "failure", "rejected")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("유저 락 대기 - 대기 스레드 수 게이지와 유저별 대기 게이지가 갱신되어야 함")
+    void refreshHotLocks() throws InterruptedException {
+        // given
+        UserLockManager lockManager = new UserLockManager(
+                new PointProperties.Lock(UserLockManager.Mode.REFERENCE_COUNTED, 0, Duration.ofSeconds(5)));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PointMetrics metrics = new PointMetrics(registry, PointProperties.Metrics.defaults());
+        metrics.bind(lockManager, () -> 0);
+        UserLockManager.Lease lease = lockManager.lock(7L);
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> lockManager.lock(7L).close(),
+                Executors.newVirtualThreadPerTaskExecutor());
+        while (lockManager.waitingThreadCount() == 0) {
+            Thread.sleep(1);
+        }
+
+        // when
+        metrics.refreshHotLocks(lockManager);
+
+        // then
+        assertThat(registry.get("point.lock.waiting").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("point.lock.hot.waiting").tag("userId", "7").gauge().value()).isEqualTo(1.0);
+        lease.close();
+        waiter.join();
+        metrics.refreshHotLocks(lockManager);
+        assertThat(registry.find("point.lock.hot.waiting").gauges()).isEmpty();
+        metrics.shutdown();
+    }
+
+    private double commandCount(String type, String result, String reason) {
+        return registry.get("point.commands")
+                .tags("type", type, "result", result, "reason", reason)
+                .counter().count();
+    }
+}
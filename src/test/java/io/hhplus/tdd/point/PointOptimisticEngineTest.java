@@ -0,0 +1,104 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointService optimistic 엔진 테스트")
+class PointOptimisticEngineTest {
+
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        PointProperties properties = new PointPropertiesBuilder().engine(new PointProperties.Engine(
+                PointProperties.Engine.Type.OPTIMISTIC, 16, 256, 3, Duration.ofMillis(1), Duration.ofSeconds(1)))
+                .build();
+        pointService = new PointService(new UserPointTable(), new IndexedPointHistoryTable(), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("충돌 없는 충전/사용 - 유저 락 없이 version 비교로 커밋되어야 함")
+    void chargeAndUsePoint_NoContention_CommittedWithoutLock() {
+        // when
+        pointService.chargePoint(1L, 1000L);
+        pointService.usePoint(1L, 300L);
+
+        // then
+        assertThat(pointService.getUserPoint(1L).point()).isEqualTo(700L);
+        assertThat(pointService.getPointHistories(1L)).hasSize(2);
+        assertThat(pointService.getOptimisticStats()).isEqualTo(new UserPointVersions.Stats(2, 0, 0, 1));
+        assertThat(pointService.getLockStats().acquireCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("한 유저 동시 충전/사용 - 충돌이 반복되면 유저 락으로 전환하고 잔액과 내역이 일치해야 함")
+    void chargeAndUsePoint_Contention_FallsBackToLock() throws InterruptedException {
+        // given
+        long userId = 2L;
+        int threadCount = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger successCount = new AtomicInteger();
+
+        // when
+        // 10개 스레드는 충전(+100), 10개 스레드는 사용(-200)
+        for (int i = 0; i < threadCount; i++) {
+            final int index = i;
+            executorService.submit(() -> {
+                try {
+                    if (index % 2 == 0) {
+                        pointService.chargePoint(userId, 100L);
+                    } else {
+                        pointService.usePoint(userId, 200L);
+                    }
+                    successCount.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // 잔액 부족
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        // then
+        long expected = pointService.getPointHistories(userId).stream()
+                .mapToLong(history -> history.type() == TransactionType.CHARGE ? history.amount() : -history.amount())
+                .sum();
+        assertThat(pointService.getPointHistories(userId)).hasSize(successCount.get());
+        assertThat(pointService.getUserPoint(userId).point()).isEqualTo(expected).isNotNegative();
+        assertThat(pointService.getOptimisticStats().conflictCount()).isPositive();
+        assertThat(pointService.getOptimisticStats().fallbackCount()).isPositive();
+        assertThat(pointService.getOptimisticStats().commitCount()).isEqualTo(successCount.get());
+
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("잔액 부족 - 커밋하지 않고 실패해야 함")
+    void usePoint_Fail_InsufficientBalance() {
+        assertThatThrownBy(() -> pointService.usePoint(3L, 100L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("포인트 잔액이 부족합니다.");
+        assertThat(pointService.getPointHistories(3L)).isEmpty();
+        assertThat(pointService.getOptimisticStats().commitCount()).isZero();
+    }
+}
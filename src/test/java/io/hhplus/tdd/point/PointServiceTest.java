@@ -1,16 +1,29 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,11 +34,14 @@ class PointServiceTest {
     private UserPointTable userPointTable;
 
     @Mock
-    private PointHistoryTable pointHistoryTable;
+    private IndexedPointHistoryTable pointHistoryTable;
+
+    private PointService pointService;
 
-    // TODO: PointService 구현 후 @InjectMocks 주석 해제
-    // @InjectMocks
-    // private PointService pointService;
+    @BeforeEach
+    void setUp() {
+        pointService = new PointService(userPointTable, pointHistoryTable, PointProperties.defaults());
+    }
 
     @Test
     @DisplayName("포인트 조회 - 성공")
@@ -36,28 +52,150 @@ class PointServiceTest {
         when(userPointTable.selectById(userId)).thenReturn(expected);
 
         // when
-        // TODO: PointService 구현 후 테스트 작성
-        // UserPoint result = pointService.getUserPoint(userId);
+        UserPoint result = pointService.getUserPoint(userId);
+
+        // then
+        assertThat(result).isNotNull();
+        assertThat(result.id()).isEqualTo(userId);
+        assertThat(result.point()).isEqualTo(1000L);
+    }
+
+    @Test
+    @DisplayName("포인트 조회 - 캐시 적중 시 테이블을 다시 조회하지 않음")
+    void getUserPoint_CacheHit() {
+        // given
+        long userId = 1L;
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+
+        // when
+        pointService.getUserPoint(userId);
+        UserPoint result = pointService.getUserPoint(userId);
+
+        // then
+        assertThat(result.point()).isEqualTo(1000L);
+        verify(userPointTable, times(1)).selectById(userId);
+        assertThat(pointService.getBalanceCacheStats().hitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("포인트 조회 - 동시 조회는 테이블 조회 한 번을 나눠 가짐")
+    void getUserPoint_ConcurrentReads_Coalesced() {
+        // given
+        long userId = 1L;
+        int readers = 20;
+        when(userPointTable.selectById(userId)).thenAnswer(invocation -> {
+            // 나머지 조회가 모두 합류할 때까지 테이블 조회를 끝내지 않음
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (pointService.getBalanceReadStats().coalescedCount() < readers - 1
+                    && System.nanoTime() < deadline) {
+                Thread.yield();
+            }
+            return new UserPoint(userId, 1000L, System.currentTimeMillis());
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+
+        // when
+        List<CompletableFuture<UserPoint>> results = IntStream.range(0, readers)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> pointService.getUserPoint(userId), executor))
+                .toList();
 
         // then
-        // assertThat(result).isNotNull();
-        // assertThat(result.id()).isEqualTo(userId);
-        // assertThat(result.point()).isEqualTo(1000L);
+        assertThat(results).allSatisfy(result -> assertThat(result.join().point()).isEqualTo(1000L));
+        executor.shutdown();
+        verify(userPointTable, times(1)).selectById(userId);
+        assertThat(pointService.getBalanceReadStats().loadCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("포인트 조회 - 캐시 미스 조회는 유저 락 없이 읽고, 읽는 동안 쓰기가 있었으면 캐시에 넣지 않음")
+    void getUserPoint_WriteDuringMiss_NotCached() {
+        // given
+        stubHistoryInsert();
+        long userId = 1L;
+        AtomicInteger selects = new AtomicInteger();
+        when(userPointTable.selectById(userId)).thenAnswer(invocation -> {
+            if (selects.getAndIncrement() == 0) {
+                // 조회가 유저 락을 잡고 있다면 이 충전은 끝나지 않음
+                CompletableFuture.runAsync(() -> pointService.chargePoint(userId, 500L)).get(5, TimeUnit.SECONDS);
+            }
+            return new UserPoint(userId, 1000L, System.currentTimeMillis());
+        });
+        when(userPointTable.insertOrUpdate(userId, 1500L))
+                .thenReturn(new UserPoint(userId, 1500L, System.currentTimeMillis()));
+
+        // when
+        UserPoint loaded = pointService.getUserPoint(userId);
+        UserPoint result = pointService.getUserPoint(userId);
+
+        // then
+        assertThat(loaded.point()).isEqualTo(1000L);
+        assertThat(result.point()).isEqualTo(1500L);
+        verify(userPointTable, times(2)).selectById(userId);
+    }
+
+    @Test
+    @DisplayName("포인트 충전 후 조회 - 충전된 잔액을 캐시에서 반환")
+    void chargePoint_ThenGetUserPoint_ReadsFromCache() {
+        // given
+        stubHistoryInsert();
+        long userId = 1L;
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(userId, 1500L))
+                .thenReturn(new UserPoint(userId, 1500L, System.currentTimeMillis()));
+
+        // when
+        pointService.chargePoint(userId, 500L);
+        UserPoint result = pointService.getUserPoint(userId);
+
+        // then
+        assertThat(result.point()).isEqualTo(1500L);
+        verify(userPointTable, times(1)).selectById(userId);
     }
 
     @Test
     @DisplayName("포인트 충전 - 성공")
     void chargePoint_Success() {
         // given
+        stubHistoryInsert();
         long userId = 1L;
         long chargeAmount = 500L;
         long currentPoint = 1000L;
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, currentPoint, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(userId, 1500L))
+                .thenReturn(new UserPoint(userId, 1500L, System.currentTimeMillis()));
+
+        // when
+        UserPoint result = pointService.chargePoint(userId, chargeAmount);
+
+        // then
+        assertThat(result.point()).isEqualTo(1500L);
+        verify(pointHistoryTable).insert(userId, chargeAmount, TransactionType.CHARGE, result.updateMillis());
+    }
+
+    @Test
+    @DisplayName("포인트 충전 - 같은 Idempotency-Key 로 재시도하면 테이블을 다시 거치지 않고 처음 결과를 반환")
+    void chargePoint_IdempotentRetry_ReturnsFirstResult() {
+        // given
+        stubHistoryInsert();
+        long userId = 1L;
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(userId, 1500L))
+                .thenReturn(new UserPoint(userId, 1500L, System.currentTimeMillis()));
+        UserPoint first = pointService.chargePoint(userId, 500L, "retry-1");
 
         // when
-        // TODO: PointService 구현 후 테스트 작성
+        UserPoint retried = pointService.chargePoint(userId, 500L, "retry-1");
 
         // then
-        // assertThat(result.point()).isEqualTo(1500L);
+        assertThat(retried).isEqualTo(first);
+        verify(userPointTable, times(1)).insertOrUpdate(userId, 1500L);
+        verify(pointHistoryTable, times(1)).insert(userId, 500L, TransactionType.CHARGE, first.updateMillis());
+        assertThat(pointService.getIdempotencyStats().replayCount()).isEqualTo(1L);
     }
 
     @Test
@@ -68,25 +206,30 @@ class PointServiceTest {
         long chargeAmount = -500L;
 
         // when & then
-        // TODO: PointService 구현 후 예외 테스트 작성
-        // assertThatThrownBy(() -> pointService.chargePoint(userId, chargeAmount))
-        //     .isInstanceOf(IllegalArgumentException.class)
-        //     .hasMessage("충전 금액은 0보다 커야 합니다.");
+        assertThatThrownBy(() -> pointService.chargePoint(userId, chargeAmount))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("충전 금액은 0보다 커야 합니다.");
     }
 
     @Test
     @DisplayName("포인트 사용 - 성공")
     void usePoint_Success() {
         // given
+        stubHistoryInsert();
         long userId = 1L;
         long useAmount = 300L;
         long currentPoint = 1000L;
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, currentPoint, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(userId, 700L))
+                .thenReturn(new UserPoint(userId, 700L, System.currentTimeMillis()));
 
         // when
-        // TODO: PointService 구현 후 테스트 작성
+        UserPoint result = pointService.usePoint(userId, useAmount);
 
         // then
-        // assertThat(result.point()).isEqualTo(700L);
+        assertThat(result.point()).isEqualTo(700L);
+        verify(pointHistoryTable).insert(userId, useAmount, TransactionType.USE, result.updateMillis());
     }
 
     @Test
@@ -96,12 +239,14 @@ class PointServiceTest {
         long userId = 1L;
         long useAmount = 2000L;
         long currentPoint = 1000L;
+        when(userPointTable.selectById(userId))
+                .thenReturn(new UserPoint(userId, currentPoint, System.currentTimeMillis()));
 
         // when & then
-        // TODO: PointService 구현 후 예외 테스트 작성
-        // assertThatThrownBy(() -> pointService.usePoint(userId, useAmount))
-        //     .isInstanceOf(IllegalArgumentException.class)
-        //     .hasMessage("포인트 잔액이 부족합니다.");
+        assertThatThrownBy(() -> pointService.usePoint(userId, useAmount))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("포인트 잔액이 부족합니다.");
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
     }
 
     @Test
@@ -112,10 +257,9 @@ class PointServiceTest {
         long useAmount = -500L;
 
         // when & then
-        // TODO: PointService 구현 후 예외 테스트 작성
-        // assertThatThrownBy(() -> pointService.usePoint(userId, useAmount))
-        //     .isInstanceOf(IllegalArgumentException.class)
-        //     .hasMessage("사용 금액은 0보다 커야 합니다.");
+        assertThatThrownBy(() -> pointService.usePoint(userId, useAmount))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("사용 금액은 0보다 커야 합니다.");
     }
 
     @Test
@@ -123,11 +267,23 @@ class PointServiceTest {
     void getPointHistory_Success() {
         // given
         long userId = 1L;
+        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(List.of(
+                new PointHistory(1L, userId, 1000L, TransactionType.CHARGE, System.currentTimeMillis()),
+                new PointHistory(2L, userId, 300L, TransactionType.USE, System.currentTimeMillis())
+        ));
 
         // when
-        // TODO: PointService 구현 후 테스트 작성
+        List<PointHistory> histories = pointService.getPointHistories(userId);
 
         // then
-        // assertThat(histories).isNotNull();
+        assertThat(histories).isNotNull();
+        assertThat(histories).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.USE);
+    }
+
+    private void stubHistoryInsert() {
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(1L, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2),
+                        invocation.getArgument(3)));
     }
 }
@@ -0,0 +1,264 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointService sharded 엔진 테스트")
+class PointShardedEngineTest {
+
+    private CountingUserPointTable userPointTable;
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        userPointTable = new CountingUserPointTable();
+        PointProperties.Engine defaults = PointProperties.Engine.defaults();
+        PointProperties properties = new PointPropertiesBuilder().engine(new PointProperties.Engine(
+                PointProperties.Engine.Type.SHARDED, 2, 256, defaults.optimisticRetries(),
+                defaults.optimisticMaxBackoff(), defaults.pessimisticWindow())).build();
+        pointService = new PointService(userPointTable, new IndexedPointHistoryTable(), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("여러 유저 동시 충전 - 모두 반영되고 잔액 쓰기는 shard 가 꺼낸 배치 단위로 수행되어야 함")
+    void chargePoint_ConcurrentRequests_CommittedByShards() throws InterruptedException {
+        // given
+        int userCount = 4;
+        int requestsPerUser = 20;
+        int threadCount = userCount * requestsPerUser;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % userCount + 1;
+            executorService.submit(() -> {
+                try {
+                    pointService.chargePoint(userId, 100L);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        // then
+        for (long userId = 1; userId <= userCount; userId++) {
+            assertThat(pointService.getUserPoint(userId).point()).isEqualTo(100L * requestsPerUser);
+            assertThat(pointService.getPointHistories(userId)).hasSize(requestsPerUser);
+        }
+        assertThat(userPointTable.updateCount.get()).isLessThan(threadCount);
+        assertThat(pointService.getShardStats()).hasSize(2)
+                .allSatisfy(stats -> assertThat(stats.queueDepth()).isZero());
+        assertThat(pointService.getShardStats().stream().mapToLong(PointShardedEngine.ShardStats::processedCount).sum())
+                .isEqualTo(threadCount);
+
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("동시 충전/사용 - 잔액 검증은 도착 순서대로 적용되고 잔액이 부족한 요청만 실패해야 함")
+    void chargeAndUsePoint_ConcurrentRequests() throws InterruptedException {
+        // given
+        long userId = 1L;
+        int threadCount = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger successCount = new AtomicInteger();
+
+        // when
+        // 10개 스레드는 충전(+100), 10개 스레드는 사용(-200)
+        for (int i = 0; i < threadCount; i++) {
+            final int index = i;
+            executorService.submit(() -> {
+                try {
+                    if (index % 2 == 0) {
+                        pointService.chargePoint(userId, 100L);
+                    } else {
+                        pointService.usePoint(userId, 200L);
+                    }
+                    successCount.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // 잔액 부족
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+
+        // then
+        long expected = pointService.getPointHistories(userId).stream()
+                .mapToLong(history -> history.type() == TransactionType.CHARGE ? history.amount() : -history.amount())
+                .sum();
+        assertThat(pointService.getPointHistories(userId)).hasSize(successCount.get());
+        assertThat(pointService.getUserPoint(userId).point()).isEqualTo(expected).isNotNegative();
+
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("종료 후 요청 - 거부되어야 함")
+    void chargePoint_AfterShutdown_Rejected() {
+        // given
+        pointService.chargePoint(1L, 100L);
+
+        // when
+        pointService.shutdown();
+
+        // then
+        assertThatThrownBy(() -> pointService.chargePoint(1L, 100L))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(pointService.getShardStats())
+                .extracting(PointShardedEngine.ShardStats::processedCount)
+                .containsExactlyInAnyOrder(0L, 1L);
+    }
+
+    @Test
+    @DisplayName("여러 유저가 한 배치에 모임 - 잔액은 유저마다 한 번, 내역은 배치 전체를 한 번에 추가해야 함")
+    void chargePoint_UsersInOneDrain_CommittedTogether() throws InterruptedException {
+        // given
+        CountingPointHistoryTable pointHistoryTable = new CountingPointHistoryTable();
+        PointProperties.Engine defaults = PointProperties.Engine.defaults();
+        PointService singleShard = new PointService(userPointTable, pointHistoryTable, new PointPropertiesBuilder()
+                .engine(new PointProperties.Engine(PointProperties.Engine.Type.SHARDED, 1, 256,
+                        defaults.optimisticRetries(), defaults.optimisticMaxBackoff(), defaults.pessimisticWindow()))
+                .build());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        userPointTable.blockOnce(entered, release);
+        int userCount = 4;
+        ExecutorService executorService = Executors.newFixedThreadPool(userCount + 1);
+        CountDownLatch latch = new CountDownLatch(userCount + 1);
+        executorService.submit(() -> {
+            try {
+                singleShard.chargePoint(100L, 100L);
+            } finally {
+                latch.countDown();
+            }
+        });
+        entered.await();
+
+        // when
+        for (long userId = 1; userId <= userCount; userId++) {
+            long id = userId;
+            executorService.submit(() -> {
+                try {
+                    singleShard.chargePoint(id, 100L * id);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        while (singleShard.getShardStats().get(0).queueDepth() < userCount) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        latch.await();
+
+        // then
+        for (long userId = 1; userId <= userCount; userId++) {
+            assertThat(singleShard.getUserPoint(userId).point()).isEqualTo(100L * userId);
+        }
+        assertThat(userPointTable.updateCount.get()).isEqualTo(1 + userCount);
+        assertThat(pointHistoryTable.insertCount.get()).isEqualTo(2);
+        assertThat(singleShard.getShardStats().get(0).batchCount()).isEqualTo(2);
+
+        singleShard.shutdown();
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("커밋 중 Error - 해당 배치의 요청만 실패하고 shard 스레드는 계속 처리해야 함")
+    void chargePoint_ErrorWhileCommitting_ShardKeepsRunning() {
+        // given
+        userPointTable.failOnce(new StackOverflowError());
+
+        // when
+        assertThatThrownBy(() -> pointService.chargePoint(1L, 100L))
+                .isInstanceOf(StackOverflowError.class);
+        UserPoint charged = pointService.chargePoint(1L, 200L);
+
+        // then
+        assertThat(charged.point()).isEqualTo(200L);
+        assertThat(pointService.getShardStats())
+                .extracting(PointShardedEngine.ShardStats::processedCount)
+                .containsExactlyInAnyOrder(0L, 2L);
+    }
+
+    /**
+     * failOnce 로 Error 를 지정하면 다음 잔액 쓰기 한 번은 그 Error 를 던집니다.
+     * blockOnce 로 latch 를 지정하면 다음 잔액 쓰기 한 번은 entered 를 내리고 release 까지 기다립니다.
+     */
+    private static class CountingUserPointTable extends UserPointTable {
+        private final AtomicInteger updateCount = new AtomicInteger();
+        private final AtomicReference<Error> failure = new AtomicReference<>();
+        private final AtomicReference<CountDownLatch[]> block = new AtomicReference<>();
+
+        void failOnce(Error error) {
+            failure.set(error);
+        }
+
+        void blockOnce(CountDownLatch entered, CountDownLatch release) {
+            block.set(new CountDownLatch[]{entered, release});
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            Error error = failure.getAndSet(null);
+            if (error != null) {
+                throw error;
+            }
+            CountDownLatch[] latches = block.getAndSet(null);
+            if (latches != null) {
+                latches[0].countDown();
+                try {
+                    latches[1].await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            updateCount.incrementAndGet();
+            return super.insertOrUpdate(id, amount);
+        }
+    }
+
+    private static class CountingPointHistoryTable extends IndexedPointHistoryTable {
+        private final AtomicInteger insertCount = new AtomicInteger();
+
+        CountingPointHistoryTable() {
+            super(0);
+        }
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            insertCount.incrementAndGet();
+            return super.insert(userId, amount, type, updateMillis);
+        }
+
+        @Override
+        public List<PointHistory> insertAll(List<PointCommand> commands, long updateMillis) {
+            insertCount.incrementAndGet();
+            return super.insertAll(commands, updateMillis);
+        }
+    }
+}
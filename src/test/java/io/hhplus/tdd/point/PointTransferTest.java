@@ -0,0 +1,168 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.PrimitiveUserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointService 이체 테스트")
+class PointTransferTest {
+
+    private PointService pointService;
+
+    @AfterEach
+    void tearDown() {
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("이체 - 두 유저의 잔액이 함께 바뀌고 양쪽에 같은 시각의 내역이 한 건씩 남아야 함")
+    void transferPoint_Success() {
+        // given
+        pointService = newPointService(PointProperties.Engine.Type.LOCK);
+        pointService.chargePoint(1L, 1000L);
+
+        // when
+        PointTransferResult result = pointService.transferPoint(1L, 2L, 300L);
+
+        // then
+        assertThat(result.from().point()).isEqualTo(700L);
+        assertThat(result.to().point()).isEqualTo(300L);
+        assertThat(pointService.getUserPoint(1L).point()).isEqualTo(700L);
+        assertThat(pointService.getUserPoint(2L).point()).isEqualTo(300L);
+        PointHistory sent = pointService.getPointHistories(1L).get(1);
+        PointHistory received = pointService.getPointHistories(2L).get(0);
+        assertThat(sent.type()).isEqualTo(TransactionType.USE);
+        assertThat(received.type()).isEqualTo(TransactionType.CHARGE);
+        assertThat(received.id()).isEqualTo(sent.id() + 1);
+        assertThat(received.updateMillis()).isEqualTo(sent.updateMillis());
+    }
+
+    @Test
+    @DisplayName("잔액 부족 이체 - 실패하고 어느 쪽의 잔액과 내역도 바뀌지 않아야 함")
+    void transferPoint_Fail_InsufficientBalance() {
+        // given
+        pointService = newPointService(PointProperties.Engine.Type.LOCK);
+        pointService.chargePoint(1L, 100L);
+
+        // when & then
+        assertThatThrownBy(() -> pointService.transferPoint(1L, 2L, 300L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("포인트 잔액이 부족합니다.");
+        assertThatThrownBy(() -> pointService.transferPoint(1L, 1L, 10L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(pointService.getUserPoint(1L).point()).isEqualTo(100L);
+        assertThat(pointService.getPointHistories(1L)).hasSize(1);
+        assertThat(pointService.getPointHistories(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이체 중 Error - write-behind 대기열 자리를 돌려주고 다음 이체는 처리되어야 함")
+    void transferPoint_Error_ReleasesHistorySlots() {
+        // given
+        FailingUserPointTable userPointTable = new FailingUserPointTable();
+        pointService = new PointService(userPointTable, new IndexedPointHistoryTable(0), new PointPropertiesBuilder()
+                .historyWriteBehind(new PointProperties.HistoryWriteBehind(true, 3, 16, Duration.ofMillis(50)))
+                .build());
+        pointService.chargePoint(1L, 1000L);
+        userPointTable.failOnce(new StackOverflowError());
+
+        // when
+        assertThatThrownBy(() -> pointService.transferPoint(1L, 2L, 300L))
+                .isInstanceOf(StackOverflowError.class);
+        PointTransferResult result = pointService.transferPoint(1L, 2L, 300L);
+
+        // then
+        assertThat(result.from().point()).isEqualTo(700L);
+        assertThat(result.to().point()).isEqualTo(300L);
+    }
+
+    @ParameterizedTest(name = "{0} 엔진")
+    @EnumSource(PointProperties.Engine.Type.class)
+    @DisplayName("서로 반대 방향의 동시 이체와 충전 - 멈추지 않고 포인트 총합이 보존되어야 함")
+    void transferPoint_OpposingConcurrentTransfers_NoDeadlock(PointProperties.Engine.Type engine) throws Exception {
+        // given
+        pointService = newPointService(engine);
+        long[] userIds = {1L, 2L, 3L};
+        for (long userId : userIds) {
+            pointService.chargePoint(userId, 10_000L);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        // when
+        for (int t = 0; t < 6; t++) {
+            long from = userIds[t % 3];
+            long to = userIds[(t + 1 + t / 3) % 3];
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 200; i++) {
+                    pointService.transferPoint(from, to, 7L);
+                    pointService.chargePoint(to, 1L);
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        long total = 0;
+        for (long userId : userIds) {
+            total += pointService.getUserPoint(userId).point();
+        }
+        assertThat(total).isEqualTo(30_000L + 6 * 200);
+        long historyTotal = 0;
+        for (long userId : userIds) {
+            for (PointHistory history : pointService.getPointHistories(userId)) {
+                historyTotal += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+            }
+            // 처음 충전 1 + 보낸 이체 400 + 받은 이체 400 + 받은 뒤 충전 400
+            assertThat(pointService.getPointHistories(userId)).hasSize(1 + 3 * 2 * 200);
+        }
+        assertThat(historyTotal).isEqualTo(total);
+    }
+
+    private static PointService newPointService(PointProperties.Engine.Type engine) {
+        PointProperties properties = new PointPropertiesBuilder().engine(new PointProperties.Engine(
+                engine, 4, 256, 3, Duration.ofMillis(1), Duration.ofMillis(100))).build();
+        return new PointService(new PrimitiveUserPointTable(16, 0, 0), new IndexedPointHistoryTable(0), properties);
+    }
+
+    /**
+     * failOnce 로 Error 를 지정하면 다음 잔액 쓰기 한 번은 그 Error 를 던집니다.
+     */
+    private static class FailingUserPointTable extends PrimitiveUserPointTable {
+        private final AtomicReference<Error> failure = new AtomicReference<>();
+
+        private FailingUserPointTable() {
+            super(16, 0, 0);
+        }
+
+        void failOnce(Error error) {
+            failure.set(error);
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            Error error = failure.getAndSet(null);
+            if (error != null) {
+                throw error;
+            }
+            return super.insertOrUpdate(id, amount);
+        }
+    }
+}
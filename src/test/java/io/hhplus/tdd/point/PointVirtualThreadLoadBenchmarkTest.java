@@ -0,0 +1,93 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.TddApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * platform thread(Tomcat 기본 스레드 풀)와 virtual thread 모드의 처리량/지연을 비교합니다.
+ * - 동시 클라이언트마다 서로 다른 유저를 한 번씩 충전하여 요청마다 테이블 지연(sleep)이 발생하도록 합니다.
+ * - ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+@DisplayName("platform/virtual thread 부하 비교")
+class PointVirtualThreadLoadBenchmarkTest {
+
+    @ParameterizedTest(name = "virtual={0}, 동시 클라이언트 {1}")
+    @CsvSource({
+            "false, 1000",
+            "true, 1000",
+            "false, 10000",
+            "true, 10000"
+    })
+    void chargePoint_ConcurrentClients(boolean virtualThreads, int clients) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.max-connections=" + (clients * 2),
+                        "server.tomcat.accept-count=" + clients
+                )
+                .run()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+
+            long[] latencies = new long[clients];
+            List<Future<Integer>> responses = new ArrayList<>(clients);
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < clients; i++) {
+                    final int index = i;
+                    responses.add(executor.submit(() -> {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/point/" + (index + 1) + "/charge"))
+                                .header("Content-Type", "application/json")
+                                .method("PATCH", HttpRequest.BodyPublishers.ofString("1000"))
+                                .timeout(Duration.ofMinutes(5))
+                                .build();
+                        long requestStart = System.nanoTime();
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        latencies[index] = System.nanoTime() - requestStart;
+                        return status;
+                    }));
+                }
+            }
+            long elapsedNanos = System.nanoTime() - start;
+
+            long succeeded = 0;
+            for (Future<Integer> response : responses) {
+                if (response.get() == 200) {
+                    succeeded++;
+                }
+            }
+            Arrays.sort(latencies);
+            System.out.printf("virtual=%s clients=%,d elapsed=%,dms throughput=%,.0freq/s p50=%,dms p99=%,dms max=%,dms%n",
+                    virtualThreads, clients, elapsedNanos / 1_000_000,
+                    clients / (elapsedNanos / 1_000_000_000.0),
+                    latencies[clients / 2] / 1_000_000,
+                    latencies[(int) (clients * 0.99)] / 1_000_000,
+                    latencies[clients - 1] / 1_000_000);
+            assertThat(succeeded).isEqualTo(clients);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.PointSnapshotFile;
+import io.hhplus.tdd.database.PointWalRecord;
+import io.hhplus.tdd.database.PointWriteAheadLog;
+import io.hhplus.tdd.database.PrimitiveUserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WAL 기록 처리량과 스냅샷 + WAL 복구 시간을 측정합니다.
+ * - 기록 : 동시 writer 수를 바꿔가며 fsync 를 켠 상태로 레코드를 한 건씩 append 합니다.
+ * - 복구 : 유저 10M 명의 잔액 스냅샷, 내역 segment 와 1M 건의 WAL 을 PointService 시작 시점에 복구합니다.
+ * - 스냅샷 : 유저당 내역이 많이 쌓인 뒤에도 스냅샷 비용이 새 WAL 건수에만 비례하는지 봅니다.
+ * - ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+@DisplayName("WAL 기록/복구 벤치마크")
+class PointWalBenchmarkTest {
+
+    private static final int EVENT_COUNT = 1_000_000;
+    private static final int USER_COUNT = 10_000_000;
+    private static final int TAIL_COUNT = 1_000_000;
+    private static final int DEEP_USER_COUNT = 100_000;
+    private static final int HISTORIES_PER_USER = 50;
+
+    @TempDir
+    private Path directory;
+
+    @ParameterizedTest(name = "동시 writer {0}")
+    @ValueSource(ints = {1, 16, 64, 256})
+    void append_Throughput(int writers) throws Exception {
+        // given
+        int perWriter = writers == 1 ? 20_000 : EVENT_COUNT / writers;
+        long start;
+        PointWriteAheadLog.Stats stats;
+
+        // when
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(directory, 64L << 20, true, 0);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(writers);
+            for (int w = 0; w < writers; w++) {
+                long userId = w;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        wal.append(List.of(new PointWalRecord(i, userId, TransactionType.CHARGE, 100L, i * 100L, i)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            stats = wal.stats();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        // then
+        long events = (long) writers * perWriter;
+        System.out.printf("writers=%d events=%,d elapsed=%,dms throughput=%,.0fevents/s fsyncs=%,d avgBatch=%.1f%n",
+                writers, events, elapsedNanos / 1_000_000, events / (elapsedNanos / 1_000_000_000.0),
+                stats.syncCount(), (double) events / stats.syncCount());
+        assertThat(stats.appendedRecords()).isEqualTo(events);
+    }
+
+    @Test
+    void recovery_10MUsers() {
+        // given
+        try (PointSnapshotFile.Writer segment = PointSnapshotFile.createHistorySegment(directory, 0);
+             PointSnapshotFile.Writer writer = PointSnapshotFile.create(directory, 0)) {
+            for (long userId = 0; userId < USER_COUNT; userId++) {
+                segment.history(new PointHistory(userId + 1, userId, 1000L, TransactionType.CHARGE, 1L));
+                writer.balance(userId, 1000L, 1L);
+            }
+            segment.commit();
+            writer.commit();
+        }
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(directory, 64L << 20, false, 0)) {
+            List<PointWalRecord> batch = new ArrayList<>(10_000);
+            for (long i = 0; i < TAIL_COUNT; i++) {
+                batch.add(new PointWalRecord(USER_COUNT + i + 1, i, TransactionType.USE, 1L, 999L, 2L));
+                if (batch.size() == 10_000) {
+                    wal.append(batch);
+                    batch = new ArrayList<>(10_000);
+                }
+            }
+        }
+        PrimitiveUserPointTable userPointTable = new PrimitiveUserPointTable(USER_COUNT, 0, 0);
+        PointProperties properties = new PointPropertiesBuilder().wal(new PointProperties.Wal(
+                true, directory.toString(), PointProperties.Wal.defaults().segmentSize(), true, Duration.ZERO)).build();
+
+        // when
+        long start = System.nanoTime();
+        PointService pointService = new PointService(userPointTable, new IndexedPointHistoryTable(0), properties);
+        long elapsedNanos = System.nanoTime() - start;
+
+        // then
+        System.out.printf("users=%,d snapshotHistories=%,d walTail=%,d recovery=%,dms%n",
+                USER_COUNT, USER_COUNT, TAIL_COUNT, elapsedNanos / 1_000_000);
+        assertThat(userPointTable.size()).isEqualTo(USER_COUNT);
+        assertThat(pointService.getUserPoint(0L).point()).isEqualTo(999L);
+        assertThat(pointService.getUserPoint(USER_COUNT - 1).point()).isEqualTo(1000L);
+        assertThat(pointService.getPointHistories(0L)).hasSize(2);
+    }
+
+    @Test
+    void snapshot_DeepHistory() throws Exception {
+        // given
+        try (PointSnapshotFile.Writer segment = PointSnapshotFile.createHistorySegment(directory, 0);
+             PointSnapshotFile.Writer writer = PointSnapshotFile.create(directory, 0)) {
+            long id = 1;
+            for (long userId = 0; userId < DEEP_USER_COUNT; userId++) {
+                for (int i = 0; i < HISTORIES_PER_USER; i++) {
+                    segment.history(new PointHistory(id++, userId, 100L, TransactionType.CHARGE, 1L));
+                }
+                writer.balance(userId, 100L * HISTORIES_PER_USER, 1L);
+            }
+            segment.commit();
+            writer.commit();
+        }
+        Path sealed = PointSnapshotFile.historySegments(directory).firstEntry().getValue();
+        long sealedModified = Files.getLastModifiedTime(sealed).toMillis();
+        PointProperties properties = new PointPropertiesBuilder().wal(new PointProperties.Wal(
+                true, directory.toString(), PointProperties.Wal.defaults().segmentSize(), false, Duration.ZERO))
+                .build();
+        PointService pointService = new PointService(new PrimitiveUserPointTable(DEEP_USER_COUNT, 0, 0),
+                new IndexedPointHistoryTable(0), properties);
+        for (long userId = 0; userId < 1_000; userId++) {
+            pointService.chargePoint(userId, 1L);
+        }
+
+        // when
+        long start = System.nanoTime();
+        pointService.snapshot();
+        long elapsedNanos = System.nanoTime() - start;
+
+        // then
+        System.out.printf("users=%,d sealedHistories=%,d walTail=%,d snapshot=%,dms%n",
+                DEEP_USER_COUNT, (long) DEEP_USER_COUNT * HISTORIES_PER_USER, 1_000, elapsedNanos / 1_000_000);
+        assertThat(Files.getLastModifiedTime(sealed).toMillis()).isEqualTo(sealedModified);
+        assertThat(PointSnapshotFile.historySegments(directory)).hasSize(2);
+        pointService.shutdown();
+    }
+}
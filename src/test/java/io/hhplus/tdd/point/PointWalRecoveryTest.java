@@ -0,0 +1,172 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.PointSnapshotFile;
+import io.hhplus.tdd.database.PrimitiveUserPointTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointService WAL 복구 테스트")
+class PointWalRecoveryTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("재시작 - 잔액과 내역이 복구되고 새 내역 id 가 이어져야 함")
+    void restart_RestoresBalancesAndHistories() {
+        // given
+        PointProperties.Summary defaults = PointProperties.Summary.defaults();
+        PointProperties.Summary summary = new PointProperties.Summary(true, defaults.dailyBuckets(),
+                defaults.hourlyBuckets(), defaults.zone());
+        PointService before = newPointService(new PointPropertiesBuilder().summary(summary));
+        before.chargePoint(1L, 1000L);
+        before.usePoint(1L, 300L);
+        UserPoint charged = before.chargePoint(2L, 500L);
+        before.shutdown();
+
+        // when
+        PointService after = newPointService(new PointPropertiesBuilder().summary(summary));
+        after.chargePoint(1L, 100L);
+
+        // then
+        assertThat(after.getUserPoint(1L).point()).isEqualTo(800L);
+        assertThat(after.getUserPoint(2L)).isEqualTo(charged);
+        List<PointHistory> histories = after.getPointHistories(1L);
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(1000L, 300L, 100L);
+        assertThat(histories).extracting(PointHistory::id).isSorted().doesNotHaveDuplicates();
+        assertThat(after.getPointSummary(1L).total()).isEqualTo(new PointSummary.Totals(1100L, 2L, 300L, 1L));
+        after.shutdown();
+    }
+
+    @Test
+    @DisplayName("스냅샷 이후 비정상 종료 - 스냅샷과 그 이후의 WAL 로 복구되어야 함")
+    void crashAfterSnapshot_ReplaysTail() {
+        // given
+        PointService before = newPointService(new PointPropertiesBuilder());
+        before.chargePoint(1L, 1000L);
+        before.snapshot();
+        before.usePoint(1L, 400L);
+        before.chargePoint(3L, 700L);
+        long lastSequence = before.getWalStats().lastSequence();
+        // shutdown 없이 새로 시작 (비정상 종료)
+
+        // when
+        PointService after = newPointService(new PointPropertiesBuilder());
+
+        // then
+        assertThat(after.getWalStats().lastSequence()).isEqualTo(lastSequence);
+        assertThat(after.getUserPoint(1L).point()).isEqualTo(600L);
+        assertThat(after.getUserPoint(3L).point()).isEqualTo(700L);
+        assertThat(after.getPointHistories(1L)).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.USE);
+        after.shutdown();
+    }
+
+    @Test
+    @DisplayName("스냅샷 여러 번 - 스냅샷에는 잔액만 남고 이미 봉인한 내역 segment 는 다시 쓰지 않아야 함")
+    void snapshot_Repeated_KeepsSealedHistorySegments() throws IOException {
+        // given
+        PointService before = newPointService(new PointPropertiesBuilder());
+        before.chargePoint(1L, 1000L);
+        before.snapshot();
+        Path sealed = PointSnapshotFile.historySegments(directory).firstEntry().getValue();
+        byte[] sealedBytes = Files.readAllBytes(sealed);
+
+        // when
+        before.usePoint(1L, 300L);
+        before.snapshot();
+        before.shutdown();
+        PointService after = newPointService(new PointPropertiesBuilder());
+
+        // then
+        assertThat(PointSnapshotFile.historySegments(directory)).hasSize(2).containsValue(sealed);
+        assertThat(Files.readAllBytes(sealed)).isEqualTo(sealedBytes);
+        List<PointHistory> snapshotHistories = new ArrayList<>();
+        PointSnapshotFile.read(PointSnapshotFile.latest(directory).orElseThrow(), (userId, point, updateMillis) -> {
+        }, snapshotHistories::add);
+        assertThat(snapshotHistories).isEmpty();
+        assertThat(after.getUserPoint(1L).point()).isEqualTo(700L);
+        assertThat(after.getPointHistories(1L)).extracting(PointHistory::amount).containsExactly(1000L, 300L);
+        after.shutdown();
+    }
+
+    @Test
+    @DisplayName("스냅샷 도중 비정상 종료 - watermark 뒤의 내역 segment 는 버리고 WAL 로 한 번만 복구되어야 함")
+    void crashBeforeSnapshotCommit_DropsUnsealedSegment() {
+        // given
+        PointService before = newPointService(new PointPropertiesBuilder());
+        before.chargePoint(1L, 1000L);
+        before.snapshot();
+        before.usePoint(1L, 300L);
+        long lastSequence = before.getWalStats().lastSequence();
+        // 내역 segment 까지만 쓰고 스냅샷을 쓰기 전에 중단된 상황
+        Path unsealed;
+        try (PointSnapshotFile.Writer segment = PointSnapshotFile.createHistorySegment(directory, lastSequence)) {
+            segment.history(new PointHistory(2L, 1L, 300L, TransactionType.USE, 1L));
+            unsealed = segment.commit();
+        }
+
+        // when
+        PointService after = newPointService(new PointPropertiesBuilder());
+
+        // then
+        assertThat(unsealed).doesNotExist();
+        assertThat(after.getUserPoint(1L).point()).isEqualTo(700L);
+        assertThat(after.getPointHistories(1L)).extracting(PointHistory::amount).containsExactly(1000L, 300L);
+        after.shutdown();
+    }
+
+    @Test
+    @DisplayName("group commit 과 write-behind 사용 - 배치로 커밋한 내역도 복구되어야 함")
+    void restart_WithGroupCommitAndWriteBehind() {
+        // given
+        PointPropertiesBuilder properties = new PointPropertiesBuilder()
+                .groupCommit(new PointProperties.GroupCommit(true, 8, Duration.ofMillis(5)))
+                .historyWriteBehind(new PointProperties.HistoryWriteBehind(true, 100, 16, Duration.ofMillis(100)));
+        PointService before = newPointService(properties);
+        before.chargePoint(1L, 1000L);
+        before.usePoint(1L, 1L);
+        before.shutdown();
+
+        // when
+        PointService after = newPointService(properties);
+
+        // then
+        assertThat(after.getUserPoint(1L).point()).isEqualTo(999L);
+        assertThat(after.getPointHistories(1L)).hasSize(2);
+        after.shutdown();
+    }
+
+    @Test
+    @DisplayName("WAL 과 UserPointTable - 복구한 잔액의 updateMillis 를 잃으므로 시작할 때 실패해야 함")
+    void start_WithUserPointTable_Fails() {
+        // given
+        PointProperties properties = new PointPropertiesBuilder().wal(new PointProperties.Wal(true,
+                directory.toString(), PointProperties.Wal.defaults().segmentSize(), true, Duration.ZERO)).build();
+
+        // when & then
+        assertThatThrownBy(() -> new PointService(new UserPointTable(), new IndexedPointHistoryTable(0), properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("point.balance-store.type=primitive");
+    }
+
+    private PointService newPointService(PointPropertiesBuilder properties) {
+        PointProperties.Wal wal = new PointProperties.Wal(true, directory.toString(),
+                PointProperties.Wal.defaults().segmentSize(), true, Duration.ZERO);
+        return new PointService(new PrimitiveUserPointTable(16, 0, 0), new IndexedPointHistoryTable(0),
+                properties.wal(wal).build());
+    }
+}
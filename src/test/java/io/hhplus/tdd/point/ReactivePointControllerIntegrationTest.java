@@ -0,0 +1,100 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive"
+)
+@DisplayName("ReactivePointController 통합 테스트")
+class ReactivePointControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("PATCH /point/{id}/charge, /use 후 GET /point/{id} - 잔액 반영")
+    void chargeUseAndGetPoint() {
+        // given
+        long userId = 1L;
+
+        // when
+        patch("/point/{id}/charge", userId, 1000L).expectStatus().isOk();
+        patch("/point/{id}/use", userId, 300L).expectStatus().isOk();
+
+        // then
+        webTestClient.get().uri("/point/{id}", userId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(userId)
+                .jsonPath("$.point").isEqualTo(700);
+    }
+
+    @Test
+    @DisplayName("PATCH /point/{id}/use - 잔액 부족이면 400")
+    void use_Fail_InsufficientBalance() {
+        // when & then
+        patch("/point/{id}/use", 2L, 1000L)
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("400");
+    }
+
+    @Test
+    @DisplayName("GET /point/{id}/histories - 다음 페이지가 있으면 X-Next-Cursor 헤더 반환")
+    void getPointHistories_CursorPagination() {
+        // given
+        long userId = 3L;
+        patch("/point/{id}/charge", userId, 100L).expectStatus().isOk();
+        patch("/point/{id}/charge", userId, 200L).expectStatus().isOk();
+
+        // when & then
+        webTestClient.get().uri("/point/{id}/histories?limit=1", userId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(PointController.NEXT_CURSOR_HEADER)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].amount").isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("GET /point/{id}/histories/stream - NDJSON 스트리밍 조회")
+    void streamPointHistories_Ndjson() {
+        // given
+        long userId = 4L;
+        patch("/point/{id}/charge", userId, 1000L).expectStatus().isOk();
+        patch("/point/{id}/use", userId, 300L).expectStatus().isOk();
+
+        // when
+        List<PointHistory> histories = webTestClient.get().uri("/point/{id}/histories/stream", userId)
+                .accept(MediaType.parseMediaType(PointController.NDJSON))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(PointHistory.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // then
+        assertThat(histories).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.USE);
+    }
+
+    private WebTestClient.ResponseSpec patch(String uri, long userId, long amount) {
+        return webTestClient.patch().uri(uri, userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(amount)
+                .exchange();
+    }
+}
@@ -0,0 +1,148 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.PrimitiveUserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReactivePointService 테스트")
+class ReactivePointServiceTest {
+
+    private PointService pointService;
+    private PointBatchService pointBatchService;
+    private ReactivePointService reactivePointService;
+
+    private void setUp(PointProperties.Reactive reactive, long updateThrottleMillis) {
+        setUp(new PointPropertiesBuilder().reactive(reactive).build(), updateThrottleMillis);
+    }
+
+    private void setUp(PointProperties properties, long updateThrottleMillis) {
+        pointService = new PointService(new PrimitiveUserPointTable(16, 0, updateThrottleMillis),
+                new IndexedPointHistoryTable(0), properties);
+        pointBatchService = new PointBatchService(pointService, properties);
+        reactivePointService = new ReactivePointService(pointService, pointBatchService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactivePointService.shutdown();
+        pointBatchService.shutdown();
+        pointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 유저의 충전 - 적은 스레드로도 구독한 순서대로 하나씩 처리되어야 함")
+    void charge_SameUser_PreservesOrder() {
+        // given
+        setUp(new PointProperties.Reactive(2, 1000, 1000), 0);
+        long userId = 1L;
+
+        // when
+        List<UserPoint> results = Flux.mergeSequential(LongStream.rangeClosed(1, 100)
+                        .mapToObj(amount -> reactivePointService.chargePoint(userId, amount))
+                        .toList())
+                .collectList()
+                .block();
+
+        // then
+        assertThat(results).hasSize(100);
+        assertThat(results.get(99).point()).isEqualTo(5050L);
+        assertThat(pointService.getPointHistories(userId)).extracting(PointHistory::amount)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 100).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("여러 유저의 충전/사용 - blockingThreads 보다 많은 유저의 요청도 모두 처리되어야 함")
+    void chargeAndUse_ManyUsers() {
+        // given
+        setUp(new PointProperties.Reactive(4, 10_000, 1000), 1);
+
+        // when
+        List<UserPoint> results = Flux.range(1, 200)
+                .flatMap(userId -> reactivePointService.chargePoint(userId, 1000L)
+                        .then(reactivePointService.usePoint(userId, 300L)), 200)
+                .collectList()
+                .block();
+
+        // then
+        assertThat(results).hasSize(200).allSatisfy(userPoint -> assertThat(userPoint.point()).isEqualTo(700L));
+    }
+
+    @Test
+    @DisplayName("유저 대기열 초과 - 대기열을 넘는 요청은 RejectedExecutionException 으로 거절되어야 함")
+    void charge_Fail_UserQueueFull() {
+        // given
+        setUp(new PointProperties.Reactive(1, 1000, 2), 50);
+        long userId = 1L;
+
+        // when
+        List<Object> results = Flux.mergeSequential(LongStream.rangeClosed(1, 5)
+                        .mapToObj(amount -> reactivePointService.chargePoint(userId, amount)
+                                .<Object>map(userPoint -> userPoint)
+                                .onErrorResume(e -> Mono.just(e)))
+                        .toList())
+                .collectList()
+                .block();
+
+        // then
+        assertThat(results).filteredOn(RejectedExecutionException.class::isInstance).hasSize(2);
+        assertThat(results).filteredOn(UserPoint.class::isInstance).hasSize(3);
+        assertThat(reactivePointService.getUserPoint(userId).block().point()).isEqualTo(6L);
+    }
+
+    @Test
+    @DisplayName("요청 한도 초과 - 한도를 넘은 충전은 PointAdmissionRejectedException 으로 거절되고 자리는 돌려받아야 함")
+    void charge_Fail_OverAdmissionLimit() {
+        // given
+        setUp(new PointPropertiesBuilder()
+                .admission(new PointProperties.Admission(true, 1, 2, 32, 1024, Duration.ofSeconds(1),
+                        Duration.ofMinutes(1)))
+                .build(), 0);
+        long userId = 1L;
+
+        // when
+        List<Object> results = Flux.concat(LongStream.rangeClosed(1, 3)
+                        .mapToObj(amount -> reactivePointService.chargePoint(userId, amount)
+                                .<Object>map(userPoint -> userPoint)
+                                .onErrorResume(e -> Mono.just(e)))
+                        .toList())
+                .collectList()
+                .block();
+
+        // then
+        assertThat(results).filteredOn(UserPoint.class::isInstance).hasSize(2);
+        assertThat(results.get(2)).isInstanceOf(PointAdmissionRejectedException.class);
+        assertThat(pointService.getAdmissionStats().inFlight()).isZero();
+        assertThat(pointService.getUserPoint(userId).point()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("내역 스트리밍 - 한 번에 chunk 건씩 읽어 모든 내역을 순서대로 전달해야 함")
+    void streamPointHistories() {
+        // given
+        setUp(PointProperties.Reactive.defaults(), 0);
+        long userId = 1L;
+        for (long amount = 1; amount <= 5; amount++) {
+            pointService.chargePoint(userId, amount);
+        }
+
+        // when
+        List<PointHistory> histories = reactivePointService
+                .streamPointHistories(userId, PointHistoryQuery.firstPage(2))
+                .collectList()
+                .block();
+
+        // then
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+}
@@ -0,0 +1,154 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("UserLockManager 테스트")
+class UserLockManagerTest {
+
+    @Test
+    @DisplayName("참조 수 모드 - 락을 해제하면 유저 락이 제거되어야 함")
+    void referenceCounted_RemovesIdleLocks() {
+        // given
+        UserLockManager lockManager = new UserLockManager(
+                new PointProperties.Lock(UserLockManager.Mode.REFERENCE_COUNTED, 0, Duration.ofSeconds(1)));
+
+        // when
+        try (UserLockManager.Lease lease = lockManager.lock(1L)) {
+            assertThat(lockManager.stats().liveLockCount()).isEqualTo(1L);
+        }
+
+        // then
+        assertThat(lockManager.stats().liveLockCount()).isZero();
+        assertThat(lockManager.stats().acquireCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("락 대기 시간 초과 - PointLockTimeoutException 이 발생하고 락이 남지 않아야 함")
+    void lock_Fail_Timeout() {
+        // given
+        UserLockManager lockManager = new UserLockManager(
+                new PointProperties.Lock(UserLockManager.Mode.REFERENCE_COUNTED, 0, Duration.ofMillis(50)));
+
+        // when & then
+        try (UserLockManager.Lease lease = lockManager.lock(1L)) {
+            CompletableFuture<Void> other = CompletableFuture.runAsync(() -> lockManager.lock(1L).close());
+            assertThatThrownBy(other::join).hasCauseInstanceOf(PointLockTimeoutException.class);
+        }
+        assertThat(lockManager.stats().liveLockCount()).isZero();
+        assertThat(lockManager.stats().timeoutCount()).isEqualTo(1L);
+        assertThat(lockManager.stats().maxWaitNanos()).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    @DisplayName("처리 기한이 acquireTimeout 보다 먼저 옴 - 기한까지만 기다리고 PointDeadlineExceededException 이 발생해야 함")
+    void lock_Fail_DeadlineBeforeTimeout() {
+        // given
+        UserLockManager lockManager = new UserLockManager(
+                new PointProperties.Lock(UserLockManager.Mode.REFERENCE_COUNTED, 0, Duration.ofSeconds(10)));
+
+        // when & then
+        try (UserLockManager.Lease lease = lockManager.lock(1L)) {
+            long deadlineNanos = PointDeadlines.after(Duration.ofMillis(50));
+            CompletableFuture<Void> other = CompletableFuture.runAsync(
+                    () -> lockManager.lock(1L, deadlineNanos).close());
+            assertThatThrownBy(() -> other.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(PointDeadlineExceededException.class);
+            CompletableFuture<Void> pair = CompletableFuture.runAsync(
+                    () -> lockManager.lockPair(2L, 1L, deadlineNanos).close());
+            assertThatThrownBy(() -> pair.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(PointDeadlineExceededException.class);
+        }
+        assertThat(lockManager.stats().liveLockCount()).isZero();
+        assertThat(lockManager.stats().timeoutCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("스트라이프 모드 - 유저 수와 관계없이 락 개수가 고정되어야 함")
+    void striped_FixedLockCount() {
+        // given
+        UserLockManager lockManager = new UserLockManager(
+                new PointProperties.Lock(UserLockManager.Mode.STRIPED, 8, Duration.ofSeconds(1)));
+
+        // when
+        for (long userId = 0; userId < 100; userId++) {
+            lockManager.lock(userId).close();
+        }
+
+        // then
+        assertThat(lockManager.stats().liveLockCount()).isEqualTo(8L);
+        assertThat(lockManager.stats().acquireCount()).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("두 유저 락 - 반대 순서로 동시에 요청해도 전역 순서로 잡아 멈추지 않아야 함")
+    void lockPair_OpposingOrder_NoDeadlock() throws Exception {
+        for (UserLockManager.Mode mode : UserLockManager.Mode.values()) {
+            // given
+            UserLockManager lockManager = new UserLockManager(
+                    new PointProperties.Lock(mode, 4, Duration.ofSeconds(5)));
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+
+            // when
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (long[] pair : new long[][]{{1L, 2L}, {2L, 1L}}) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        try (UserLockManager.Lease lease = lockManager.lockPair(pair[0], pair[1])) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+            executor.shutdown();
+
+            // then
+            assertThat(lockManager.stats().timeoutCount()).isZero();
+            if (mode == UserLockManager.Mode.REFERENCE_COUNTED) {
+                assertThat(lockManager.stats().liveLockCount()).isZero();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("대기 스레드가 있는 유저 락 - 대기 수가 많은 순서로 반환되어야 함")
+    void hotLocks_OrderedByWaitingThreads() throws InterruptedException {
+        // given
+        UserLockManager lockManager = new UserLockManager(
+                new PointProperties.Lock(UserLockManager.Mode.REFERENCE_COUNTED, 0, Duration.ofSeconds(5)));
+        UserLockManager.Lease first = lockManager.lock(1L);
+        UserLockManager.Lease second = lockManager.lock(2L);
+        List<CompletableFuture<Void>> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiters.add(CompletableFuture.runAsync(() -> lockManager.lock(1L).close(), Executors.newVirtualThreadPerTaskExecutor()));
+        }
+        waiters.add(CompletableFuture.runAsync(() -> lockManager.lock(2L).close(), Executors.newVirtualThreadPerTaskExecutor()));
+        while (lockManager.waitingThreadCount() < 4) {
+            Thread.sleep(1);
+        }
+
+        // when
+        List<UserLockManager.HotLock> hotLocks = lockManager.hotLocks(10);
+
+        // then
+        assertThat(hotLocks).containsExactly(new UserLockManager.HotLock(1L, 3), new UserLockManager.HotLock(2L, 1));
+        assertThat(lockManager.hotLocks(1)).containsExactly(new UserLockManager.HotLock(1L, 3));
+        first.close();
+        second.close();
+        CompletableFuture.allOf(waiters.toArray(CompletableFuture[]::new)).join();
+        assertThat(lockManager.waitingThreadCount()).isZero();
+        assertThat(lockManager.hotLocks(10)).isEmpty();
+    }
+}
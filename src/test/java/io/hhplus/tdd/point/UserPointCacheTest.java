@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserPointCache 테스트")
+class UserPointCacheTest {
+
+    @Test
+    @DisplayName("조회 - 적중/미스 횟수를 집계")
+    void get_RecordsHitAndMiss() {
+        // given
+        UserPointCache cache = new UserPointCache(100);
+        cache.put(new UserPoint(1L, 1000L, 0L));
+
+        // when
+        UserPoint hit = cache.get(1L);
+        UserPoint miss = cache.get(2L);
+
+        // then
+        assertThat(hit.point()).isEqualTo(1000L);
+        assertThat(miss).isNull();
+        assertThat(cache.stats().hitCount()).isEqualTo(1L);
+        assertThat(cache.stats().missCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("최대 크기 초과 - 가장 오래 사용되지 않은 유저부터 제거")
+    void put_EvictsLeastRecentlyUsed() {
+        // given
+        // 세그먼트당 1건만 유지되도록 최대 크기를 세그먼트 수와 같게 설정
+        UserPointCache cache = new UserPointCache(16);
+        cache.put(new UserPoint(1L, 100L, 0L));
+
+        // when
+        // 같은 세그먼트로 들어가는 userId
+        cache.put(new UserPoint(17L, 200L, 0L));
+
+        // then
+        assertThat(cache.peek(1L)).isNull();
+        assertThat(cache.peek(17L).point()).isEqualTo(200L);
+        assertThat(cache.stats().evictionCount()).isEqualTo(1L);
+        assertThat(cache.stats().size()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("조건부 적재 - 세대를 받은 뒤 쓰기가 있었으면 읽은 잔액을 넣지 않음")
+    void putIfUnchanged_AfterPut_Rejected() {
+        // given
+        UserPointCache cache = new UserPointCache(100);
+        long generation = cache.generation(1L);
+        cache.put(new UserPoint(1L, 1500L, 0L));
+
+        // when
+        boolean installed = cache.putIfUnchanged(new UserPoint(1L, 1000L, 0L), generation);
+
+        // then
+        assertThat(installed).isFalse();
+        assertThat(cache.peek(1L).point()).isEqualTo(1500L);
+        assertThat(cache.putIfUnchanged(new UserPoint(2L, 700L, 0L), cache.generation(2L))).isTrue();
+    }
+}
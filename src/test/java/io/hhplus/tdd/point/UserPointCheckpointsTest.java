@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.PrimitiveUserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserPointCheckpoints 테스트")
+class UserPointCheckpointsTest {
+
+    @Test
+    @DisplayName("interval 건마다 그 시점의 잔액을 체크포인트로 남김")
+    void record_EveryInterval_AddsCheckpoint() {
+        // given
+        UserPointCheckpoints checkpoints = new UserPointCheckpoints(new PointProperties.Checkpoint(true, 2));
+
+        // when
+        checkpoints.record(new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, 100L));
+        checkpoints.record(new PointHistory(2L, 1L, 300L, TransactionType.USE, 200L));
+        checkpoints.record(new PointHistory(3L, 1L, 500L, TransactionType.CHARGE, 300L));
+        checkpoints.record(new PointHistory(5L, 1L, 100L, TransactionType.USE, 400L));
+
+        // then
+        assertThat(checkpoints.stats().checkpointCount()).isEqualTo(2L);
+        assertThat(checkpoints.floor(1L, 399L)).isEqualTo(new UserPointCheckpoints.Checkpoint(2L, 200L, 700L));
+        assertThat(checkpoints.floor(1L, 400L)).isEqualTo(new UserPointCheckpoints.Checkpoint(5L, 400L, 1100L));
+    }
+
+    @Test
+    @DisplayName("첫 체크포인트 이전 시각이나 내역이 없는 유저 - 빈 체크포인트에서 시작")
+    void floor_BeforeFirstCheckpoint_ReturnsEmpty() {
+        // given
+        UserPointCheckpoints checkpoints = new UserPointCheckpoints(new PointProperties.Checkpoint(true, 1));
+        checkpoints.record(new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, 100L));
+
+        // when & then
+        assertThat(checkpoints.floor(1L, 99L)).isEqualTo(UserPointCheckpoints.Checkpoint.EMPTY);
+        assertThat(checkpoints.floor(2L, 100L)).isEqualTo(UserPointCheckpoints.Checkpoint.EMPTY);
+    }
+
+    @Test
+    @DisplayName("interval 에 닿기 전 - 체크포인트 없이 누적 잔액만 이어가다 첫 체크포인트에 반영")
+    void record_BelowInterval_KeepsRunningPointOnly() {
+        // given
+        UserPointCheckpoints checkpoints = new UserPointCheckpoints(new PointProperties.Checkpoint(true, 3));
+        checkpoints.record(new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, 100L));
+        checkpoints.record(new PointHistory(2L, 1L, 400L, TransactionType.USE, 200L));
+
+        // when
+        UserPointCheckpoints.Checkpoint beforeFirst = checkpoints.floor(1L, 200L);
+        checkpoints.record(new PointHistory(3L, 1L, 50L, TransactionType.CHARGE, 300L));
+
+        // then
+        assertThat(beforeFirst).isEqualTo(UserPointCheckpoints.Checkpoint.EMPTY);
+        assertThat(checkpoints.stats().userCount()).isEqualTo(1);
+        assertThat(checkpoints.floor(1L, 300L)).isEqualTo(new UserPointCheckpoints.Checkpoint(3L, 300L, 650L));
+    }
+
+    @Test
+    @DisplayName("특정 시각의 잔액 - 가장 가까운 체크포인트 뒤의 내역만 다시 더함")
+    void getUserPointAt_ReplaysOnlySinceCheckpoint() throws InterruptedException {
+        // given
+        PointService pointService = new PointService(new PrimitiveUserPointTable(16, 0, 0),
+                new IndexedPointHistoryTable(0), new PointPropertiesBuilder()
+                        .checkpoint(new PointProperties.Checkpoint(true, 2))
+                        .build());
+        long userId = 1L;
+        pointService.chargePoint(userId, 100L);
+        long first = System.currentTimeMillis();
+        Thread.sleep(2);
+        pointService.chargePoint(userId, 200L);
+        pointService.usePoint(userId, 50L);
+        pointService.chargePoint(userId, 10L);
+        long second = System.currentTimeMillis();
+        Thread.sleep(2);
+        pointService.chargePoint(userId, 1000L);
+
+        // when
+        UserPoint atFirst = pointService.getUserPointAt(userId, first);
+        long replayedAtFirst = pointService.getCheckpointStats().replayedCount();
+        UserPoint atSecond = pointService.getUserPointAt(userId, second);
+        long replayedAtSecond = pointService.getCheckpointStats().replayedCount() - replayedAtFirst;
+
+        // then
+        assertThat(pointService.getUserPointAt(userId, first - 1000).point()).isZero();
+        assertThat(atFirst.point()).isEqualTo(100L);
+        assertThat(replayedAtFirst).isEqualTo(1L);
+        assertThat(atSecond.point()).isEqualTo(260L);
+        assertThat(replayedAtSecond).isZero();
+        assertThat(pointService.getUserPointAt(userId, Long.MAX_VALUE).point()).isEqualTo(1260L);
+        pointService.shutdown();
+    }
+}
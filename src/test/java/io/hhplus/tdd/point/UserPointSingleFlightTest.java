@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("UserPointSingleFlight 테스트")
+class UserPointSingleFlightTest {
+
+    @Test
+    @DisplayName("동시 조회 - loader 를 한 번만 호출하고 모두 같은 결과를 받음")
+    void load_ConcurrentReads_ShareOneLoad() throws Exception {
+        // given
+        UserPointSingleFlight singleFlight = new UserPointSingleFlight();
+        AtomicInteger loads = new AtomicInteger();
+        int readers = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+
+        // when
+        List<CompletableFuture<UserPoint>> results = IntStream.range(0, readers)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> singleFlight.load(1L, userId -> {
+                    loads.incrementAndGet();
+                    // 나머지 조회가 모두 합류할 때까지 조회를 끝내지 않음
+                    awaitCoalesced(singleFlight, readers - 1);
+                    return new UserPoint(userId, 1000L, 1L);
+                }), executor))
+                .toList();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertThat(loads).hasValue(1);
+        assertThat(results).allSatisfy(result -> assertThat(result.join().point()).isEqualTo(1000L));
+        assertThat(singleFlight.stats()).isEqualTo(new UserPointSingleFlight.Stats(1, readers - 1, 0));
+    }
+
+    @Test
+    @DisplayName("잔액 저장 후 조회 - 저장 전에 시작한 조회에 합류하지 않고 새로 조회")
+    void load_AfterInvalidate_StartsNewLoad() throws Exception {
+        // given
+        UserPointSingleFlight singleFlight = new UserPointSingleFlight();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> stale = CompletableFuture.supplyAsync(() -> singleFlight.load(1L, userId -> {
+            started.countDown();
+            await(release);
+            return new UserPoint(userId, 1000L, 1L);
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        singleFlight.invalidate(1L);
+        UserPoint fresh = singleFlight.load(1L, userId -> new UserPoint(userId, 1500L, 2L));
+        release.countDown();
+
+        // then
+        assertThat(fresh.point()).isEqualTo(1500L);
+        assertThat(stale.get(5, TimeUnit.SECONDS).point()).isEqualTo(1000L);
+        assertThat(singleFlight.stats().coalescedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("조회 중 Error - 합류한 조회도 같은 Error 를 받고 기다리지 않음")
+    void load_Error_CompletesCoalescedReads() throws Exception {
+        // given
+        UserPointSingleFlight singleFlight = new UserPointSingleFlight();
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() -> singleFlight.load(1L, userId -> {
+            started.countDown();
+            awaitCoalesced(singleFlight, 1);
+            throw new StackOverflowError();
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        CompletableFuture<UserPoint> coalesced = CompletableFuture.supplyAsync(() ->
+                singleFlight.load(1L, userId -> new UserPoint(userId, 1000L, 1L)));
+
+        // then
+        assertThatThrownBy(() -> coalesced.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(singleFlight.stats().inFlight()).isZero();
+    }
+
+    private static void awaitCoalesced(UserPointSingleFlight singleFlight, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.stats().coalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
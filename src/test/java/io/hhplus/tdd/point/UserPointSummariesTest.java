@@ -0,0 +1,79 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserPointSummaries 테스트")
+class UserPointSummariesTest {
+
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    @Test
+    @DisplayName("집계 - 거래 종류별 합계와 설정한 시간대 기준 일별/시간별 구간")
+    void record_AggregatesTotalsAndBuckets() {
+        // given
+        UserPointSummaries summaries = new UserPointSummaries(new PointProperties.Summary(true, 30, 48, SEOUL));
+
+        // when
+        // 서울 기준 1월 1일 23시 10분, 23시 50분, 1월 2일 0시 30분
+        summaries.record(1L, TransactionType.CHARGE, 1000L, millis(2024, 1, 1, 23, 10));
+        summaries.record(1L, TransactionType.USE, 300L, millis(2024, 1, 1, 23, 50));
+        summaries.record(1L, TransactionType.CHARGE, 500L, millis(2024, 1, 2, 0, 30));
+        summaries.record(2L, TransactionType.CHARGE, 700L, millis(2024, 1, 2, 0, 30));
+        PointSummary summary = summaries.get(1L);
+
+        // then
+        assertThat(summary.total()).isEqualTo(new PointSummary.Totals(1500L, 2L, 300L, 1L));
+        assertThat(summary.daily()).containsExactly(
+                new PointSummary.Bucket(LocalDateTime.of(2024, 1, 1, 0, 0),
+                        new PointSummary.Totals(1000L, 1L, 300L, 1L)),
+                new PointSummary.Bucket(LocalDateTime.of(2024, 1, 2, 0, 0),
+                        new PointSummary.Totals(500L, 1L, 0L, 0L)));
+        assertThat(summary.hourly()).extracting(PointSummary.Bucket::start)
+                .containsExactly(LocalDateTime.of(2024, 1, 1, 23, 0), LocalDateTime.of(2024, 1, 2, 0, 0));
+    }
+
+    @Test
+    @DisplayName("유지 범위 초과 - 오래된 구간은 빠지고 전체 합계에는 남아야 함")
+    void record_EvictsBucketsOutsideRetention() {
+        // given
+        UserPointSummaries summaries = new UserPointSummaries(new PointProperties.Summary(true, 2, 2, SEOUL));
+        summaries.record(1L, TransactionType.CHARGE, 100L, millis(2024, 1, 1, 10, 0));
+        summaries.record(1L, TransactionType.CHARGE, 200L, millis(2024, 1, 2, 10, 0));
+        summaries.record(1L, TransactionType.CHARGE, 300L, millis(2024, 1, 3, 10, 0));
+
+        // when
+        // 유지 범위(최근 2일)보다 오래된 거래
+        summaries.record(1L, TransactionType.USE, 50L, millis(2024, 1, 1, 12, 0));
+        PointSummary summary = summaries.get(1L);
+
+        // then
+        assertThat(summary.total()).isEqualTo(new PointSummary.Totals(600L, 3L, 50L, 1L));
+        assertThat(summary.daily()).extracting(bucket -> bucket.totals().chargedAmount()).containsExactly(200L, 300L);
+        assertThat(summary.hourly()).extracting(bucket -> bucket.totals().chargedAmount()).containsExactly(300L);
+    }
+
+    @Test
+    @DisplayName("거래가 없는 유저 - 빈 요약을 반환")
+    void get_UnknownUser_ReturnsEmpty() {
+        // given
+        UserPointSummaries summaries = new UserPointSummaries(PointProperties.Summary.defaults());
+
+        // when
+        PointSummary summary = summaries.get(1L);
+
+        // then
+        assertThat(summary.total()).isEqualTo(PointSummary.Totals.EMPTY);
+        assertThat(summary.daily()).isEmpty();
+        assertThat(summary.hourly()).isEmpty();
+    }
+
+    private static long millis(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(SEOUL).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,63 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserPointVersions 테스트")
+class UserPointVersionsTest {
+
+    private AtomicInteger loadCount;
+    private UserPointVersions versions;
+
+    @BeforeEach
+    void setUp() {
+        loadCount = new AtomicInteger();
+        versions = new UserPointVersions(userId -> {
+            loadCount.incrementAndGet();
+            return new UserPoint(userId, 100L, 0L);
+        }, PointProperties.Engine.defaults(), 4);
+    }
+
+    @Test
+    @DisplayName("최대 크기 초과 - 커밋 중인 slot 은 남기고 나머지를 정리해야 함")
+    void slot_OverMaxSize_EvictsOnlyUnclaimedSlots() {
+        // given
+        UserPointVersions.Claimed claimed = versions.claim(1L);
+
+        // when
+        for (long userId = 2; userId <= 10; userId++) {
+            versions.slot(userId);
+        }
+
+        // then
+        assertThat(versions.stats().userCount()).isLessThanOrEqualTo(4);
+        assertThat(versions.slot(1L)).isSameAs(claimed.slot());
+        versions.publish(claimed.slot(), new UserPoint(1L, 200L, 1L));
+        assertThat(versions.read(1L).point()).isEqualTo(200L);
+    }
+
+    @Test
+    @DisplayName("정리된 slot - 먼저 읽어 둔 요청의 커밋은 실패하고 다시 읽으면 테이블에서 새로 불러와야 함")
+    void tryClaim_EvictedSlot_Fails() {
+        // given
+        UserPointVersions.Slot stale = versions.slot(1L);
+        UserPointVersions.Versioned read = versions.read(stale);
+
+        // when
+        for (long userId = 2; userId <= 10; userId++) {
+            versions.slot(userId);
+        }
+
+        // then
+        assertThat(versions.tryClaim(stale, read)).isFalse();
+        assertThat(versions.read(stale).retired()).isTrue();
+        assertThat(versions.slot(1L)).isNotSameAs(stale);
+        assertThat(versions.read(1L).point()).isEqualTo(100L);
+        assertThat(loadCount.get()).isGreaterThan(10);
+    }
+}
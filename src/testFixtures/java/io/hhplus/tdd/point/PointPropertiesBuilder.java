@@ -0,0 +1,136 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 테스트/벤치마크에서 필요한 설정만 바꿔 PointProperties 를 만드는 builder
+ * - 바꾸지 않은 설정은 PointProperties.defaults() 를 따른다
+ */
+final class PointPropertiesBuilder {
+
+    private final PointProperties defaults = PointProperties.defaults();
+    private boolean virtualThreads = defaults.virtualThreads();
+    private PointProperties.GroupCommit groupCommit = defaults.groupCommit();
+    private PointProperties.BalanceCache balanceCache = defaults.balanceCache();
+    private PointProperties.HistoryWriteBehind historyWriteBehind = defaults.historyWriteBehind();
+    private PointProperties.Lock lock = defaults.lock();
+    private PointProperties.History history = defaults.history();
+    private PointProperties.Batch batch = defaults.batch();
+    private PointProperties.BalanceStore balanceStore = defaults.balanceStore();
+    private PointProperties.Wal wal = defaults.wal();
+    private PointProperties.Metrics metrics = defaults.metrics();
+    private PointProperties.Reactive reactive = defaults.reactive();
+    private PointProperties.HistoryStore historyStore = defaults.historyStore();
+    private PointProperties.Summary summary = defaults.summary();
+    private PointProperties.Idempotency idempotency = defaults.idempotency();
+    private PointProperties.BalanceRead balanceRead = defaults.balanceRead();
+    private PointProperties.Engine engine = defaults.engine();
+    private PointProperties.Admission admission = defaults.admission();
+    private PointProperties.Checkpoint checkpoint = defaults.checkpoint();
+    private PointProperties.Export export = defaults.export();
+    private PointProperties.Deadline deadline = defaults.deadline();
+
+    PointPropertiesBuilder virtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    PointPropertiesBuilder groupCommit(PointProperties.GroupCommit groupCommit) {
+        this.groupCommit = groupCommit;
+        return this;
+    }
+
+    PointPropertiesBuilder balanceCache(PointProperties.BalanceCache balanceCache) {
+        this.balanceCache = balanceCache;
+        return this;
+    }
+
+    PointPropertiesBuilder historyWriteBehind(PointProperties.HistoryWriteBehind historyWriteBehind) {
+        this.historyWriteBehind = historyWriteBehind;
+        return this;
+    }
+
+    PointPropertiesBuilder lock(PointProperties.Lock lock) {
+        this.lock = lock;
+        return this;
+    }
+
+    PointPropertiesBuilder history(PointProperties.History history) {
+        this.history = history;
+        return this;
+    }
+
+    PointPropertiesBuilder batch(PointProperties.Batch batch) {
+        this.batch = batch;
+        return this;
+    }
+
+    PointPropertiesBuilder balanceStore(PointProperties.BalanceStore balanceStore) {
+        this.balanceStore = balanceStore;
+        return this;
+    }
+
+    PointPropertiesBuilder wal(PointProperties.Wal wal) {
+        this.wal = wal;
+        return this;
+    }
+
+    PointPropertiesBuilder metrics(PointProperties.Metrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    PointPropertiesBuilder reactive(PointProperties.Reactive reactive) {
+        this.reactive = reactive;
+        return this;
+    }
+
+    PointPropertiesBuilder historyStore(PointProperties.HistoryStore historyStore) {
+        this.historyStore = historyStore;
+        return this;
+    }
+
+    PointPropertiesBuilder summary(PointProperties.Summary summary) {
+        this.summary = summary;
+        return this;
+    }
+
+    PointPropertiesBuilder idempotency(PointProperties.Idempotency idempotency) {
+        this.idempotency = idempotency;
+        return this;
+    }
+
+    PointPropertiesBuilder balanceRead(PointProperties.BalanceRead balanceRead) {
+        this.balanceRead = balanceRead;
+        return this;
+    }
+
+    PointPropertiesBuilder engine(PointProperties.Engine engine) {
+        this.engine = engine;
+        return this;
+    }
+
+    PointPropertiesBuilder admission(PointProperties.Admission admission) {
+        this.admission = admission;
+        return this;
+    }
+
+    PointPropertiesBuilder checkpoint(PointProperties.Checkpoint checkpoint) {
+        this.checkpoint = checkpoint;
+        return this;
+    }
+
+    PointPropertiesBuilder export(PointProperties.Export export) {
+        this.export = export;
+        return this;
+    }
+
+    PointPropertiesBuilder deadline(PointProperties.Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    PointProperties build() {
+        return new PointProperties(virtualThreads, groupCommit, balanceCache, historyWriteBehind, lock, history,
+                batch, balanceStore, wal, metrics, reactive, historyStore, summary, idempotency, balanceRead, engine,
+                admission, checkpoint, export, deadline);
+    }
+}